@@ -0,0 +1,126 @@
+package org.example.benchmarks;
+
+import org.example.DiceTournamentAnalyzer;
+import org.example.Player;
+import org.example.PlayerDoubleConsumer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поигровые показатели {@link DiceTournamentAnalyzer}: Map с упакованными Double против
+ * вариантов с буфером результата и {@link PlayerDoubleConsumer}.
+ * Запуск через {@link #main(String[])} проверяет по GC-профилировщику, что варианты с буфером
+ * не выделяют памяти (gc.alloc.rate.norm меньше 1 байта на операцию), и завершается
+ * с ошибкой, если это не так.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class AllocationFreeBenchmark {
+
+    private static final String ALLOCATION_RATE = "gc.alloc.rate.norm";
+    private static final double ALLOWED_BYTES_PER_OP = 1.0;
+
+    private DiceTournamentAnalyzer analyzer;
+    private double[] buffer;
+    private int[] top;
+    private double sum;  // куда sink складывает показатели, чтобы JIT не удалил вычисления
+    private PlayerDoubleConsumer sink;
+
+    @Setup(Level.Trial)
+    public void setUp(TournamentState state) {
+        analyzer = new DiceTournamentAnalyzer(state.list);
+        buffer = new double[analyzer.size()];
+        top = new int[3];
+        sink = (row, value) -> sum += value;
+    }
+
+    @Benchmark
+    public Map<Player, Double> luckIndexMap() {
+        return analyzer.getLuckIndex();
+    }
+
+    @Benchmark
+    public double[] luckIndexBuffer() {
+        return analyzer.getLuckIndex(buffer);
+    }
+
+    @Benchmark
+    public double luckIndexSink() {
+        sum = 0;
+        analyzer.forEachLuckIndex(sink);
+        return sum;
+    }
+
+    @Benchmark
+    public Map<Player, Double> averageScoresMap() {
+        return analyzer.getMapOfAverageScores();
+    }
+
+    @Benchmark
+    public double[] averageScoresBuffer() {
+        return analyzer.getAverageScores(buffer);
+    }
+
+    @Benchmark
+    public int topThreeBuffer() {
+        return analyzer.getTopThreeAveragePlayers(top);
+    }
+
+    /**
+     * Запускает варианты с буфером под GC-профилировщиком и проверяет отсутствие выделений.
+     * Аргументы - значения параметров турнира, по умолчанию 100000 игроков по 100 бросков.
+     */
+    public static void main(String[] args) throws RunnerException {
+
+        String players = args.length > 0 ? args[0] : "100000";
+        String rounds = args.length > 1 ? args[1] : "100";
+
+        var results = new Runner(new OptionsBuilder()
+                .include(AllocationFreeBenchmark.class.getSimpleName() + "\\.(\\w+Buffer|\\w+Sink)$")
+                .param("players", players)
+                .param("rounds", rounds)
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+
+        boolean failed = false;
+        for (RunResult result : results) {
+            double bytesPerOp = allocationRate(result);
+            String benchmark = result.getParams().getBenchmark();
+            System.out.printf("%s: %.3f байт/операция%n", benchmark, bytesPerOp);
+            if (!(bytesPerOp < ALLOWED_BYTES_PER_OP)) {
+                System.err.println(benchmark + " выделяет память: " + bytesPerOp + " байт на операцию");
+                failed = true;
+            }
+        }
+        if (failed) {
+            System.exit(1);
+        }
+
+    }
+
+    /**
+     * Имя метрики GC-профилировщика зависит от версии JMH (с префиксом "·" или без него).
+     */
+    private static double allocationRate(RunResult result) {
+        for (Map.Entry<String, Result> entry : result.getSecondaryResults().entrySet()) {
+            if (entry.getKey().endsWith(ALLOCATION_RATE)) {
+                return entry.getValue().getScore();
+            }
+        }
+        throw new IllegalStateException("GC-профилировщик не вернул " + ALLOCATION_RATE);
+    }
+
+}
@@ -0,0 +1,99 @@
+package org.example.benchmarks;
+
+import org.example.*;
+import org.example.DiceTournamentAnalyzer.ChipCategory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Все публичные методы {@link DiceTournamentAnalyzer} на разных движках:
+ * list - последовательный анализ списка игроков, parallel - {@link ParallelDiceTournamentAnalyzer},
+ * columnar - анализ {@link ColumnarTournament}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class AnalyzerBenchmark {
+
+    @Param({"list", "parallel", "columnar"})
+    public String engine;
+
+    private DiceTournamentAnalyzer analyzer;
+
+    @Setup(Level.Trial)
+    public void setUp(TournamentState state) {
+        analyzer = switch (engine) {
+            case "list" -> new DiceTournamentAnalyzer(state.list);
+            case "parallel" -> new ParallelDiceTournamentAnalyzer(state.list);
+            case "columnar" -> new DiceTournamentAnalyzer(state.columnar);
+            default -> throw new IllegalArgumentException("Неизвестный движок: " + engine);
+        };
+    }
+
+    @Benchmark
+    public Map<Player, Double> getMapOfAverageScores() {
+        return analyzer.getMapOfAverageScores();
+    }
+
+    @Benchmark
+    public List<Player> getTopThreeAveragePlayers() {
+        return analyzer.getTopThreeAveragePlayers();
+    }
+
+    @Benchmark
+    public List<Player> getTopKByChips() {
+        return analyzer.getTopK(10, Player::getChips);
+    }
+
+    @Benchmark
+    public List<Player> getTheLosers() {
+        return analyzer.getTheLosers();
+    }
+
+    @Benchmark
+    public List<Player> getTheLucky() {
+        return analyzer.getTheLucky();
+    }
+
+    @Benchmark
+    public Map<ChipCategory, List<Player>> getPlayersGroupedByChips() {
+        return analyzer.getPlayersGroupedByChips();
+    }
+
+    @Benchmark
+    public List<Player> getStablePlayerList() {
+        return analyzer.getStablePlayerList();
+    }
+
+    @Benchmark
+    public List<Player> getRiskyPlayerList() {
+        return analyzer.getRiskyPlayerList();
+    }
+
+    @Benchmark
+    public List<Player> getBalancedDicePlayerList() {
+        return analyzer.getBalancedDicePlayerList();
+    }
+
+    @Benchmark
+    public Map<Player, Double> getLuckIndex() {
+        return analyzer.getLuckIndex();
+    }
+
+    @Benchmark
+    public Player getMaxMathVariancePlayer() {
+        return analyzer.getMaxMathVariancePlayer();
+    }
+
+    @Benchmark
+    public TournamentReport getReport() {
+        return analyzer.getReport();
+    }
+
+}
@@ -0,0 +1,68 @@
+package org.example.benchmarks;
+
+import org.example.Dice;
+import org.example.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Горячий путь симуляции: одиночные и пакетные броски {@link Dice} и {@link Player#throwDice()}.
+ * Для сравнения приведён бросок через java.util.Random, которым кость пользовалась раньше.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class DiceBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int rounds;
+
+    private final Random legacyRandom = new Random(1);
+    private final Dice dice = new Dice(1);
+    private byte[] buffer;
+    private Player player;
+
+    @Setup(Level.Trial)
+    public void setUpBuffer() {
+        buffer = new byte[rounds];
+    }
+
+    /**
+     * История игрока обновляется на каждой итерации, чтобы её рост не искажал замер.
+     */
+    @Setup(Level.Iteration)
+    public void setUpPlayer() {
+        player = new Player("Alice", new Dice(1), 1000);
+    }
+
+    @Benchmark
+    public int legacyRandomThrow() {
+        return legacyRandom.nextInt(1, 7);
+    }
+
+    @Benchmark
+    public int throwMe() {
+        return dice.throwMe();
+    }
+
+    /**
+     * Время на rounds бросков, выполненных одним пакетным вызовом.
+     */
+    @Benchmark
+    public byte[] throwMeBulk() {
+        dice.throwMe(rounds, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public Player throwDice() {
+        player.throwDice();
+        return player;
+    }
+
+}
@@ -0,0 +1,80 @@
+package org.example.benchmarks;
+
+import org.example.DiceTournamentAnalyzer.ChipCategory;
+import org.example.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Исходная потоковая реализация анализа ({@link LegacyStreamAnalyzer}) на тех же данных,
+ * что и {@link AnalyzerBenchmark}, - точка отсчёта для сравнения движков.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class LegacyAnalyzerBenchmark {
+
+    private LegacyStreamAnalyzer analyzer;
+
+    @Setup(Level.Trial)
+    public void setUp(TournamentState state) {
+        analyzer = new LegacyStreamAnalyzer(state.list);
+    }
+
+    @Benchmark
+    public Map<Player, Double> getMapOfAverageScores() {
+        return analyzer.getMapOfAverageScores();
+    }
+
+    @Benchmark
+    public List<Player> getTopThreeAveragePlayers() {
+        return analyzer.getTopThreeAveragePlayers();
+    }
+
+    @Benchmark
+    public List<Player> getTheLosers() {
+        return analyzer.getTheLosers();
+    }
+
+    @Benchmark
+    public List<Player> getTheLucky() {
+        return analyzer.getTheLucky();
+    }
+
+    @Benchmark
+    public Map<ChipCategory, List<Player>> getPlayersGroupedByChips() {
+        return analyzer.getPlayersGroupedByChips();
+    }
+
+    @Benchmark
+    public List<Player> getStablePlayerList() {
+        return analyzer.getStablePlayerList();
+    }
+
+    @Benchmark
+    public List<Player> getRiskyPlayerList() {
+        return analyzer.getRiskyPlayerList();
+    }
+
+    @Benchmark
+    public List<Player> getBalancedDicePlayerList() {
+        return analyzer.getBalancedDicePlayerList();
+    }
+
+    @Benchmark
+    public Map<Player, Double> getLuckIndex() {
+        return analyzer.getLuckIndex();
+    }
+
+    @Benchmark
+    public Player getMaxMathVariancePlayer() {
+        return analyzer.getMaxMathVariancePlayer();
+    }
+
+}
@@ -0,0 +1,102 @@
+package org.example.benchmarks;
+
+import org.example.DiceTournamentAnalyzer.ChipCategory;
+import org.example.Player;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Исходная потоковая реализация анализатора через упакованный список getRollsHistory().
+ * Нужна только как точка отсчёта, с которой сравниваются новые движки.
+ */
+class LegacyStreamAnalyzer {
+
+    private final List<Player> list;
+
+    LegacyStreamAnalyzer(List<Player> list) {
+        this.list = list;
+    }
+
+    Map<Player, Double> getMapOfAverageScores() {
+        return list.stream().collect(Collectors.toMap(player -> player, this::average));
+    }
+
+    List<Player> getTopThreeAveragePlayers() {
+        return getMapOfAverageScores().entrySet().stream()
+                .sorted(Map.Entry.<Player, Double>comparingByValue().reversed())
+                .limit(3)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    List<Player> getTheLosers() {
+        return list.stream().filter(player -> count(player, 1) >= 3).toList();
+    }
+
+    List<Player> getTheLucky() {
+        return list.stream().filter(player -> count(player, 6) >= 4).toList();
+    }
+
+    Map<ChipCategory, List<Player>> getPlayersGroupedByChips() {
+        Map<ChipCategory, List<Player>> result = new LinkedHashMap<>();
+        for (ChipCategory category : ChipCategory.values()) {
+            result.put(category, new ArrayList<>());
+        }
+        list.forEach(player -> result.get(ChipCategory.of(player.getChips())).add(player));
+        return result;
+    }
+
+    List<Player> getStablePlayerList() {
+        return list.stream()
+                .filter(player -> player.getRollsHistory().stream().filter(e -> e >= 4).count() >= 8)
+                .toList();
+    }
+
+    List<Player> getRiskyPlayerList() {
+        return list.stream()
+                .filter(player -> {
+                    List<Integer> history = player.getRollsHistory();
+                    return IntStream.range(0, history.size() - 1)
+                            .anyMatch(i -> history.get(i) == 1 && history.get(i + 1) == 1);
+                })
+                .toList();
+    }
+
+    List<Player> getBalancedDicePlayerList() {
+        return list.stream()
+                .filter(player -> player.getRollsHistory().stream().distinct().toList().size() == 6)
+                .toList();
+    }
+
+    Map<Player, Double> getLuckIndex() {
+        return list.stream().collect(Collectors.toMap(player -> player, player -> {
+            List<Integer> history = player.getRollsHistory();
+            if (history.isEmpty()) {
+                return 0.0;
+            }
+            return Math.round(history.stream().mapToInt(e -> e).sum() / 6.0 * player.getChips()) / 10.0;
+        }));
+    }
+
+    Player getMaxMathVariancePlayer() {
+        return list.stream().max(Comparator.comparingDouble(this::variance)).orElse(null);
+    }
+
+    private double variance(Player player) {
+        List<Integer> history = player.getRollsHistory();
+        if (history.isEmpty()) return 0.0;
+        double mu = average(player);
+        return history.stream().mapToDouble(e -> Math.pow(e - mu, 2)).average().orElse(0.0);
+    }
+
+    private double average(Player player) {
+        return player.getRollsHistory().stream().mapToInt(Integer::intValue).average().orElse(0.0);
+    }
+
+    private long count(Player player, int value) {
+        return player.getRollsHistory().stream().filter(e -> e == value).count();
+    }
+
+}
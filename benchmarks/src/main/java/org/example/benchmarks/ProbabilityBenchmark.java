@@ -0,0 +1,53 @@
+package org.example.benchmarks;
+
+import org.example.PlayerRule;
+import org.example.Probability;
+import org.example.ProbabilityEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProbabilityEngine}: точный расчёт и моделирование 10 млн историй по rolls бросков.
+ * Скорость моделирования в бросках в минуту: 10^7 * rolls / (время операции в минутах).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class ProbabilityBenchmark {
+
+    private static final long TRIALS = 10_000_000;
+
+    private static final PlayerRule HOT_AND_BALANCED = PlayerRule.allOf("hotAndBalanced",
+            PlayerRule.run("sixes", 6, 3), PlayerRule.BALANCED, PlayerRule.LOSERS.inLast(10));
+
+    @Param({"10", "100"})
+    public int rolls;
+
+    private final ProbabilityEngine engine = new ProbabilityEngine();
+    private long seed;
+
+    @Benchmark
+    public Probability exactRisky() {
+        return engine.exact(PlayerRule.RISKY, rolls);
+    }
+
+    @Benchmark
+    public Probability exactHotAndBalanced() {
+        return engine.exact(HOT_AND_BALANCED, rolls);
+    }
+
+    @Benchmark
+    public Probability monteCarloRisky() {
+        return engine.monteCarlo(PlayerRule.RISKY, rolls, TRIALS, seed++);
+    }
+
+    @Benchmark
+    public Probability monteCarloHotAndBalanced() {
+        return engine.monteCarlo(HOT_AND_BALANCED, rolls, TRIALS, seed++);
+    }
+
+}
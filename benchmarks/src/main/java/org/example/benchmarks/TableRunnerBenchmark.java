@@ -0,0 +1,77 @@
+package org.example.benchmarks;
+
+import org.example.Dice;
+import org.example.Player;
+import org.example.TableRunner;
+import org.example.TournamentReport;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Пропускная способность {@link TableRunner}: tables столов по 5 игроков, 10 раундов с паузой
+ * roundDelayMillis после каждого. virtual - поток на стол, platform - пул из 2 * ядер
+ * платформенных потоков. Без пауз обе схемы упираются в процессор; с паузами пул платформенных
+ * потоков обслуживает столы партиями, а виртуальные потоки ждут все столы одновременно.
+ * Одна операция - полный запуск всех столов.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class TableRunnerBenchmark {
+
+    private static final int PLAYERS_PER_TABLE = 5;
+    private static final int ROUNDS = 10;
+
+    @Param({"1000", "100000"})
+    public int tables;
+
+    @Param({"0", "1"})
+    public int roundDelayMillis;
+
+    @Param({"virtual", "platform"})
+    public String threads;
+
+    private TableRunner runner;
+    private List<List<Player>> tableList;
+
+    @Setup(Level.Trial)
+    public void setUpRunner() {
+        Supplier<ExecutorService> executors = switch (threads) {
+            case "virtual" -> Executors::newVirtualThreadPerTaskExecutor;
+            case "platform" -> () -> Executors.newFixedThreadPool(2 * Runtime.getRuntime().availableProcessors());
+            default -> throw new IllegalArgumentException("Неизвестный тип потоков: " + threads);
+        };
+        runner = new TableRunner(ROUNDS, Duration.ofMillis(roundDelayMillis), executors);
+    }
+
+    /**
+     * Столы создаются заново перед каждым запуском, чтобы истории не накапливались между замерами.
+     */
+    @Setup(Level.Iteration)
+    public void setUpTables() {
+        tableList = new ArrayList<>(tables);
+        for (int i = 0; i < tables; i++) {
+            List<Player> table = new ArrayList<>(PLAYERS_PER_TABLE);
+            for (int p = 0; p < PLAYERS_PER_TABLE; p++) {
+                table.add(new Player("Player" + i + "-" + p, new Dice(i * 31L + p), 300 * p));
+            }
+            tableList.add(table);
+        }
+    }
+
+    @Benchmark
+    public List<TournamentReport> run() throws InterruptedException {
+        return runner.run(tableList);
+    }
+
+}
@@ -0,0 +1,53 @@
+package org.example.benchmarks;
+
+import org.example.ColumnarTournament;
+import org.example.Dice;
+import org.example.Player;
+import org.example.TournamentSimulator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Общее состояние бенчмарков анализа: турнир из players игроков по rounds бросков,
+ * заполненный {@link TournamentSimulator} с фиксированным seed.
+ * Сетка параметров охватывает от 10 до 10M игроков и от 10 до 10k бросков; сочетания,
+ * которым не хватает кучи (players * rounds байт историй плюс объекты игроков), завершаются
+ * ошибкой в @Setup, и JMH переходит к следующему сочетанию. Нужный срез задаётся через -p,
+ * например {@code -p players=1000000 -p rounds=100}.
+ */
+@State(Scope.Benchmark)
+public class TournamentState {
+
+    private static final long SEED = 20241018L;
+    private static final long BYTES_PER_PLAYER = 256;  // оценка объекта Player с историей и статистикой
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int players;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int rounds;
+
+    public List<Player> list;
+    public ColumnarTournament columnar;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        long required = (long) players * (2L * rounds + BYTES_PER_PLAYER);  // список и колоночная копия
+        if (required > Runtime.getRuntime().maxMemory() * 3 / 4) {
+            throw new IllegalStateException("Турниру " + players + " x " + rounds
+                    + " не хватает кучи: нужно около " + (required >> 20) + " МБ, увеличьте -Xmx");
+        }
+
+        list = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            list.add(new Player("Player" + i, new Dice(i), i % 1500));
+        }
+        new TournamentSimulator(list, rounds, SEED).run();
+        columnar = ColumnarTournament.of(list);
+
+    }
+
+}
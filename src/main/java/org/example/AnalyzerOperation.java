@@ -0,0 +1,12 @@
+package org.example;
+
+/**
+ * Запросы {@link DiceTournamentAnalyzer}; по ним ведутся метрики {@link TournamentMetrics}
+ * и кэш {@link CachingDiceTournamentAnalyzer}.
+ */
+public enum AnalyzerOperation {
+
+    REPORT, AVERAGE_SCORES, TOP_THREE, TOP_K, LOSERS, LUCKY, GROUPED_BY_CHIPS,
+    STABLE, RISKY, BALANCED, LUCK_INDEX, MAX_VARIANCE, CLASSIFY, APPROXIMATE
+
+}
@@ -0,0 +1,26 @@
+package org.example;
+
+import jdk.jfr.*;
+
+/**
+ * Событие JFR для одного запроса {@link DiceTournamentAnalyzer}. Пока запись JFR выключена,
+ * событие ничего не стоит.
+ */
+@Name("org.example.AnalyzerQuery")
+@Label("Analyzer Query")
+@Category("Dice Tournament")
+@Description("Запрос к анализатору турнира")
+@StackTrace(false)
+class AnalyzerQueryEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Players")
+    int players;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+
+}
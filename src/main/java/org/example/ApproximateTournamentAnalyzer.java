@@ -0,0 +1,202 @@
+package org.example;
+
+import java.util.*;
+
+/**
+ * Приближённый анализ турниров, слишком больших для точных списков игроков. Анализатор хранит
+ * только структуры фиксированного размера (см. {@link SketchBounds}), поэтому его память
+ * не зависит ни от количества игроков, ни от длины их историй:
+ * <ul>
+ *   <li>частоты граней у каждого игрока - {@link CountMinSketch};</li>
+ *   <li>количество игроков в каждой категории {@link RuleSet} - {@link HyperLogLog};</li>
+ *   <li>квантили среднего значения бросков и "индекса удачи" - {@link TDigest};</li>
+ *   <li>примеры игроков каждой категории - {@link ReservoirSample}.</li>
+ * </ul>
+ * Игроки различаются по имени: повторно добавленный игрок не увеличивает количество игроков
+ * в категориях, но его броски учитываются в частотах и квантилях ещё раз. Методы потокобезопасны.
+ */
+public class ApproximateTournamentAnalyzer {
+
+    private static final int FACES = 6;
+
+    private final RuleSet rules;
+    private final Map<String, Integer> ruleIndex = new HashMap<>();
+    private final CountMinSketch faceFrequencies;
+    private final long[] faceTotals = new long[FACES];
+    private final HyperLogLog players;
+    private final HyperLogLog[] members;
+    private final List<ReservoirSample<Player>> samples;
+    private final TDigest averageScores;
+    private final TDigest luckIndexes;
+    private long rows;
+
+    /**
+     * Анализатор встроенных категорий {@link RuleSet#STANDARD} с точностью {@link SketchBounds#DEFAULT}.
+     */
+    public ApproximateTournamentAnalyzer() {
+        this(SketchBounds.DEFAULT, RuleSet.STANDARD, 0);
+    }
+
+    public ApproximateTournamentAnalyzer(SketchBounds bounds) {
+        this(bounds, RuleSet.STANDARD, 0);
+    }
+
+    /**
+     * @param bounds параметры точности.
+     * @param rules категории игроков.
+     * @param seed начальное значение генератора выборок.
+     */
+    public ApproximateTournamentAnalyzer(SketchBounds bounds, RuleSet rules, long seed) {
+
+        this.rules = rules;
+        this.faceFrequencies = new CountMinSketch(bounds.frequencyError(), bounds.frequencyFailureProbability());
+        this.players = new HyperLogLog(bounds.cardinalityPrecision());
+        this.averageScores = new TDigest(bounds.quantileCompression());
+        this.luckIndexes = new TDigest(bounds.quantileCompression());
+
+        List<PlayerRule> list = rules.getRules();
+        this.members = new HyperLogLog[list.size()];
+        this.samples = new ArrayList<>(list.size());
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (int i = 0; i < list.size(); i++) {
+            ruleIndex.put(list.get(i).getName(), i);
+            members[i] = new HyperLogLog(bounds.cardinalityPrecision());
+            samples.add(new ReservoirSample<>(bounds.sampleSize(), seeds.nextLong()));
+        }
+
+    }
+
+    /**
+     * Учитывает всех игроков таблицы за один проход; таблица может быть, например,
+     * отображённым в память {@link TournamentLog}, который не помещается в кучу.
+     */
+    public synchronized void addAll(RollTable table) {
+
+        for (int row = 0; row < table.size(); row++) {
+
+            long hash = hash(table.name(row));
+            RollStats stats = table.stats(row);
+
+            players.add(hash);
+            for (int face = 1; face <= FACES; face++) {
+                int count = stats.getFaceCount(face);
+                if (count > 0) {
+                    faceFrequencies.add(hash * 31 + face, count);
+                    faceTotals[face - 1] += count;
+                }
+            }
+            averageScores.add(stats.getAverage());
+            luckIndexes.add(stats.getLuckIndex(table.chips(row)));
+            rows++;
+
+        }
+
+        rules.forEachMatch(table, (row, rule) -> {
+            members[rule].add(hash(table.name(row)));
+            samples.get(rule).offer(() -> table.player(row));
+        });
+
+    }
+
+    public void addAll(List<Player> list) {
+        addAll(RollTable.of(list));
+    }
+
+    public void add(Player player) {
+        addAll(RollTable.of(List.of(player)));
+    }
+
+    /**
+     * @return возвращает количество учтённых строк, включая повторно добавленных игроков.
+     */
+    public synchronized long getRowCount() {
+        return rows;
+    }
+
+    /**
+     * @return возвращает оценку количества различных игроков.
+     */
+    public synchronized long estimatePlayerCount() {
+        return players.estimate();
+    }
+
+    /**
+     * @param face значение кубика, от 1 до 6.
+     * @return возвращает точное количество выпадений значения у всех игроков.
+     */
+    public synchronized long getFaceCount(int face) {
+        checkFace(face);
+        return faceTotals[face - 1];
+    }
+
+    /**
+     * @param name имя игрока.
+     * @param face значение кубика, от 1 до 6.
+     * @return возвращает оценку сверху количества выпадений значения у игрока; погрешность
+     * не больше {@link SketchBounds#frequencyError()} от общего количества бросков.
+     */
+    public synchronized long estimateFaceCount(String name, int face) {
+        checkFace(face);
+        return faceFrequencies.estimate(hash(name) * 31 + face);
+    }
+
+    /**
+     * @param rule имя правила набора, например "losers" для {@link RuleSet#STANDARD}.
+     * @return возвращает оценку количества различных игроков, для которых правило выполняется.
+     */
+    public synchronized long estimateMemberCount(String rule) {
+        return members[indexOf(rule)].estimate();
+    }
+
+    /**
+     * @param rule имя правила набора.
+     * @return возвращает равномерную выборку игроков, для которых правило выполняется,
+     * не больше {@link SketchBounds#sampleSize()} игроков.
+     */
+    public synchronized List<Player> getSample(String rule) {
+        return samples.get(indexOf(rule)).getSample();
+    }
+
+    /**
+     * @param q квантиль, от 0 до 1; например 0.5 - медиана.
+     * @return возвращает оценку квантиля средних значений бросков игроков или NaN, если игроков нет.
+     */
+    public synchronized double getAverageScoreQuantile(double q) {
+        return averageScores.quantile(q);
+    }
+
+    /**
+     * @param q квантиль, от 0 до 1.
+     * @return возвращает оценку квантиля "индексов удачи" игроков или NaN, если игроков нет.
+     */
+    public synchronized double getLuckIndexQuantile(double q) {
+        return luckIndexes.quantile(q);
+    }
+
+    private int indexOf(String rule) {
+        Integer index = ruleIndex.get(rule);
+        if (index == null) {
+            throw new IllegalArgumentException("Правила нет в наборе: " + rule);
+        }
+        return index;
+    }
+
+    private static void checkFace(int face) {
+        if (face < 1 || face > FACES) {
+            throw new IllegalArgumentException("Значение кубика должно быть от 1 до 6: " + face);
+        }
+    }
+
+    /**
+     * @return возвращает 64-битный хэш имени (FNV-1a с перемешиванием битов); 32-битного
+     * String.hashCode() недостаточно для HyperLogLog на миллионах игроков.
+     */
+    private static long hash(String name) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < name.length(); i++) {
+            hash = (hash ^ name.charAt(i)) * 0x100000001b3L;
+        }
+        return CountMinSketch.mix(hash);
+    }
+
+}
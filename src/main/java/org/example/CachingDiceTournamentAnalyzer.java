@@ -0,0 +1,259 @@
+package org.example;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Анализатор для частых повторных запросов (например, дашбордов между раундами).
+ * Результаты методов запоминаются и отдаются повторно, пока не изменился ни один игрок
+ * (см. {@link Player#getVersion()}) и состав списка (см. {@link TrackedPlayerList#getVersion()}).
+ * Показатели каждого игрока также хранятся в кэше и пересчитываются только для изменившихся игроков.
+ * <p>
+ * Проверка актуальности стоит O(n) сравнений номеров версий без выделения памяти; для списка,
+ * не являющегося {@link TrackedPlayerList}, дополнительно сверяются сами элементы.
+ * Возвращаемые результаты общие для всех вызывающих и не должны изменяться.
+ * Методы синхронизированы; игроков при этом должен изменять один поток, как и для обычного анализатора.
+ */
+public class CachingDiceTournamentAnalyzer extends DiceTournamentAnalyzer {
+
+    private static final long UNTRACKED = -1;
+
+    private static final int LOSER = 1;
+    private static final int LUCKY = 1 << 1;
+    private static final int STABLE = 1 << 2;
+    private static final int RISKY = 1 << 3;
+    private static final int BALANCED = 1 << 4;
+
+    private final List<Player> list;
+
+    // Кэш показателей игроков: строка row соответствует players[row] версии versions[row].
+    private Player[] players = new Player[0];
+    private long[] versions = new long[0];
+    private double[] averages = new double[0];
+    private double[] luckIndexes = new double[0];
+    private double[] variances = new double[0];
+    private byte[] flags = new byte[0];
+    private long listVersion = UNTRACKED;
+
+    // Кэш результатов: результат запроса актуален, пока его эпоха совпадает с текущей.
+    private long epoch;
+    private final Object[] results = new Object[AnalyzerOperation.values().length];
+    private final long[] resultEpochs = new long[AnalyzerOperation.values().length];
+
+    private long hits;
+    private long misses;
+    private long recomputedPlayers;
+
+    /**
+     * @param list список игроков; для быстрой проверки состава используйте {@link TrackedPlayerList}.
+     */
+    public CachingDiceTournamentAnalyzer(List<Player> list) {
+        super(list);
+        this.list = list;
+        Arrays.fill(resultEpochs, -1);
+    }
+
+    @Override
+    public TournamentReport getReport() {
+        return cached(AnalyzerOperation.REPORT, () -> TournamentReport.of(table, chipThresholds()));
+    }
+
+    @Override
+    public Map<Player, Double> getMapOfAverageScores() {
+        return cached(AnalyzerOperation.AVERAGE_SCORES, () -> Collections.unmodifiableMap(scoreMap(row -> averages[row])));
+    }
+
+    @Override
+    public List<Player> getTopThreeAveragePlayers() {
+        return cached(AnalyzerOperation.TOP_THREE, () -> topK(3, row -> averages[row]));
+    }
+
+    @Override
+    public List<Player> getTheLosers() {
+        return cached(AnalyzerOperation.LOSERS, () -> select(row -> (flags[row] & LOSER) != 0));
+    }
+
+    @Override
+    public List<Player> getTheLucky() {
+        return cached(AnalyzerOperation.LUCKY, () -> select(row -> (flags[row] & LUCKY) != 0));
+    }
+
+    @Override
+    public Map<ChipCategory, List<Player>> getPlayersGroupedByChips() {
+        return cached(AnalyzerOperation.GROUPED_BY_CHIPS, () -> Collections.unmodifiableMap(groupByChips()));
+    }
+
+    @Override
+    public List<Player> getStablePlayerList() {
+        return cached(AnalyzerOperation.STABLE, () -> select(row -> (flags[row] & STABLE) != 0));
+    }
+
+    @Override
+    public List<Player> getRiskyPlayerList() {
+        return cached(AnalyzerOperation.RISKY, () -> select(row -> (flags[row] & RISKY) != 0));
+    }
+
+    @Override
+    public List<Player> getBalancedDicePlayerList() {
+        return cached(AnalyzerOperation.BALANCED, () -> select(row -> (flags[row] & BALANCED) != 0));
+    }
+
+    @Override
+    public Map<Player, Double> getLuckIndex() {
+        return cached(AnalyzerOperation.LUCK_INDEX, () -> Collections.unmodifiableMap(scoreMap(row -> luckIndexes[row])));
+    }
+
+    @Override
+    public Player getMaxMathVariancePlayer() {
+        return cached(AnalyzerOperation.MAX_VARIANCE, () -> maxBy(row -> variances[row]));
+    }
+
+    /**
+     * @return возвращает количество запросов, отданных из кэша.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return возвращает количество запросов, для которых результат пришлось вычислить заново.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return возвращает, сколько раз показатели игроков пересчитывались из-за их изменения
+     * или появления в списке.
+     */
+    public synchronized long getRecomputedPlayers() {
+        return recomputedPlayers;
+    }
+
+    private <T> T cached(AnalyzerOperation operation, Supplier<T> compute) {
+        return measure(operation, () -> lookup(operation, compute));
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized <T> T lookup(AnalyzerOperation operation, Supplier<T> compute) {
+
+        refresh();
+
+        int slot = operation.ordinal();
+        if (resultEpochs[slot] == epoch) {
+            hits++;
+            TournamentMetrics.recordCacheHit();
+            return (T) results[slot];
+        }
+
+        misses++;
+        TournamentMetrics.recordCacheMiss();
+        T result = compute.get();
+        results[slot] = result;
+        resultEpochs[slot] = epoch;
+        return result;
+
+    }
+
+    /**
+     * Сверяет кэш показателей с текущим состоянием списка и пересчитывает только
+     * изменившихся игроков. Если изменилось хоть что-то, начинается новая эпоха.
+     */
+    private void refresh() {
+
+        long currentListVersion = list instanceof TrackedPlayerList tracked ? tracked.getVersion() : UNTRACKED;
+        boolean changed = false;
+
+        if (currentListVersion == UNTRACKED || currentListVersion != listVersion || list.size() != players.length) {
+            changed = refreshComposition();
+            listVersion = currentListVersion;
+        }
+
+        for (int row = 0; row < players.length; row++) {
+            if (players[row].getVersion() != versions[row]) {
+                recompute(row);
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            epoch++;
+        }
+
+    }
+
+    /**
+     * Приводит строки кэша в соответствие составу списка. Показатели игроков, которые были
+     * в списке и раньше, переносятся на их новые места без пересчёта.
+     * @return возвращает true, если состав списка изменился.
+     */
+    private boolean refreshComposition() {
+
+        int size = list.size();
+        boolean same = size == players.length;
+        for (int row = 0; same && row < size; row++) {
+            same = list.get(row) == players[row];
+        }
+        if (same) {
+            return false;
+        }
+
+        Map<Player, Integer> previousRows = new IdentityHashMap<>(players.length);
+        for (int row = 0; row < players.length; row++) {
+            previousRows.put(players[row], row);
+        }
+
+        long[] previousVersions = versions;
+        double[] previousAverages = averages;
+        double[] previousLuckIndexes = luckIndexes;
+        double[] previousVariances = variances;
+        byte[] previousFlags = flags;
+
+        players = list.toArray(new Player[0]);
+        versions = new long[size];
+        averages = new double[size];
+        luckIndexes = new double[size];
+        variances = new double[size];
+        flags = new byte[size];
+
+        for (int row = 0; row < size; row++) {
+            Integer previous = previousRows.get(players[row]);
+            if (previous == null) {
+                recompute(row);
+            } else {
+                // Версия копируется как есть: если игрок успел измениться, его пересчитает refresh().
+                versions[row] = previousVersions[previous];
+                averages[row] = previousAverages[previous];
+                luckIndexes[row] = previousLuckIndexes[previous];
+                variances[row] = previousVariances[previous];
+                flags[row] = previousFlags[previous];
+            }
+        }
+
+        return true;
+
+    }
+
+    private void recompute(int row) {
+
+        Player player = players[row];
+        RollStats stats = player.getStats();
+
+        versions[row] = player.getVersion();
+        averages[row] = stats.getAverage();
+        luckIndexes[row] = stats.getLuckIndex(player.getChips());
+        variances[row] = stats.getVariance();
+
+        int rowFlags = 0;
+        if (stats.getFaceCount(1) >= 3) rowFlags |= LOSER;
+        if (stats.getFaceCount(6) >= 4) rowFlags |= LUCKY;
+        if (stats.getHighCount() >= 8) rowFlags |= STABLE;
+        if (stats.hasConsecutiveOnes()) rowFlags |= RISKY;
+        if (stats.hasAllFaces()) rowFlags |= BALANCED;
+        flags[row] = (byte) rowFlags;
+
+        recomputedPlayers++;
+
+    }
+
+}
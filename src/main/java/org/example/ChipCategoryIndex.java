@@ -0,0 +1,159 @@
+package org.example;
+
+import java.util.*;
+
+import org.example.DiceTournamentAnalyzer.ChipCategory;
+
+/**
+ * Поддерживаемая группировка игроков по категориям фишек. В отличие от
+ * {@link DiceTournamentAnalyzer#getPlayersGroupedByChips()}, игроки не перераспределяются
+ * при каждом запросе: индекс обновляется за O(1) при добавлении и удалении игрока и при
+ * изменении его фишек ({@link Player#setChips(int)}), а чтение категории ничего не выделяет.
+ * <p>
+ * Внутри категории игроки хранятся в плотном массиве; при удалении на место ушедшего
+ * переставляется последний игрок категории, поэтому порядок внутри категории не совпадает
+ * с порядком добавления. Как и {@link Player}, индекс не потокобезопасен.
+ */
+public class ChipCategoryIndex {
+
+    private final ChipThresholds thresholds;
+    private final Map<ChipCategory, List<Player>> categories = new EnumMap<>(ChipCategory.class);
+    private final Map<ChipCategory, List<Player>> view;
+    private final Map<Player, Integer> positions = new IdentityHashMap<>();  // место игрока в его категории
+    private final ChipsListener listener = this::move;
+
+    public ChipCategoryIndex() {
+        this(ChipThresholds.DEFAULT);
+    }
+
+    /**
+     * @param thresholds границы категорий.
+     */
+    public ChipCategoryIndex(ChipThresholds thresholds) {
+
+        this.thresholds = thresholds;
+
+        Map<ChipCategory, List<Player>> view = new EnumMap<>(ChipCategory.class);
+        for (ChipCategory category : ChipCategory.values()) {
+            List<Player> players = new ArrayList<>();
+            categories.put(category, players);
+            view.put(category, Collections.unmodifiableList(players));
+        }
+        this.view = Collections.unmodifiableMap(view);
+
+    }
+
+    /**
+     * @param players игроки.
+     * @param thresholds границы категорий.
+     * @return возвращает индекс, заполненный указанными игроками.
+     */
+    public static ChipCategoryIndex of(Collection<Player> players, ChipThresholds thresholds) {
+        ChipCategoryIndex index = new ChipCategoryIndex(thresholds);
+        players.forEach(index::add);
+        return index;
+    }
+
+    public ChipThresholds getThresholds() {
+        return thresholds;
+    }
+
+    /**
+     * Добавляет игрока и начинает следить за изменением его фишек.
+     * @return возвращает false, если игрок уже есть в индексе.
+     */
+    public boolean add(Player player) {
+
+        if (positions.containsKey(player)) {
+            return false;
+        }
+        insert(thresholds.categoryOf(player.getChips()), player);
+        player.addChipsListener(listener);
+        return true;
+
+    }
+
+    /**
+     * Удаляет игрока и перестаёт следить за его фишками.
+     * @return возвращает false, если игрока не было в индексе.
+     */
+    public boolean remove(Player player) {
+
+        if (!positions.containsKey(player)) {
+            return false;
+        }
+        delete(thresholds.categoryOf(player.getChips()), player);
+        player.removeChipsListener(listener);
+        return true;
+
+    }
+
+    /**
+     * Удаляет всех игроков.
+     */
+    public void clear() {
+        positions.keySet().forEach(player -> player.removeChipsListener(listener));
+        positions.clear();
+        categories.values().forEach(List::clear);
+    }
+
+    public boolean contains(Player player) {
+        return positions.containsKey(player);
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    /**
+     * @return возвращает количество игроков в категории за O(1).
+     */
+    public int count(ChipCategory category) {
+        return categories.get(category).size();
+    }
+
+    /**
+     * @return возвращает игроков категории; список только для чтения и отражает дальнейшие изменения.
+     */
+    public List<Player> players(ChipCategory category) {
+        return view.get(category);
+    }
+
+    /**
+     * @return возвращает все категории в порядке HIGH, MEDIUM, LOW; Map и списки только для чтения
+     * и отражают дальнейшие изменения индекса.
+     */
+    public Map<ChipCategory, List<Player>> asMap() {
+        return view;
+    }
+
+    private void move(Player player, int previousChips, int chips) {
+
+        ChipCategory from = thresholds.categoryOf(previousChips);
+        ChipCategory to = thresholds.categoryOf(chips);
+        if (from != to) {
+            delete(from, player);
+            insert(to, player);
+        }
+
+    }
+
+    private void insert(ChipCategory category, Player player) {
+        List<Player> players = categories.get(category);
+        positions.put(player, players.size());
+        players.add(player);
+    }
+
+    private void delete(ChipCategory category, Player player) {
+
+        List<Player> players = categories.get(category);
+        int position = positions.remove(player);
+        Player last = players.remove(players.size() - 1);
+        if (last != player) {
+            players.set(position, last);
+            positions.put(last, position);
+        }
+
+    }
+
+}
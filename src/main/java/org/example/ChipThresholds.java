@@ -0,0 +1,37 @@
+package org.example;
+
+import org.example.DiceTournamentAnalyzer.ChipCategory;
+
+/**
+ * Границы категорий по количеству фишек: больше high - HIGH, от medium до high - MEDIUM,
+ * меньше medium - LOW.
+ * @param high верхняя граница категории MEDIUM (включительно).
+ * @param medium нижняя граница категории MEDIUM (включительно).
+ */
+public record ChipThresholds(int high, int medium) {
+
+    /**
+     * Границы из условия турнира: >1000 - HIGH, 500-1000 - MEDIUM, <500 - LOW.
+     */
+    public static final ChipThresholds DEFAULT = new ChipThresholds(1000, 500);
+
+    public ChipThresholds {
+        if (medium > high) {
+            throw new IllegalArgumentException("Нижняя граница MEDIUM " + medium + " больше верхней " + high);
+        }
+    }
+
+    /**
+     * @param chips количество фишек игрока.
+     * @return возвращает категорию игрока с указанным количеством фишек.
+     */
+    public ChipCategory categoryOf(int chips) {
+        if (chips > high) {
+            return ChipCategory.HIGH;
+        } else if (chips >= medium) {
+            return ChipCategory.MEDIUM;
+        }
+        return ChipCategory.LOW;
+    }
+
+}
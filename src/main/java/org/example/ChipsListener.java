@@ -0,0 +1,10 @@
+package org.example;
+
+/**
+ * Подписчик на изменение количества фишек игрока, см. {@link Player#setChips(int)}.
+ */
+interface ChipsListener {
+
+    void chipsChanged(Player player, int previousChips, int chips);
+
+}
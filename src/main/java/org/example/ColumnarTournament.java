@@ -0,0 +1,166 @@
+package org.example;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Колоночное представление турнира: имена и фишки лежат в отдельных массивах, а броски всех
+ * игроков - в одном непрерывном массиве byte[] (игрок за игроком), границы историй задаются
+ * массивом смещений. Анализ идёт плотными циклами по плоскому массиву без обхода объектов
+ * {@link Player}. Объекты игроков создаются только для строк, попавших в результаты, и не
+ * удерживаются таблицей после того, как результаты перестают использоваться.
+ * Суммарное количество бросков ограничено размером массива Java (около 2^31).
+ */
+public class ColumnarTournament implements RollTable {
+
+    private final String[] names;
+    private final int[] chips;
+    private final byte[] rolls;
+    private final int[] offsets;  // броски игрока i лежат в rolls[offsets[i], offsets[i + 1])
+
+    private final PlayerCache players = new PlayerCache();
+
+    /**
+     * @param names имена игроков.
+     * @param chips количество фишек игроков.
+     * @param rolls броски всех игроков подряд, значения от 1 до 6.
+     * @param offsets смещения историй в rolls, длина на единицу больше количества игроков.
+     */
+    public ColumnarTournament(String[] names, int[] chips, byte[] rolls, int[] offsets) {
+
+        if (names.length != chips.length || offsets.length != names.length + 1) {
+            throw new IllegalArgumentException("Размеры столбцов не согласованы");
+        }
+        if (offsets[0] != 0 || offsets[names.length] != rolls.length) {
+            throw new IllegalArgumentException("Смещения должны начинаться с 0 и заканчиваться длиной массива бросков");
+        }
+
+        this.names = names;
+        this.chips = chips;
+        this.rolls = rolls;
+        this.offsets = offsets;
+
+    }
+
+    /**
+     * @param players список игроков.
+     * @return возвращает колоночную копию списка игроков и их историй.
+     */
+    public static ColumnarTournament of(List<Player> players) {
+
+        int size = players.size();
+        String[] names = new String[size];
+        int[] chips = new int[size];
+        int[] offsets = new int[size + 1];
+
+        for (int i = 0; i < size; i++) {
+            Player player = players.get(i);
+            names[i] = player.getName();
+            chips[i] = player.getChips();
+            offsets[i + 1] = Math.addExact(offsets[i], player.getRolls().size());
+        }
+
+        byte[] rolls = new byte[offsets[size]];
+        for (int i = 0; i < size; i++) {
+            byte[] history = players.get(i).getRolls().toArray();
+            System.arraycopy(history, 0, rolls, offsets[i], history.length);
+        }
+
+        return new ColumnarTournament(names, chips, rolls, offsets);
+
+    }
+
+    /**
+     * Симулирует турнир сразу в колоночном виде, без создания объектов {@link Player}.
+     * При одинаковом seed броски совпадают с бросками {@link TournamentSimulator}.
+     * @param names имена игроков.
+     * @param chips количество фишек игроков.
+     * @param rounds количество бросков каждого игрока.
+     * @param seed начальное значение генераторов.
+     */
+    public static ColumnarTournament simulate(String[] names, int[] chips, int rounds, long seed) {
+
+        int size = names.length;
+        int[] offsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] = Math.addExact(offsets[i], rounds);
+        }
+        byte[] rolls = new byte[offsets[size]];
+
+        int blocks = (size + TournamentSimulator.BLOCK_SIZE - 1) / TournamentSimulator.BLOCK_SIZE;
+        IntStream.range(0, blocks)
+                .parallel()
+                .forEach(block -> {
+                    Dice dice = TournamentSimulator.blockDice(seed, block);
+                    byte[] buffer = new byte[rounds];
+                    int end = Math.min(size, (block + 1) * TournamentSimulator.BLOCK_SIZE);
+                    for (int i = block * TournamentSimulator.BLOCK_SIZE; i < end; i++) {
+                        dice.throwMe(rounds, buffer);
+                        System.arraycopy(buffer, 0, rolls, offsets[i], rounds);
+                    }
+                });
+
+        return new ColumnarTournament(names, chips, rolls, offsets);
+
+    }
+
+    @Override
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public String name(int row) {
+        return names[row];
+    }
+
+    @Override
+    public int chips(int row) {
+        return chips[row];
+    }
+
+    @Override
+    public int rollCount(int row) {
+        return offsets[row + 1] - offsets[row];
+    }
+
+    @Override
+    public int roll(int row, int index) {
+        if (index < 0 || index >= rollCount(row)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + rollCount(row));
+        }
+        return rolls[offsets[row] + index];
+    }
+
+    @Override
+    public void rolls(int row, byte[] out, int offset) {
+        System.arraycopy(rolls, offsets[row], out, offset, rollCount(row));
+    }
+
+    /**
+     * Статистика считается при каждом обращении, только по участку плоского массива строки row:
+     * таблица не держит в куче объект статистики на каждого игрока.
+     */
+    @Override
+    public RollStats stats(int row) {
+        return RollStats.of(rolls, offsets[row], offsets[row + 1]);
+    }
+
+    /**
+     * Сумма считается ядром {@link RollKernels} прямо по плоскому массиву, без объекта статистики.
+     */
+    @Override
+    public long sum(int row) {
+        return RollKernels.INSTANCE.sum(rolls, offsets[row], offsets[row + 1]);
+    }
+
+    /**
+     * Игрок создаётся при первом обращении и переиспользуется, пока на него есть ссылки
+     * (см. {@link PlayerCache}).
+     */
+    @Override
+    public Player player(int row) {
+        return players.get(row, i -> Player.restore(names[i], chips[i], rolls, offsets[i], rollCount(i)));
+    }
+
+}
@@ -0,0 +1,108 @@
+package org.example;
+
+import java.util.List;
+
+/**
+ * Игрок, за которого могут одновременно бросать кость несколько потоков (например, несколько
+ * столов), пока другие потоки анализируют его историю. Броски добавляются без блокировок
+ * в {@link ConcurrentRollHistory}; чтение истории и статистики всегда видит согласованный
+ * префикс и не мешает броскам.
+ */
+public class ConcurrentPlayer {
+
+    // Dice не потокобезопасна, поэтому у каждого потока своя кость.
+    private static final ThreadLocal<Dice> THREAD_DICE = ThreadLocal.withInitial(Dice::new);
+
+    private final String name;
+    private final int chips;  // количество фишек
+    private final ConcurrentRollHistory rolls = new ConcurrentRollHistory();
+    private volatile RollStats checkpoint = new RollStats();  // статистика одного из префиксов истории, не изменяется
+
+    public ConcurrentPlayer(String name, int chips) {
+        this.name = name;
+        this.chips = chips;
+    }
+
+    /**
+     * @param players список игроков.
+     * @return возвращает таблицу для анализа, в которой у каждого игрока зафиксирована
+     * история, опубликованная на момент вызова. Броски, сделанные позже, в таблицу не попадают.
+     */
+    public static RollTable snapshot(List<ConcurrentPlayer> players) {
+        return new ConcurrentPlayerTable(players);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getChips() {
+        return chips;
+    }
+
+    /**
+     * Бросает кость текущего потока.
+     */
+    public void throwDice() {
+        rolls.add(THREAD_DICE.get().throwMe());
+        TournamentMetrics.recordPlayerThrow();
+    }
+
+    /**
+     * @param dice кость, принадлежащая вызывающему потоку.
+     */
+    public void throwDice(Dice dice) {
+        rolls.add(dice.throwMe());
+        TournamentMetrics.recordPlayerThrow();
+    }
+
+    /**
+     * @return возвращает историю бросков, в которую можно добавлять броски из нескольких потоков.
+     */
+    public ConcurrentRollHistory getRolls() {
+        return rolls;
+    }
+
+    /**
+     * @return возвращает статистику опубликованных на данный момент бросков.
+     */
+    public RollStats getStats() {
+        return statsOf(rolls.size());
+    }
+
+    /**
+     * @return возвращает обычного игрока с копией опубликованной на данный момент истории.
+     */
+    public Player toPlayer() {
+        return toPlayer(rolls.size());
+    }
+
+    /**
+     * Считает статистику первых length бросков. Статистика последнего посчитанного префикса
+     * сохраняется, поэтому повторные запросы на живых данных учитывают только новые броски.
+     * @param length количество опубликованных бросков.
+     * @return возвращает новый накопитель, который вызывающий может изменять.
+     */
+    RollStats statsOf(int length) {
+
+        RollStats base = checkpoint;
+        RollStats stats = base.getCount() <= length ? base.copy() : new RollStats();
+        rolls.forEach(stats.getCount(), length, stats::accept);
+        if (length > base.getCount()) {
+            checkpoint = stats.copy();
+        }
+        return stats;
+
+    }
+
+    Player toPlayer(int length) {
+        byte[] faces = rolls.toArray(length);
+        return Player.restore(name, chips, faces, 0, faces.length);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
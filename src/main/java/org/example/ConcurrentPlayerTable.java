@@ -0,0 +1,86 @@
+package org.example;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Снимок списка {@link ConcurrentPlayer} в виде {@link RollTable}. Длины историй фиксируются
+ * при создании, поэтому анализ видит неизменные данные, пока броски продолжаются.
+ * Статистика и игроки для результатов создаются при первом обращении.
+ */
+class ConcurrentPlayerTable implements RollTable {
+
+    private final List<ConcurrentPlayer> players;
+    private final int[] lengths;
+    private final AtomicReferenceArray<RollStats> stats;
+    private final AtomicReferenceArray<Player> snapshots;
+
+    ConcurrentPlayerTable(List<ConcurrentPlayer> players) {
+
+        this.players = List.copyOf(players);
+        this.lengths = new int[this.players.size()];
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] = this.players.get(i).getRolls().size();
+        }
+        this.stats = new AtomicReferenceArray<>(lengths.length);
+        this.snapshots = new AtomicReferenceArray<>(lengths.length);
+
+    }
+
+    @Override
+    public int size() {
+        return lengths.length;
+    }
+
+    @Override
+    public String name(int row) {
+        return players.get(row).getName();
+    }
+
+    @Override
+    public int chips(int row) {
+        return players.get(row).getChips();
+    }
+
+    @Override
+    public int rollCount(int row) {
+        return lengths[row];
+    }
+
+    @Override
+    public int roll(int row, int index) {
+        if (index < 0 || index >= lengths[row]) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + lengths[row]);
+        }
+        return players.get(row).getRolls().get(index);
+    }
+
+    @Override
+    public RollStats stats(int row) {
+
+        RollStats result = stats.get(row);
+        if (result == null) {
+            result = players.get(row).statsOf(lengths[row]);
+            if (!stats.compareAndSet(row, null, result)) {
+                result = stats.get(row);
+            }
+        }
+        return result;
+
+    }
+
+    @Override
+    public Player player(int row) {
+
+        Player player = snapshots.get(row);
+        if (player == null) {
+            player = players.get(row).toPlayer(lengths[row]);
+            if (!snapshots.compareAndSet(row, null, player)) {
+                player = snapshots.get(row);
+            }
+        }
+        return player;
+
+    }
+
+}
@@ -0,0 +1,241 @@
+package org.example;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * История бросков, в которую можно одновременно добавлять броски из нескольких потоков
+ * без блокировок. Броски хранятся в блоках byte[] удваивающегося размера (16, 32, 64, ...),
+ * поэтому добавление никогда не копирует уже записанные данные и не перемещает их.
+ * <p>
+ * Писатель резервирует ячейку атомарным счётчиком, записывает в неё значение и продвигает
+ * опубликованную длину через все подряд заполненные ячейки (незаполненная ячейка содержит 0).
+ * Читатели видят только опубликованный префикс, который больше не изменяется, поэтому
+ * {@link #snapshot()} даёт согласованный снимок без копирования.
+ */
+public class ConcurrentRollHistory {
+
+    private static final int FIRST_CHUNK_BITS = 4;
+    private static final int FIRST_CHUNK_SIZE = 1 << FIRST_CHUNK_BITS;
+    private static final int MAX_CHUNKS = Integer.SIZE - 1 - FIRST_CHUNK_BITS;
+    private static final int MAX_SIZE = Integer.MAX_VALUE - FIRST_CHUNK_SIZE + 1;
+
+    private static final VarHandle FACE = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    private final AtomicReferenceArray<byte[]> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+    private final AtomicInteger reserved = new AtomicInteger();   // количество занятых ячеек
+    private final AtomicInteger published = new AtomicInteger();  // длина видимого читателям префикса
+
+    /**
+     * Добавляет бросок в конец истории. Может вызываться из нескольких потоков одновременно;
+     * порядок бросков из разных потоков определяется порядком резервирования ячеек.
+     * @param face значение кубика, от 1 до 6.
+     */
+    public void add(int face) {
+
+        if (face < 1 || face > 6) {
+            throw new IllegalArgumentException("Значение кубика должно быть от 1 до 6: " + face);
+        }
+
+        int index = reserved.getAndIncrement();
+        if (index < 0 || index >= MAX_SIZE) {
+            throw new IllegalStateException("История бросков переполнена");
+        }
+
+        int position = index + FIRST_CHUNK_SIZE;
+        int chunk = chunkOf(position);
+        FACE.setVolatile(chunk(chunk), position - (FIRST_CHUNK_SIZE << chunk), (byte) face);
+        publish();
+
+    }
+
+    /**
+     * @return возвращает количество опубликованных бросков.
+     */
+    public int size() {
+        return published.get();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @param index номер броска, начиная с 0.
+     * @return возвращает значение кубика в указанном броске.
+     */
+    public int get(int index) {
+        int size = size();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return face(index);
+    }
+
+    /**
+     * @return возвращает снимок опубликованных на данный момент бросков. Снимок ссылается
+     * на те же блоки, что и история, и не меняется при последующих добавлениях.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this, size());
+    }
+
+    /**
+     * Неизменяемый префикс {@link ConcurrentRollHistory}.
+     */
+    public static final class Snapshot {
+
+        private final ConcurrentRollHistory history;
+        private final int size;
+
+        private Snapshot(ConcurrentRollHistory history, int size) {
+            this.history = history;
+            this.size = size;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * @param index номер броска, начиная с 0.
+         * @return возвращает значение кубика в указанном броске.
+         */
+        public int get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return history.face(index);
+        }
+
+        /**
+         * @return возвращает поток значений бросков без упаковки в Integer.
+         */
+        public IntStream stream() {
+            return IntStream.range(0, size).map(history::face);
+        }
+
+        /**
+         * @return возвращает копию снимка в виде массива byte[].
+         */
+        public byte[] toArray() {
+            return history.toArray(size);
+        }
+
+        @Override
+        public String toString() {
+
+            StringBuilder sb = new StringBuilder("[");
+            for (int i = 0; i < size; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(history.face(i));
+            }
+            return sb.append(']').toString();
+
+        }
+
+    }
+
+    /**
+     * Передаёт броски с номерами [from, to) опубликованного префикса, проходя по блокам подряд.
+     */
+    void forEach(int from, int to, IntConsumer action) {
+
+        int position = from + FIRST_CHUNK_SIZE;
+        int end = to + FIRST_CHUNK_SIZE;
+        while (position < end) {
+            int chunk = chunkOf(position);
+            int chunkStart = FIRST_CHUNK_SIZE << chunk;
+            byte[] faces = chunks.get(chunk);
+            int limit = Math.min(end, chunkStart << 1);
+            for (; position < limit; position++) {
+                action.accept(faces[position - chunkStart]);
+            }
+        }
+
+    }
+
+    /**
+     * @return возвращает копию первых length бросков опубликованного префикса.
+     */
+    byte[] toArray(int length) {
+
+        byte[] result = new byte[length];
+        int position = FIRST_CHUNK_SIZE;
+        int end = length + FIRST_CHUNK_SIZE;
+        while (position < end) {
+            int chunk = chunkOf(position);
+            int chunkStart = FIRST_CHUNK_SIZE << chunk;
+            int count = Math.min(end, chunkStart << 1) - position;
+            System.arraycopy(chunks.get(chunk), position - chunkStart, result, position - FIRST_CHUNK_SIZE, count);
+            position += count;
+        }
+        return result;
+
+    }
+
+    /**
+     * Читает опубликованный бросок. Публикация длины происходит после записи значения,
+     * поэтому обычного чтения после чтения длины достаточно.
+     */
+    private int face(int index) {
+        int position = index + FIRST_CHUNK_SIZE;
+        int chunk = chunkOf(position);
+        return chunks.get(chunk)[position - (FIRST_CHUNK_SIZE << chunk)];
+    }
+
+    /**
+     * Продвигает опубликованную длину через все подряд заполненные ячейки. Если раньше
+     * зарезервированная ячейка ещё не заполнена, её писатель сам опубликует и эту запись.
+     * Запись значения и проверка соседних ячеек - volatile-операции, поэтому хотя бы один
+     * из двух конкурирующих писателей увидит запись другого и продвинет длину.
+     */
+    private void publish() {
+
+        int length = published.get();
+        while (length < Math.min(reserved.get(), MAX_SIZE) && isWritten(length)) {
+            published.compareAndSet(length, length + 1);
+            length = published.get();
+        }
+
+    }
+
+    private boolean isWritten(int index) {
+        int position = index + FIRST_CHUNK_SIZE;
+        int chunk = chunkOf(position);
+        byte[] faces = chunks.get(chunk);
+        return faces != null && (byte) FACE.getVolatile(faces, position - (FIRST_CHUNK_SIZE << chunk)) != 0;
+    }
+
+    private byte[] chunk(int chunk) {
+
+        byte[] faces = chunks.get(chunk);
+        if (faces == null) {
+            faces = new byte[FIRST_CHUNK_SIZE << chunk];
+            if (!chunks.compareAndSet(chunk, null, faces)) {
+                faces = chunks.get(chunk);
+            }
+        }
+        return faces;
+
+    }
+
+    /**
+     * @param position номер броска, увеличенный на размер первого блока.
+     * @return возвращает номер блока: блок k содержит позиции [16 * 2^k, 16 * 2^(k+1)).
+     */
+    private static int chunkOf(int position) {
+        return Integer.SIZE - 1 - Integer.numberOfLeadingZeros(position) - FIRST_CHUNK_BITS;
+    }
+
+}
@@ -0,0 +1,108 @@
+package org.example;
+
+/**
+ * Count-min sketch: оценка частот элементов в памяти фиксированного размера.
+ * Оценка никогда не бывает меньше истинной частоты и с вероятностью не меньше 1 - delta
+ * превышает её не более чем на epsilon * {@link #getTotal()}.
+ */
+public class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final long[] counts;  // depth строк по width счётчиков подряд
+    private long total;
+
+    /**
+     * @param epsilon допустимая погрешность относительно суммы всех частот, (0, 1).
+     * @param delta вероятность превысить погрешность, (0, 1).
+     */
+    public CountMinSketch(double epsilon, double delta) {
+
+        if (!(epsilon > 0 && epsilon < 1) || !(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException("Погрешность и вероятность должны быть в интервале (0, 1): "
+                    + epsilon + ", " + delta);
+        }
+        this.width = (int) Math.ceil(Math.E / epsilon);
+        this.depth = (int) Math.ceil(Math.log(1 / delta));
+        this.counts = new long[width * depth];
+
+    }
+
+    /**
+     * @param item элемент, например хэш имени игрока вместе со значением кубика.
+     * @param count на сколько увеличить частоту элемента.
+     */
+    public void add(long item, long count) {
+
+        if (count < 0) {
+            throw new IllegalArgumentException("Частота не может уменьшаться: " + count);
+        }
+        long hash = mix(item);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int row = 0; row < depth; row++) {
+            counts[row * width + Math.floorMod(h1 + row * h2, width)] += count;
+        }
+        total += count;
+
+    }
+
+    /**
+     * @return возвращает оценку частоты элемента сверху.
+     */
+    public long estimate(long item) {
+
+        long hash = mix(item);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts[row * width + Math.floorMod(h1 + row * h2, width)]);
+        }
+        return estimate;
+
+    }
+
+    /**
+     * Добавляет частоты другого sketch с теми же параметрами.
+     */
+    public void merge(CountMinSketch other) {
+
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Размеры count-min sketch не совпадают");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+
+    }
+
+    /**
+     * @return возвращает сумму всех добавленных частот.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Перемешивание битов (финализатор MurmurHash3), чтобы близкие элементы попадали в разные счётчики.
+     */
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+}
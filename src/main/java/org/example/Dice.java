@@ -1,13 +1,93 @@
 package org.example;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
 
+/**
+ * Игральная кость. Источник случайных чисел подключается через {@link RandomGenerator},
+ * по умолчанию используется L64X128MixRandom. Экземпляр не потокобезопасен:
+ * каждому потоку нужна своя кость.
+ */
 public class Dice {
 
-    private final Random random = new Random();
+    public static final String DEFAULT_ALGORITHM = "L64X128MixRandom";
+
+    // Из 62 старших бит одного 64-битного слова получается 23 независимых броска:
+    // принимаются только слова меньше 5 * 6^23, остальные отбрасываются (~14% слов).
+    private static final int FACES_PER_WORD = 23;
+    private static final long ACCEPT_LIMIT = 5 * pow6(FACES_PER_WORD);
+
+    private final RandomGenerator random;
+
+    public Dice() {
+        this(RandomGeneratorFactory.of(DEFAULT_ALGORITHM).create());
+    }
+
+    /**
+     * @param seed начальное значение генератора; кости с одинаковым seed выдают одинаковые броски.
+     */
+    public Dice(long seed) {
+        this(RandomGeneratorFactory.of(DEFAULT_ALGORITHM).create(seed));
+    }
+
+    /**
+     * @param random генератор случайных чисел, например SplittableRandom или L64X128MixRandom.
+     */
+    public Dice(RandomGenerator random) {
+        this.random = random;
+    }
+
+    /**
+     * @param algorithm имя алгоритма из {@link RandomGeneratorFactory}, например "L64X128MixRandom".
+     * @param seed начальное значение генератора.
+     * @return возвращает кость с указанным генератором.
+     */
+    public static Dice of(String algorithm, long seed) {
+        return new Dice(RandomGeneratorFactory.of(algorithm).create(seed));
+    }
 
     public int throwMe() {
+        TournamentMetrics.recordDiceThrows(1);
         return random.nextInt(1,7);
     }
 
+    /**
+     * Выполняет n бросков за один проход: одно обращение к генератору даёт до 23 значений.
+     * @param n количество бросков.
+     * @param out буфер, в первые n ячеек которого записываются значения от 1 до 6.
+     */
+    public void throwMe(int n, byte[] out) {
+
+        if (n < 0 || n > out.length) {
+            throw new IllegalArgumentException("Количество бросков " + n + " не помещается в буфер длины " + out.length);
+        }
+
+        TournamentMetrics.recordDiceThrows(n);
+
+        int i = 0;
+        while (i < n) {
+
+            long word = random.nextLong() >>> 2;
+            if (word >= ACCEPT_LIMIT) {
+                continue;
+            }
+
+            int end = Math.min(i + FACES_PER_WORD, n);
+            while (i < end) {
+                out[i++] = (byte) (word % 6 + 1);
+                word /= 6;
+            }
+
+        }
+
+    }
+
+    private static long pow6(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 6;
+        }
+        return result;
+    }
+
 }
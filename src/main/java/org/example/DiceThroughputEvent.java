@@ -0,0 +1,26 @@
+package org.example;
+
+import jdk.jfr.*;
+
+/**
+ * Периодическое событие JFR со счётчиками бросков и кэша {@link TournamentMetrics}.
+ */
+@Name("org.example.DiceThroughput")
+@Label("Dice Throughput")
+@Category("Dice Tournament")
+@Description("Количество и скорость бросков кости, попадания в кэш анализатора")
+@Period("1 s")
+@StackTrace(false)
+class DiceThroughputEvent extends Event {
+
+    @Label("Dice Throws")
+    long diceThrows;
+
+    @Label("Throws Per Second")
+    double throwsPerSecond;
+
+    @Label("Cache Hit Rate")
+    @Percentage
+    double cacheHitRate;
+
+}
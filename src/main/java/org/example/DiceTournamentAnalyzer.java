@@ -1,48 +1,176 @@
 package org.example;
 
 import java.util.*;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
  * Класс предназначен для анализа статистики игроков в кости и распределения их мест в турнирных таблицах.
+ * Все показатели берутся из статистики {@link RollStats}, которую игроки обновляют при каждом броске,
+ * поэтому каждый запрос обходится в O(1) на игрока независимо от длины истории.
+ * Анализ ведётся по строкам {@link RollTable}: кроме списка игроков можно анализировать,
+ * например, колоночное представление турнира {@link ColumnarTournament}.
  */
 public class DiceTournamentAnalyzer {
 
-    private List<Player> list;
+    protected final RollTable table;
+    protected final ChipCategoryIndex chipIndex;  // поддерживаемая группировка по фишкам, если есть
 
+    /**
+     * @param list список игроков. Если это {@link TrackedPlayerList} с включённым индексом
+     * категорий ({@link TrackedPlayerList#indexByChips(ChipThresholds)}), группировка по фишкам
+     * берётся из индекса.
+     */
     public DiceTournamentAnalyzer(List<Player> list) {
-        this.list = list;
+        this(RollTable.of(list), list instanceof TrackedPlayerList tracked ? tracked.getChipIndex() : null);
+    }
+
+    /**
+     * @param table табличное представление турнира, например {@link ColumnarTournament}.
+     */
+    public DiceTournamentAnalyzer(RollTable table) {
+        this(table, null);
     }
 
-    public enum ChipCategory { HIGH, MEDIUM, LOW }
+    private DiceTournamentAnalyzer(RollTable table, ChipCategoryIndex chipIndex) {
+        this.table = table;
+        this.chipIndex = chipIndex;
+    }
+
+    public enum ChipCategory {
+
+        HIGH, MEDIUM, LOW;
+
+        /**
+         * @param chips количество фишек игрока.
+         * @return возвращает категорию: >1000 - HIGH, 500-1000 - MEDIUM, <500 - LOW.
+         */
+        public static ChipCategory of(int chips) {
+            return ChipThresholds.DEFAULT.categoryOf(chips);
+        }
+
+    }
+
+    /**
+     * @return возвращает сводный отчёт со всеми десятью результатами анализа,
+     * собранный за один проход по списку игроков. Игроки группируются по фишкам с теми же
+     * границами категорий, что и в {@link #getPlayersGroupedByChips()}.
+     */
+    public TournamentReport getReport() {
+        return measure(AnalyzerOperation.REPORT, () -> TournamentReport.of(table, chipThresholds()));
+    }
 
     /**
      * @return возвращает Map, ключом в которой является объект игрока класса Player,
      * а значением - среднее значение его бросков.
      */
     public Map<Player, Double> getMapOfAverageScores() {
-        return
-                list.stream()
-                        .collect(Collectors.toMap(
-                                player -> player,
-                                this::getPlayerAverageScore
-                        ));
+        return measure(AnalyzerOperation.AVERAGE_SCORES, () -> scoreMap(this::getPlayerAverageScore));
+    }
+
+    /**
+     * Вариант {@link #getMapOfAverageScores()} без выделения памяти: средние значения
+     * записываются в буфер вызывающего по номерам игроков в таблице (см. {@link #getPlayer(int)}).
+     * @param out буфер не короче {@link #size()}; его можно переиспользовать между вызовами.
+     * @return возвращает тот же буфер.
+     */
+    public double[] getAverageScores(double[] out) {
+
+        long started = System.nanoTime();
+        checkCapacity(out.length);
+        for (int row = 0; row < table.size(); row++) {
+            out[row] = average(row);
+        }
+        TournamentMetrics.recordQuery(AnalyzerOperation.AVERAGE_SCORES, started);
+        return out;
+
+    }
+
+    /**
+     * Вариант {@link #getMapOfAverageScores()} без выделения памяти.
+     * @param sink получает номер каждого игрока в таблице и его среднее значение, по порядку.
+     */
+    public void forEachAverageScore(PlayerDoubleConsumer sink) {
+
+        long started = System.nanoTime();
+        for (int row = 0; row < table.size(); row++) {
+            sink.accept(row, average(row));
+        }
+        TournamentMetrics.recordQuery(AnalyzerOperation.AVERAGE_SCORES, started);
+
+    }
+
+    /**
+     * Вариант {@link #getTopThreeAveragePlayers()} без выделения памяти.
+     * @param out буфер не короче 3, в начало которого записываются номера лучших игроков в таблице.
+     * @return возвращает количество записанных номеров: 3 или меньше, если игроков меньше трёх.
+     */
+    public int getTopThreeAveragePlayers(int[] out) {
+
+        long started = System.nanoTime();
+        if (out.length < 3) {
+            throw new IllegalArgumentException("Буфер короче трёх элементов: " + out.length);
+        }
+
+        // Вставка в упорядоченный префикс буфера; при равном среднем выше тот, кто раньше в списке.
+        int size = 0;
+        for (int row = 0; row < table.size(); row++) {
+            double average = average(row);
+            int position = size;
+            while (position > 0 && average(out[position - 1]) < average) {
+                position--;
+            }
+            if (position < 3) {
+                int last = Math.min(size, 2);
+                System.arraycopy(out, position, out, position + 1, last - position);
+                out[position] = row;
+                size = Math.min(size + 1, 3);
+            }
+        }
+        TournamentMetrics.recordQuery(AnalyzerOperation.TOP_THREE, started);
+        return size;
+
     }
 
     /**
      * @return возвращает коллекцию из трёх самых успешных игроков,
      * отсортированных по убыванию среднего значения бросков.
+     * При равном среднем выше стоит игрок, который раньше встречается в списке.
      */
     public List<Player> getTopThreeAveragePlayers() {
+        return measure(AnalyzerOperation.TOP_THREE, () -> topK(3, this::getPlayerAverageScore));
+    }
 
-        return
-                getMapOfAverageScores().entrySet().stream()
-                        .sorted(Map.Entry.<Player, Double>comparingByValue().reversed())
-                        .limit(3)
-                        .map(Map.Entry::getKey)
-                        .toList();
+    /**
+     * Отбирает k лучших игроков по произвольному показателю с помощью ограниченной кучи,
+     * без построения промежуточной Map и полной сортировки. Например, {@code getTopK(5, Player::getChips)}.
+     * Показатель вычисляется по объекту игрока, поэтому для таблиц, которые хранят данные
+     * не в объектах {@link Player}, игрок восстанавливается для каждой строки; для них лучше
+     * подходит {@link #getTopK(int, RowMetric)}.
+     * @param k количество отбираемых игроков.
+     * @param metric показатель, по убыванию которого ранжируются игроки.
+     * @return возвращает не более k игроков, отсортированных по убыванию показателя.
+     * При равном показателе выше стоит игрок, который раньше встречается в списке.
+     */
+    public List<Player> getTopK(int k, ToDoubleFunction<Player> metric) {
+        return measure(AnalyzerOperation.TOP_K, () -> topK(k, row -> metric.applyAsDouble(table.player(row))));
+    }
 
+    /**
+     * Вариант {@link #getTopK(int, ToDoubleFunction)} с показателем по строке таблицы,
+     * например {@code getTopK(5, RowMetric.CHIPS)}: игроки восстанавливаются только
+     * для k отобранных строк.
+     * @param k количество отбираемых игроков.
+     * @param metric показатель, по убыванию которого ранжируются игроки.
+     * @return возвращает не более k игроков, отсортированных по убыванию показателя.
+     * При равном показателе выше стоит игрок, который раньше встречается в списке.
+     */
+    public List<Player> getTopK(int k, RowMetric metric) {
+        return measure(AnalyzerOperation.TOP_K, () -> topK(k, row -> metric.applyAsDouble(table, row)));
     }
 
     /**
@@ -50,10 +178,7 @@ public class DiceTournamentAnalyzer {
      * (три и более раза выпадала единица).
      */
     public List<Player> getTheLosers() {
-        return
-                list.stream()
-                        .filter(e->evaluateFate(e,1,3))
-                        .toList();
+        return measure(AnalyzerOperation.LOSERS, () -> select(e->evaluateFate(e,1,3)));
     }
 
     /**
@@ -61,42 +186,19 @@ public class DiceTournamentAnalyzer {
      * (четыре и более раза выпадала шестёрка).
      */
     public List<Player> getTheLucky() {
-        return
-                list.stream()
-                        .filter(e->evaluateFate(e,6,4))
-                        .toList();
+        return measure(AnalyzerOperation.LUCKY, () -> select(e->evaluateFate(e,6,4)));
     }
 
     /**
      * @return возвращает отсортированный по ключу объект LinkedHashMap, ключом в котором
      * является категория количества фишек (>1000 - HIGH, 500-1000 - MEDIUM, <500 - LOW),
      * а значением - коллекция игроков, попадающих в соответствующую категорию.
+     * Если анализ построен над {@link TrackedPlayerList} с индексом категорий, возвращается
+     * представление индекса: без выделения памяти, с границами категорий индекса и со своим
+     * порядком игроков внутри категории (см. {@link ChipCategoryIndex}).
      */
     public Map<ChipCategory, List<Player>> getPlayersGroupedByChips() {
-
-        Map<ChipCategory, List<Player>> result = new LinkedHashMap<>();
-
-        // Создадим порядок чтобы выводилась сначала HIGH, потом MEDIUM, потом LOW, а не как попало.
-        result.put(ChipCategory.HIGH, new ArrayList<>());
-        result.put(ChipCategory.MEDIUM, new ArrayList<>());
-        result.put(ChipCategory.LOW, new ArrayList<>());
-
-        list.forEach(player -> {
-
-            int chips = player.getChips();
-
-            if (chips > 1000) {
-                result.get(ChipCategory.HIGH).add(player);
-            } else if (chips >= 500) {
-                result.get(ChipCategory.MEDIUM).add(player);
-            } else {
-                result.get(ChipCategory.LOW).add(player);
-            }
-
-        });
-
-        return result;
-
+        return measure(AnalyzerOperation.GROUPED_BY_CHIPS, this::groupByChips);
     }
 
     /**
@@ -104,12 +206,7 @@ public class DiceTournamentAnalyzer {
      * кубика 4 или больше.
      */
     public List<Player> getStablePlayerList() {
-        return
-                list.stream()
-                        .filter(player -> player.getRollsHistory().stream()
-                                .filter(e -> e >= 4)
-                                .count() >= 8)
-                        .toList();
+        return measure(AnalyzerOperation.STABLE, () -> select(row -> table.stats(row).getHighCount() >= 8));
     }
 
     /**
@@ -117,14 +214,7 @@ public class DiceTournamentAnalyzer {
      * выпадала единица.
      */
     public List<Player> getRiskyPlayerList() {
-        return
-                list.stream()
-                        .filter(player -> {
-                            List<Integer> history = player.getRollsHistory();
-                            return IntStream.range(0, history.size() - 1)
-                                    .anyMatch(i -> history.get(i) == 1 && history.get(i + 1) == 1);
-                        })
-                        .toList();
+        return measure(AnalyzerOperation.RISKY, () -> select(row -> table.stats(row).hasConsecutiveOnes()));
     }
 
     /**
@@ -132,13 +222,35 @@ public class DiceTournamentAnalyzer {
      * выпадала хотя бы раз.
      */
     public List<Player> getBalancedDicePlayerList() {
-        return
-                list.stream()
-                        .filter(player -> (player.getRollsHistory().stream()
-                                .distinct()
-                                .toList()
-                                ).size() == 6)
-                        .toList();
+        return measure(AnalyzerOperation.BALANCED, () -> select(row -> table.stats(row).hasAllFaces()));
+    }
+
+    /**
+     * Классифицирует игроков по произвольному набору правил за один проход, например
+     * {@code classify(RuleSet.of(PlayerRule.run("hot", 6, 3), PlayerRule.LOSERS.inLast(10)))}.
+     * @param rules скомпилированный набор правил.
+     * @return возвращает Map, где ключом является имя правила, а значением - игроки,
+     * для которых оно выполняется, в порядке исходного списка.
+     */
+    public Map<String, List<Player>> classify(RuleSet rules) {
+        return measure(AnalyzerOperation.CLASSIFY, () -> rules.classify(table));
+    }
+
+    /**
+     * Переводит анализ в приближённый режим: данные турнира сворачиваются в структуры
+     * фиксированного размера, по которым строятся оценки для панелей мониторинга.
+     * @param bounds параметры точности, например {@link SketchBounds#DEFAULT}.
+     * @return возвращает приближённый анализатор встроенных категорий, в который можно
+     * добавлять и других игроков.
+     */
+    public ApproximateTournamentAnalyzer approximate(SketchBounds bounds) {
+
+        return measure(AnalyzerOperation.APPROXIMATE, () -> {
+            ApproximateTournamentAnalyzer approximate = new ApproximateTournamentAnalyzer(bounds);
+            approximate.addAll(table);
+            return approximate;
+        });
+
     }
 
     /**
@@ -147,26 +259,40 @@ public class DiceTournamentAnalyzer {
      */
     public Map<Player, Double> getLuckIndex() {
 
-        return
-                list.stream()
-                        .collect(Collectors.toMap(
-                                player -> player,
-                                player -> {
+        return measure(AnalyzerOperation.LUCK_INDEX,
+                () -> scoreMap(row -> table.stats(row).getLuckIndex(table.chips(row))));
 
-                                    List<Integer> history = player.getRollsHistory();
+    }
 
-                                    if (history.isEmpty()) {
-                                        return 0.0;
-                                    }
+    /**
+     * Вариант {@link #getLuckIndex()} без выделения памяти: "индексы удачи" записываются
+     * в буфер вызывающего по номерам игроков в таблице (см. {@link #getPlayer(int)}).
+     * @param out буфер не короче {@link #size()}; его можно переиспользовать между вызовами.
+     * @return возвращает тот же буфер.
+     */
+    public double[] getLuckIndex(double[] out) {
 
-                                    return
-                                            Math.round(
-                                            (history.stream()
-                                            .mapToInt(e -> e)
-                                            .sum() / 6.0 * player.getChips()))/10.0;
+        long started = System.nanoTime();
+        checkCapacity(out.length);
+        for (int row = 0; row < table.size(); row++) {
+            out[row] = luckIndex(row);
+        }
+        TournamentMetrics.recordQuery(AnalyzerOperation.LUCK_INDEX, started);
+        return out;
 
-                                }
-                        ));
+    }
+
+    /**
+     * Вариант {@link #getLuckIndex()} без выделения памяти.
+     * @param sink получает номер каждого игрока в таблице и его "индекс удачи", по порядку.
+     */
+    public void forEachLuckIndex(PlayerDoubleConsumer sink) {
+
+        long started = System.nanoTime();
+        for (int row = 0; row < table.size(); row++) {
+            sink.accept(row, luckIndex(row));
+        }
+        TournamentMetrics.recordQuery(AnalyzerOperation.LUCK_INDEX, started);
 
     }
 
@@ -175,64 +301,183 @@ public class DiceTournamentAnalyzer {
      * результатов бросков.
      */
     public Player getMaxMathVariancePlayer() {
-        return list.stream()
-                .max(Comparator.comparingDouble(this::calculateVariance))
-                .orElse(null);
+        return measure(AnalyzerOperation.MAX_VARIANCE, () -> maxBy(this::calculateVariance));
+    }
+
+    /**
+     * @return возвращает количество игроков; номера игроков в буферах результатов - от 0 до size() - 1.
+     */
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * @param row номер игрока в таблице, например из {@link #getTopThreeAveragePlayers(int[])}.
+     * @return возвращает игрока с этим номером.
+     */
+    public Player getPlayer(int row) {
+        return table.player(row);
+    }
+
+    /**
+     * Служебный метод, через который проходят все запросы: записывает их длительность
+     * в {@link TournamentMetrics}.
+     * @param operation запрос.
+     * @param query вычисление результата.
+     * @return возвращает результат запроса.
+     */
+    protected <T> T measure(AnalyzerOperation operation, Supplier<T> query) {
+        return TournamentMetrics.measure(operation, table.size(), query);
     }
 
     /**
      * Служебный метод.
-     * @param player объект класса Player, конкретный игрок.
-     * @return возвращает дисперсию конкретного игрока.
+     * @return возвращает границы категорий фишек: индекса категорий, если он есть, иначе
+     * {@link ChipThresholds#DEFAULT}.
      */
-    private double calculateVariance(Player player) {
+    protected ChipThresholds chipThresholds() {
+        return chipIndex != null ? chipIndex.getThresholds() : ChipThresholds.DEFAULT;
+    }
+
+    /**
+     * Служебный метод.
+     * @return возвращает игроков, сгруппированных по категориям фишек (см. {@link #getPlayersGroupedByChips()}).
+     */
+    protected Map<ChipCategory, List<Player>> groupByChips() {
+
+        if (chipIndex != null) {
+            return chipIndex.asMap();
+        }
+
+        Map<ChipCategory, List<Player>> result = new LinkedHashMap<>();
+
+        // Создадим порядок чтобы выводилась сначала HIGH, потом MEDIUM, потом LOW, а не как попало.
+        result.put(ChipCategory.HIGH, new ArrayList<>());
+        result.put(ChipCategory.MEDIUM, new ArrayList<>());
+        result.put(ChipCategory.LOW, new ArrayList<>());
+
+        for (int row = 0; row < table.size(); row++) {
+            result.get(chipThresholds().categoryOf(table.chips(row))).add(table.player(row));
+        }
+
+        return result;
 
-        List<Integer> history = player.getRollsHistory();
-        if (history.isEmpty()) return 0.0;
+    }
 
-        double mu = getPlayerAverageScore(player);
+    /**
+     * Служебный метод, через который проходят все выборки игроков.
+     * @param predicate условие попадания строки таблицы в выборку.
+     * @return возвращает игроков, удовлетворяющих условию, в порядке исходного списка.
+     */
+    protected List<Player> select(IntPredicate predicate) {
+        return
+                IntStream.range(0, table.size())
+                        .filter(predicate)
+                        .mapToObj(table::player)
+                        .toList();
+    }
 
-        return history.stream()
-                .mapToDouble(e -> Math.pow(e - mu, 2))
-                .average()
-                .orElse(0.0);
+    /**
+     * Служебный метод.
+     * @param metric вычисляемый для каждой строки таблицы показатель.
+     * @return возвращает Map, где ключами являются игроки, а значениями - их показатели.
+     */
+    protected Map<Player, Double> scoreMap(IntToDoubleFunction metric) {
+        return
+                IntStream.range(0, table.size())
+                        .boxed()
+                        .collect(Collectors.toMap(
+                                table::player,
+                                metric::applyAsDouble
+                        ));
+    }
 
+    /**
+     * Служебный метод.
+     * @param metric вычисляемый для каждой строки таблицы показатель.
+     * @return возвращает игрока с наибольшим показателем (при равенстве - первого по списку)
+     * или null, если список пуст.
+     */
+    protected Player maxBy(IntToDoubleFunction metric) {
+        return
+                IntStream.range(0, table.size())
+                        .reduce((best, row) -> metric.applyAsDouble(row) > metric.applyAsDouble(best) ? row : best)
+                        .stream()
+                        .mapToObj(table::player)
+                        .findFirst()
+                        .orElse(null);
     }
 
     /**
      * Служебный метод.
-     * @param player объект класса Player, конкретный игрок.
-     * @return возвращает среднее значение из всех бросков кубика для конкретного игрока.
+     * @param k количество отбираемых игроков.
+     * @param metric вычисляемый для каждой строки таблицы показатель.
+     * @return возвращает не более k игроков с наибольшим показателем, от лучшего к худшему.
      */
-    private double getPlayerAverageScore(Player player) {
+    protected List<Player> topK(int k, IntToDoubleFunction metric) {
+        return
+                IntStream.range(0, table.size())
+                        .collect(() -> new TopK<Integer>(k),
+                                (top, row) -> top.offer(row, metric.applyAsDouble(row)),
+                                TopK::merge)
+                        .toList().stream()
+                        .map(table::player)
+                        .toList();
+    }
 
-        if (player.getRollsHistory().isEmpty()) {
-            return 0.0;
+    private void checkCapacity(int length) {
+        if (length < table.size()) {
+            throw new IllegalArgumentException("Буфер на " + length + " элементов меньше количества игроков " + table.size());
         }
+    }
 
-        return
-                player.getRollsHistory().stream()
-                        .mapToInt(Integer::intValue)
-                        .average()
-                        .orElse(0.0);
+    /**
+     * Служебный метод для запросов без выделения памяти: читает только сумму и количество
+     * бросков, не запрашивая объект статистики (см. {@link RollTable#sum(int)}).
+     * @param row номер игрока в таблице.
+     * @return возвращает среднее значение бросков игрока.
+     */
+    private double average(int row) {
+        return RollStats.average(table.sum(row), table.rollCount(row));
+    }
+
+    /**
+     * Служебный метод для запросов без выделения памяти (см. {@link #average(int)}).
+     * @param row номер игрока в таблице.
+     * @return возвращает "индекс удачи" игрока.
+     */
+    private double luckIndex(int row) {
+        return RollStats.luckIndex(table.sum(row), table.rollCount(row), table.chips(row));
+    }
+
+    /**
+     * Служебный метод.
+     * @param row номер игрока в таблице.
+     * @return возвращает дисперсию конкретного игрока.
+     */
+    private double calculateVariance(int row) {
+        return table.stats(row).getVariance();
+    }
 
+    /**
+     * Служебный метод.
+     * @param row номер игрока в таблице.
+     * @return возвращает среднее значение из всех бросков кубика для конкретного игрока.
+     */
+    private double getPlayerAverageScore(int row) {
+        return table.stats(row).getAverage();
     }
 
     /**
      * Служебный метод.
-     * @param player объект класса Player, конкретный игрок.
+     * @param row номер игрока в таблице.
      * @param value значение кубика.
      * @param quantity проверяемое количество выпадений.
      * @return возвращает true, если количество выпадений определённого значения кубика
      * value равно или превосходит quantity.
      */
-    private boolean evaluateFate(Player player, int value, int quantity) {
-
-        return
-                player.getRollsHistory().stream()
-                        .filter(e -> e == value)
-                        .count() >= quantity;
-
+    private boolean evaluateFate(int row, int value, int quantity) {
+        return table.stats(row).getFaceCount(value) >= quantity;
     }
 
 }
@@ -0,0 +1,82 @@
+package org.example;
+
+/**
+ * HyperLogLog: оценка количества различных элементов в памяти 2^precision байт.
+ * Стандартная ошибка оценки примерно 1.04 / sqrt(2^precision), например 1.6% при precision = 12.
+ */
+public class HyperLogLog {
+
+    private final int precision;
+    private final byte[] registers;
+
+    /**
+     * @param precision количество бит хэша, выбирающих регистр, от 4 до 18.
+     */
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("Точность HyperLogLog должна быть от 4 до 18: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * @param hash 64-битный хэш элемента с равномерно распределёнными битами.
+     */
+    public void add(long hash) {
+        int register = (int) (hash >>> (64 - precision));
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        if (rank > registers[register]) {
+            registers[register] = (byte) rank;
+        }
+    }
+
+    /**
+     * @return возвращает оценку количества различных добавленных элементов.
+     */
+    public long estimate() {
+
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte rank : registers) {
+            sum += 1.0 / (1L << rank);
+            if (rank == 0) {
+                zeros++;
+            }
+        }
+
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);  // линейный подсчёт для малых множеств
+        }
+        return Math.round(estimate);
+
+    }
+
+    /**
+     * Объединяет множества: после вызова оценка относится к объединению.
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Точность HyperLogLog не совпадает");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            registers[i] = (byte) Math.max(registers[i], other.registers[i]);
+        }
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+
+}
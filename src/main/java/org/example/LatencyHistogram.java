@@ -0,0 +1,115 @@
+package org.example;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограмма длительностей в наносекундах с логарифмически-линейными корзинами, как в
+ * HdrHistogram: каждый интервал [2^k, 2^(k+1)) делится на 32 равные корзины, поэтому
+ * относительная погрешность значений не превышает 1/32 (около 3%). Количество корзин
+ * фиксировано, запись - одно атомарное увеличение счётчика без выделения памяти;
+ * записывать можно из нескольких потоков.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKETS + 2 * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param nanos длительность в наносекундах; отрицательные значения учитываются как 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return возвращает среднее значение или 0.0, если записей не было.
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : (double) total.sum() / n;
+    }
+
+    /**
+     * @param percentile процентиль от 0 до 100.
+     * @return возвращает значение, не меньше которого percentile процентов записей
+     * (с точностью до ширины корзины), или 0, если записей не было.
+     */
+    public long getValueAtPercentile(double percentile) {
+
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Процентиль должен быть от 0 до 100: " + percentile);
+        }
+
+        long n = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            snapshot[bucket] = counts.get(bucket);
+            n += snapshot[bucket];
+        }
+        if (n == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += snapshot[bucket];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(bucket), getMax());
+            }
+        }
+        return getMax();
+
+    }
+
+    /**
+     * Значения меньше 64 попадают каждое в свою корзину; для больших значений номер корзины
+     * складывается из порядка числа и 5 старших бит после ведущей единицы.
+     */
+    static int bucketOf(long value) {
+
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int mantissa = (int) (value >>> shift);  // от 32 до 63
+        return (shift + 1) * SUB_BUCKETS + mantissa - SUB_BUCKETS;
+
+    }
+
+    /**
+     * @return возвращает наибольшее значение, попадающее в корзину.
+     */
+    static long highestValueOf(int bucket) {
+
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long mantissa = SUB_BUCKETS + bucket % SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+
+    }
+
+}
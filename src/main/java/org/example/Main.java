@@ -1,5 +1,7 @@
 package org.example;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 
 public class Main {
@@ -10,7 +12,13 @@ public class Main {
     private static final int throwLimit = 10;
 
 
-    public static void main(String[] args) {
+    /**
+     * @param args необязательный путь к файлу, в который сохраняется журнал турнира
+     *             (см. {@link TournamentLogWriter}) для повторного анализа.
+     */
+    public static void main(String[] args) throws IOException {
+
+        TournamentMetrics.global().registerMBean();  // метрики доступны через JMX, например в JConsole
 
         List<Player> players = PlayerList.players;
 
@@ -18,48 +26,45 @@ public class Main {
 
         task("Таблица результатов:");
 
-        players.forEach(player -> {
-
-            for (int i = 0; i < throwLimit; i++) {
-                player.throwDice();  // Броски сохраняются в игроке
-            }
-            player.showPlayersRollHistory();
-
-        });
+        new TournamentSimulator(players, throwLimit, System.nanoTime()).run();  // Броски сохраняются в игроках
+        players.forEach(Player::showPlayersRollHistory);
 
-        final DiceTournamentAnalyzer dta = new DiceTournamentAnalyzer(players);
+        if (args.length > 0) {
+            TournamentLogWriter.write(Path.of(args[0]), RollTable.of(players));
+        }
 
-        // Далее анализ через DiceTournamentAnalyzer...
+        // Все десять результатов собираются за один проход по списку игроков.
+        final TournamentReport report = new DiceTournamentAnalyzer(players).getReport();
 
         task("1.\tСредний результат бросков (Map<Player, Double>).");
-        System.out.println(dta.getMapOfAverageScores());
+        System.out.println(report.getMapOfAverageScores());
 
         task("2.\tТоп-3 игроков с самым высоким средним.");
-        System.out.println(dta.getTopThreeAveragePlayers());
+        System.out.println(report.getTopThreeAveragePlayers());
 
         task("3.\t\"Неудачники\" – игроки, у которых ≥3 раза выпала 1.");
-        System.out.println(dta.getTheLosers());
+        System.out.println(report.getTheLosers());
 
         task("4.\t\"Везунчики\" – игроки, у которых ≥4 раза выпала 6.");
-        System.out.println(dta.getTheLucky());
+        System.out.println(report.getTheLucky());
 
         task("5.\tГруппировка игроков по фишкам (>1000, 500-1000, <500).");
-        System.out.println(dta.getPlayersGroupedByChips());
+        System.out.println(report.getPlayersGroupedByChips());
 
         task("6.\t\"Стабильные кости\" – у которых ≥8 из 10 бросков ≥4.");
-        System.out.println(dta.getStablePlayerList());
+        System.out.println(report.getStablePlayerList());
 
         task("7.\t\"Рисковые игроки\" – у которых ≥2 раза подряд выпадала 1.");
-        System.out.println(dta.getRiskyPlayerList());
+        System.out.println(report.getRiskyPlayerList());
 
         task("8.\t\"Сбалансированные кости\" – все числа от 1 до 6 выпали хотя бы раз.");
-        System.out.println(dta.getBalancedDicePlayerList());
+        System.out.println(report.getBalancedDicePlayerList());
 
         task("9.\t\"Индекс удачи\" = (сумма бросков) / (6 × 10) × chips.");
-        System.out.println(dta.getLuckIndex());
+        System.out.println(report.getLuckIndex());
 
         task("10.\tИгрок с наибольшей дисперсией.");
-        System.out.println(dta.getMaxMathVariancePlayer());
+        System.out.println(report.getMaxMathVariancePlayer());
 
     }
 
@@ -0,0 +1,111 @@
+package org.example;
+
+/**
+ * Игрок, все данные которого лежат в {@link OffHeapRollStore}. Объект хранит лишь ссылку
+ * на хранилище и номер строки, поэтому его можно создавать по требованию: броски пишутся
+ * и читаются прямо в памяти вне кучи. Броски одного игрока должен записывать один поток.
+ */
+public class OffHeapPlayer {
+
+    private static final int CHUNK_SIZE = 4096;
+    private static final ThreadLocal<byte[]> CHUNK = ThreadLocal.withInitial(() -> new byte[CHUNK_SIZE]);
+
+    private final OffHeapRollStore store;
+    private final int row;
+
+    OffHeapPlayer(OffHeapRollStore store, int row) {
+        this.store = store;
+        this.row = row;
+    }
+
+    /**
+     * @return возвращает номер строки игрока в хранилище.
+     */
+    public int getRow() {
+        return row;
+    }
+
+    public String getName() {
+        return store.name(row);
+    }
+
+    public int getChips() {
+        return store.chips(row);
+    }
+
+    public void setChips(int chips) {
+        store.setChips(row, chips);
+    }
+
+    /**
+     * @param dice кость, принадлежащая вызывающему потоку.
+     */
+    public void throwDice(Dice dice) {
+        store.record(row, dice.throwMe());
+        TournamentMetrics.recordPlayerThrow();
+    }
+
+    /**
+     * Выполняет n бросков порциями до {@value #CHUNK_SIZE}: каждая порция бросается одним
+     * обращением к кости в буфер потока и одной записью переносится в хранилище, поэтому
+     * серия бросков не создаёт массивов в куче.
+     * @param dice кость, принадлежащая вызывающему потоку.
+     * @param n количество бросков.
+     */
+    public void throwDice(Dice dice, int n) {
+
+        if (n < 0) {
+            throw new IllegalArgumentException("Количество бросков не может быть отрицательным: " + n);
+        }
+        byte[] faces = CHUNK.get();
+        for (int thrown = 0; thrown < n; ) {
+            int chunk = Math.min(n - thrown, faces.length);
+            dice.throwMe(chunk, faces);
+            store.recordAll(row, faces, 0, chunk);
+            thrown += chunk;
+        }
+        TournamentMetrics.recordPlayerThrows(n);
+
+    }
+
+    /**
+     * Дописывает в историю уже сделанные броски, например при загрузке турнира.
+     * @param faces значения кубика, от 1 до 6.
+     */
+    public void recordAll(byte[] faces, int offset, int length) {
+        store.recordAll(row, faces, offset, length);
+    }
+
+    public int getRollCount() {
+        return store.rollCount(row);
+    }
+
+    /**
+     * @param index номер броска, начиная с 0.
+     * @return возвращает значение кубика в указанном броске.
+     */
+    public int getRoll(int index) {
+        return store.roll(row, index);
+    }
+
+    /**
+     * @return возвращает статистику бросков, прочитанную из хранилища за O(1).
+     */
+    public RollStats getStats() {
+        return store.stats(row);
+    }
+
+    /**
+     * @return возвращает обычного игрока, который копирует историю в кучу при первом
+     * обращении к ней (см. {@link OffHeapRollStore#player(int)}).
+     */
+    public Player toPlayer() {
+        return store.player(row);
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+
+}
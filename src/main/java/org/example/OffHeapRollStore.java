@@ -0,0 +1,443 @@
+package org.example;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Хранилище турнира вне кучи: имена, фишки, статистика и броски всех игроков лежат в одном
+ * {@link MemorySegment}, поэтому даже сотни миллионов игроков по тысяче бросков не нагружают
+ * сборщик мусора. Память выделяется в {@link Arena} сразу на заданное количество игроков
+ * и раундов и освобождается явным вызовом {@link #close()}; после закрытия любое обращение
+ * к хранилищу завершается IllegalStateException.
+ * <p>
+ * Сегмент может быть отображением файла ({@link #create(Path, int, int)}, {@link #open(Path)}),
+ * тогда турнир переживает перезапуск процесса.
+ * <pre>
+ * Заголовок (32 байта): int 'DOHS', int версия, int вместимость, int раундов,
+ *                       int байт на имя, int игроков, 8 байт резерв.
+ * Игроки (по {@link #entrySize(int)} байт): int фишки, int длина имени,
+ *         int[6] количество выпадений граней, int текущая серия единиц,
+ *         int самая длинная серия единиц, int количество бросков, имя в UTF-8.
+ * Броски: по {@code раундов} байт на игрока, значения 1-6.
+ * </pre>
+ * Все числа записываются в порядке big-endian.
+ * <p>
+ * Игроков добавляют методом {@link #addPlayer(String, int)} (потокобезопасно), а броски
+ * записывают через {@link OffHeapPlayer}; в каждую строку должен писать один поток, разные
+ * строки можно заполнять параллельно. {@link DiceTournamentAnalyzer} работает с хранилищем
+ * как с {@link RollTable}: статистика хранится рядом с бросками и читается за O(1).
+ * Игроки в результатах анализа ({@link #player(int)}) не копируют историю в кучу, пока к ней
+ * не обратятся, а запросы с буфером результата ({@link DiceTournamentAnalyzer#getLuckIndex(double[])}
+ * и т.п.) читают счётчики прямо из сегмента, ничего не выделяя.
+ */
+public class OffHeapRollStore implements RollTable, AutoCloseable {
+
+    public static final int DEFAULT_NAME_BYTES = 64;
+
+    static final int MAGIC = 0x444F4853;  // 'DOHS'
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT.withOrder(ByteOrder.BIG_ENDIAN);
+
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int ROUNDS_OFFSET = 12;
+    private static final int NAME_BYTES_OFFSET = 16;
+    private static final int SIZE_OFFSET = 20;
+
+    private static final int CHIPS = 0;
+    private static final int NAME_LENGTH = 4;
+    private static final int FACE_COUNTS = 8;
+    private static final int CURRENT_ONE_RUN = 32;
+    private static final int LONGEST_ONE_RUN = 36;
+    private static final int ROLL_COUNT = 40;
+    private static final int NAME = 44;
+
+    private final Arena arena;
+    private final FileChannel channel;  // null, если сегмент не связан с файлом
+    private final MemorySegment segment;
+    private final int capacity;
+    private final int rounds;
+    private final int nameBytes;
+    private final int entrySize;
+    private final long rollsStart;
+    private volatile int size;
+    // Игроки, созданные для результатов анализа; сбрасываются при изменении строки.
+    private final PlayerCache players = new PlayerCache();
+
+    private OffHeapRollStore(Arena arena, FileChannel channel, MemorySegment segment) {
+
+        this.arena = arena;
+        this.channel = channel;
+        this.segment = segment;
+        this.capacity = segment.get(INT, CAPACITY_OFFSET);
+        this.rounds = segment.get(INT, ROUNDS_OFFSET);
+        this.nameBytes = segment.get(INT, NAME_BYTES_OFFSET);
+        this.size = segment.get(INT, SIZE_OFFSET);
+        this.entrySize = entrySize(nameBytes);
+        this.rollsStart = HEADER_SIZE + (long) capacity * entrySize;
+
+    }
+
+    /**
+     * @param capacity сколько игроков может быть в хранилище.
+     * @param rounds сколько бросков может сделать каждый игрок.
+     * @return возвращает хранилище в памяти вне кучи, именем игрока до {@value #DEFAULT_NAME_BYTES} байт.
+     */
+    public static OffHeapRollStore allocate(int capacity, int rounds) {
+        return allocate(capacity, rounds, DEFAULT_NAME_BYTES);
+    }
+
+    /**
+     * @param capacity сколько игроков может быть в хранилище.
+     * @param rounds сколько бросков может сделать каждый игрок.
+     * @param nameBytes наибольшая длина имени в байтах UTF-8.
+     * @return возвращает хранилище в памяти вне кучи.
+     */
+    public static OffHeapRollStore allocate(int capacity, int rounds, int nameBytes) {
+
+        long byteSize = byteSize(capacity, rounds, nameBytes);
+        Arena arena = Arena.ofShared();
+        MemorySegment segment = arena.allocate(byteSize, Long.BYTES);  // память уже заполнена нулями
+        writeHeader(segment, capacity, rounds, nameBytes);
+        return new OffHeapRollStore(arena, null, segment);
+
+    }
+
+    /**
+     * @param path файл хранилища; существующий файл перезаписывается.
+     * @param capacity сколько игроков может быть в хранилище.
+     * @param rounds сколько бросков может сделать каждый игрок.
+     * @return возвращает пустое хранилище, отображённое на файл.
+     */
+    public static OffHeapRollStore create(Path path, int capacity, int rounds) throws IOException {
+
+        long byteSize = byteSize(capacity, rounds, DEFAULT_NAME_BYTES);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Arena arena = Arena.ofShared();
+        try {
+            // Отображение расширяет пустой файл до нужного размера и заполняет его нулями.
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, byteSize, arena);
+            writeHeader(segment, capacity, rounds, DEFAULT_NAME_BYTES);
+            return new OffHeapRollStore(arena, channel, segment);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            channel.close();
+            throw e;
+        }
+
+    }
+
+    /**
+     * @param path файл, созданный {@link #create(Path, int, int)}.
+     * @return возвращает хранилище, отображённое на файл; в него можно дописывать броски.
+     */
+    public static OffHeapRollStore open(Path path) throws IOException {
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Arena arena = Arena.ofShared();
+        try {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("Файл слишком мал для хранилища бросков");
+            }
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize, arena);
+            if (segment.get(INT, 0) != MAGIC) {
+                throw new IOException("Файл не является хранилищем бросков");
+            }
+            if (segment.get(INT, 4) != VERSION) {
+                throw new IOException("Неподдерживаемая версия хранилища: " + segment.get(INT, 4));
+            }
+            int capacity = segment.get(INT, CAPACITY_OFFSET);
+            int size = segment.get(INT, SIZE_OFFSET);
+            if (capacity < 0 || size < 0 || size > capacity || fileSize != byteSize(capacity,
+                    segment.get(INT, ROUNDS_OFFSET), segment.get(INT, NAME_BYTES_OFFSET))) {
+                throw new IOException("Размер файла не соответствует заголовку хранилища");
+            }
+            return new OffHeapRollStore(arena, channel, segment);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            channel.close();
+            throw e;
+        }
+
+    }
+
+    /**
+     * Добавляет игрока без бросков.
+     * @return возвращает игрока, через которого записываются его броски.
+     */
+    public synchronized OffHeapPlayer addPlayer(String name, int chips) {
+
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > nameBytes) {
+            throw new IllegalArgumentException("Имя длиннее " + nameBytes + " байт: " + name);
+        }
+        int row = size;
+        if (row == capacity) {
+            throw new IllegalStateException("В хранилище нет места для игрока: вместимость " + capacity);
+        }
+
+        long entry = HEADER_SIZE + (long) row * entrySize;
+        segment.set(INT, entry + CHIPS, chips);
+        segment.set(INT, entry + NAME_LENGTH, bytes.length);
+        MemorySegment.copy(bytes, 0, segment, ValueLayout.JAVA_BYTE, entry + NAME, bytes.length);
+        segment.set(INT, SIZE_OFFSET, row + 1);
+        size = row + 1;
+        return new OffHeapPlayer(this, row);
+
+    }
+
+    /**
+     * @param row номер игрока.
+     * @return возвращает игрока для записи и чтения бросков без копирования в кучу.
+     */
+    public OffHeapPlayer get(int row) {
+        checkRow(row);
+        return new OffHeapPlayer(this, row);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return возвращает наибольшее количество бросков одного игрока.
+     */
+    public int rounds() {
+        return rounds;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String name(int row) {
+        long entry = entry(row);
+        byte[] bytes = new byte[segment.get(INT, entry + NAME_LENGTH)];
+        MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, entry + NAME, bytes, 0, bytes.length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int chips(int row) {
+        return segment.get(INT, entry(row) + CHIPS);
+    }
+
+    @Override
+    public int rollCount(int row) {
+        return segment.get(INT, entry(row) + ROLL_COUNT);
+    }
+
+    @Override
+    public int roll(int row, int index) {
+        int count = rollCount(row);
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+        return segment.get(ValueLayout.JAVA_BYTE, rolls(row) + index);
+    }
+
+    /**
+     * Статистика хранится рядом с бросками и обновляется при записи, поэтому не требует прохода по истории.
+     */
+    @Override
+    public RollStats stats(int row) {
+
+        long entry = entry(row);
+        RollStats stats = RollStats.restore(
+                segment.get(INT, entry + CURRENT_ONE_RUN), segment.get(INT, entry + LONGEST_ONE_RUN));
+        for (int face = 1; face <= 6; face++) {
+            stats.restoreFace(face, faceCount(entry, face));
+        }
+        return stats;
+
+    }
+
+    /**
+     * Сумма считается по счётчикам граней прямо в сегменте, без создания {@link RollStats}.
+     */
+    @Override
+    public long sum(int row) {
+
+        long entry = entry(row);
+        long sum = 0;
+        for (int face = 1; face <= 6; face++) {
+            sum += (long) face * faceCount(entry, face);
+        }
+        return sum;
+
+    }
+
+    @Override
+    public void rolls(int row, byte[] out, int offset) {
+        MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, rolls(row), out, offset, rollCount(row));
+    }
+
+    /**
+     * Игрок создаётся при первом обращении и переиспользуется, пока на него есть ссылки
+     * и строка не изменится. История копируется в кучу только при обращении к броскам
+     * или статистике самого игрока (см. {@link Player#lazy(RollTable, int)}), поэтому
+     * запросы с Map и отчёт не переносят броски в кучу.
+     */
+    @Override
+    public Player player(int row) {
+        checkRow(row);
+        return players.get(row, i -> Player.lazy(this, i));
+    }
+
+    /**
+     * Записывает изменения файлового хранилища на диск.
+     */
+    public void force() {
+        if (channel != null) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Освобождает память (или отображение файла). Повторный вызов ничего не делает.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+
+        if (!arena.scope().isAlive()) {
+            return;
+        }
+        arena.close();
+        if (channel != null) {
+            channel.close();
+        }
+
+    }
+
+    void setChips(int row, int chips) {
+        segment.set(INT, entry(row) + CHIPS, chips);
+        invalidate(row);
+    }
+
+    /**
+     * Дописывает бросок в историю игрока и обновляет его статистику.
+     * @param face значение кубика, от 1 до 6.
+     */
+    void record(int row, int face) {
+
+        if (face < 1 || face > 6) {
+            throw new IllegalArgumentException("Значение кубика должно быть от 1 до 6: " + face);
+        }
+        long entry = entry(row);
+        int count = segment.get(INT, entry + ROLL_COUNT);
+        if (count == rounds) {
+            throw new IllegalStateException("У игрока " + name(row) + " не осталось места для броска: вместимость " + rounds);
+        }
+
+        segment.set(ValueLayout.JAVA_BYTE, rolls(row) + count, (byte) face);
+        long faceCount = entry + FACE_COUNTS + (long) (face - 1) * Integer.BYTES;
+        segment.set(INT, faceCount, segment.get(INT, faceCount) + 1);
+        int currentOneRun = face == 1 ? segment.get(INT, entry + CURRENT_ONE_RUN) + 1 : 0;
+        segment.set(INT, entry + CURRENT_ONE_RUN, currentOneRun);
+        if (currentOneRun > segment.get(INT, entry + LONGEST_ONE_RUN)) {
+            segment.set(INT, entry + LONGEST_ONE_RUN, currentOneRun);
+        }
+        segment.set(INT, entry + ROLL_COUNT, count + 1);
+        invalidate(row);
+
+    }
+
+    /**
+     * Дописывает броски в историю игрока и обновляет его статистику.
+     * @param faces значения кубика, от 1 до 6.
+     */
+    void recordAll(int row, byte[] faces, int offset, int length) {
+
+        long entry = entry(row);
+        int count = segment.get(INT, entry + ROLL_COUNT);
+        if (length > rounds - count) {
+            throw new IllegalStateException("У игрока " + name(row) + " не осталось места для "
+                    + length + " бросков: вместимость " + rounds);
+        }
+
+        int[] faceCounts = new int[6];
+        int currentOneRun = segment.get(INT, entry + CURRENT_ONE_RUN);
+        int longestOneRun = segment.get(INT, entry + LONGEST_ONE_RUN);
+        for (int i = offset; i < offset + length; i++) {
+            int face = faces[i];
+            if (face < 1 || face > 6) {
+                throw new IllegalArgumentException("Значение кубика должно быть от 1 до 6: " + face);
+            }
+            faceCounts[face - 1]++;
+            currentOneRun = face == 1 ? currentOneRun + 1 : 0;
+            longestOneRun = Math.max(longestOneRun, currentOneRun);
+        }
+
+        MemorySegment.copy(faces, offset, segment, ValueLayout.JAVA_BYTE, rolls(row) + count, length);
+        for (int face = 0; face < 6; face++) {
+            long position = entry + FACE_COUNTS + (long) face * Integer.BYTES;
+            segment.set(INT, position, segment.get(INT, position) + faceCounts[face]);
+        }
+        segment.set(INT, entry + CURRENT_ONE_RUN, currentOneRun);
+        segment.set(INT, entry + LONGEST_ONE_RUN, longestOneRun);
+        segment.set(INT, entry + ROLL_COUNT, count + length);
+        invalidate(row);
+
+    }
+
+    /**
+     * @return возвращает размер записи одного игрока, выровненный до 8 байт.
+     */
+    static int entrySize(int nameBytes) {
+        return (NAME + nameBytes + Long.BYTES - 1) & -Long.BYTES;
+    }
+
+    private static long byteSize(int capacity, int rounds, int nameBytes) {
+        if (capacity < 0 || rounds < 0 || nameBytes < 0) {
+            throw new IllegalArgumentException("Размеры хранилища не могут быть отрицательными: "
+                    + capacity + ", " + rounds + ", " + nameBytes);
+        }
+        return HEADER_SIZE + (long) capacity * entrySize(nameBytes) + (long) capacity * rounds;
+    }
+
+    private static void writeHeader(MemorySegment segment, int capacity, int rounds, int nameBytes) {
+        segment.set(INT, 0, MAGIC);
+        segment.set(INT, 4, VERSION);
+        segment.set(INT, CAPACITY_OFFSET, capacity);
+        segment.set(INT, ROUNDS_OFFSET, rounds);
+        segment.set(INT, NAME_BYTES_OFFSET, nameBytes);
+        segment.set(INT, SIZE_OFFSET, 0);
+    }
+
+    private void invalidate(int row) {
+        players.invalidate(row);
+    }
+
+    private int faceCount(long entry, int face) {
+        return segment.get(INT, entry + FACE_COUNTS + (long) (face - 1) * Integer.BYTES);
+    }
+
+    private long entry(int row) {
+        checkRow(row);
+        return HEADER_SIZE + (long) row * entrySize;
+    }
+
+    private long rolls(int row) {
+        return rollsStart + (long) row * rounds;
+    }
+
+    private void checkRow(int row) {
+        int size = this.size;
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + size);
+        }
+    }
+
+}
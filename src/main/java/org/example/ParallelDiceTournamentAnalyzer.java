@@ -0,0 +1,126 @@
+package org.example;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Параллельный вариант {@link DiceTournamentAnalyzer} для больших списков игроков.
+ * Список делится на части, которые обрабатываются в заданном ForkJoinPool, а частичные
+ * результаты объединяются с сохранением порядка исходного списка. Результаты совпадают
+ * с результатами последовательного анализатора.
+ */
+public class ParallelDiceTournamentAnalyzer extends DiceTournamentAnalyzer {
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Анализатор, использующий общий ForkJoinPool.
+     */
+    public ParallelDiceTournamentAnalyzer(List<Player> list) {
+        this(list, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param list список игроков.
+     * @param pool пул потоков, в котором выполняется анализ.
+     */
+    public ParallelDiceTournamentAnalyzer(List<Player> list, ForkJoinPool pool) {
+        super(list);
+        this.pool = pool;
+    }
+
+    /**
+     * @param table табличное представление турнира.
+     * @param pool пул потоков, в котором выполняется анализ.
+     */
+    public ParallelDiceTournamentAnalyzer(RollTable table, ForkJoinPool pool) {
+        super(table);
+        this.pool = pool;
+    }
+
+    @Override
+    protected Map<ChipCategory, List<Player>> groupByChips() {
+
+        if (chipIndex != null) {
+            return chipIndex.asMap();
+        }
+
+        return pool.submit(() ->
+                rows()
+                        .collect(
+                                () -> {
+                                    Map<ChipCategory, List<Player>> part = new LinkedHashMap<>();
+                                    for (ChipCategory category : ChipCategory.values()) {
+                                        part.put(category, new ArrayList<>());
+                                    }
+                                    return part;
+                                },
+                                (part, row) -> part.get(chipThresholds().categoryOf(table.chips(row))).add(table.player(row)),
+                                (left, right) -> left.forEach((category, players) -> players.addAll(right.get(category)))
+                        )
+        ).join();
+
+    }
+
+    @Override
+    protected List<Player> select(IntPredicate predicate) {
+        return pool.submit(() ->
+                rows()
+                        .filter(predicate)
+                        .mapToObj(table::player)
+                        .toList()
+        ).join();
+    }
+
+    @Override
+    protected Map<Player, Double> scoreMap(IntToDoubleFunction metric) {
+        return pool.submit(() ->
+                rows()
+                        .boxed()
+                        .collect(Collectors.toMap(
+                                table::player,
+                                metric::applyAsDouble
+                        ))
+        ).join();
+    }
+
+    @Override
+    protected Player maxBy(IntToDoubleFunction metric) {
+        return pool.submit(() ->
+                rows()
+                        .reduce((best, row) -> metric.applyAsDouble(row) > metric.applyAsDouble(best) ? row : best)
+                        .stream()
+                        .mapToObj(table::player)
+                        .findFirst()
+                        .orElse(null)
+        ).join();
+    }
+
+    /**
+     * Каждая часть списка отбирает своих k лучших в ограниченной куче, после чего кучи объединяются.
+     */
+    @Override
+    protected List<Player> topK(int k, IntToDoubleFunction metric) {
+
+        TopK<Integer> top = pool.submit(() ->
+                rows()
+                        .collect(() -> new TopK<Integer>(k),
+                                (heap, row) -> heap.offer(row, metric.applyAsDouble(row)),
+                                TopK::merge)
+        ).join();
+
+        return top.toList().stream()
+                .map(table::player)
+                .toList();
+
+    }
+
+    private IntStream rows() {
+        return IntStream.range(0, table.size()).parallel();
+    }
+
+}
@@ -0,0 +1,409 @@
+package org.example;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import org.example.DiceTournamentAnalyzer.ChipCategory;
+
+/**
+ * Частичный отчёт по части турнира (шарду), который можно сериализовать и объединить
+ * с отчётами других шардов. Содержит суммарные показатели (игроки, броски, сумма,
+ * гистограмма граней), три лучших игрока по среднему, кандидата с наибольшей дисперсией
+ * и состав всех категорий {@link DiceTournamentAnalyzer}. Игроки представлены ссылками
+ * {@link PlayerRef} с глобальным номером строки, поэтому объединение шардов в любом порядке
+ * даёт те же результаты и в том же порядке, что и анализ всего турнира на одном узле.
+ * Поигровые Map (средние и "индексы удачи") в отчёт не входят: их размер равен размеру
+ * турнира, и они читаются из шардов напрямую.
+ */
+public final class PartialReport {
+
+    private static final int MAGIC = 0x44505254;  // 'DPRT'
+    private static final int VERSION = 1;
+    private static final int TOP_SIZE = 3;
+
+    /**
+     * @param row номер игрока во всём турнире.
+     */
+    public record PlayerRef(long row, String name, int chips) {}
+
+    /**
+     * Игрок с показателем: кандидат в тройку лучших или в игроки с наибольшей дисперсией.
+     */
+    public record Scored(PlayerRef player, double score) {}
+
+    private final long players;
+    private final long rolls;
+    private final long sum;
+    private final long[] faceCounts;
+    private final List<Scored> topThreeAverage;  // от лучшего к худшему
+    private final Scored maxVariance;            // null, если игроков нет
+    private final List<PlayerRef> losers;
+    private final List<PlayerRef> lucky;
+    private final List<PlayerRef> stable;
+    private final List<PlayerRef> risky;
+    private final List<PlayerRef> balanced;
+    private final Map<ChipCategory, List<PlayerRef>> groupedByChips;
+
+    private PartialReport(long players, long rolls, long sum, long[] faceCounts, List<Scored> topThreeAverage,
+                          Scored maxVariance, List<PlayerRef> losers, List<PlayerRef> lucky, List<PlayerRef> stable,
+                          List<PlayerRef> risky, List<PlayerRef> balanced, Map<ChipCategory, List<PlayerRef>> groupedByChips) {
+        this.players = players;
+        this.rolls = rolls;
+        this.sum = sum;
+        this.faceCounts = faceCounts;
+        this.topThreeAverage = List.copyOf(topThreeAverage);
+        this.maxVariance = maxVariance;
+        this.losers = List.copyOf(losers);
+        this.lucky = List.copyOf(lucky);
+        this.stable = List.copyOf(stable);
+        this.risky = List.copyOf(risky);
+        this.balanced = List.copyOf(balanced);
+        Map<ChipCategory, List<PlayerRef>> groups = new EnumMap<>(ChipCategory.class);
+        for (ChipCategory category : ChipCategory.values()) {
+            groups.put(category, List.copyOf(groupedByChips.getOrDefault(category, List.of())));
+        }
+        this.groupedByChips = Collections.unmodifiableMap(groups);
+    }
+
+    /**
+     * @param table турнир целиком.
+     * @return возвращает отчёт по всему турниру.
+     */
+    public static PartialReport of(RollTable table) {
+        return of(table, 0);
+    }
+
+    /**
+     * Собирает отчёт по строкам таблицы: суммарные показатели, тройка лучших и группы по фишкам
+     * считаются за один проход, категории игроков проверяются правилами {@link RuleSet#STANDARD}.
+     * @param table шард турнира.
+     * @param firstRow номер первой строки шарда во всём турнире.
+     * @return возвращает частичный отчёт шарда.
+     */
+    public static PartialReport of(RollTable table, long firstRow) {
+
+        long rolls = 0;
+        long sum = 0;
+        long[] faceCounts = new long[6];
+        TopK<PlayerRef> top = new TopK<>(TOP_SIZE);  // строки предлагаются по порядку: при равенстве выше меньший номер
+        Scored maxVariance = null;
+        PlayerRef[] players = new PlayerRef[table.size()];
+        Map<ChipCategory, List<PlayerRef>> groups = new EnumMap<>(ChipCategory.class);
+        for (ChipCategory category : ChipCategory.values()) {
+            groups.put(category, new ArrayList<>());
+        }
+
+        for (int row = 0; row < table.size(); row++) {
+
+            RollStats stats = table.stats(row);
+            PlayerRef player = new PlayerRef(firstRow + row, table.name(row), table.chips(row));
+            players[row] = player;
+
+            rolls += stats.getCount();
+            sum += stats.getSum();
+            for (int face = 1; face <= 6; face++) {
+                faceCounts[face - 1] += stats.getFaceCount(face);
+            }
+
+            top.offer(player, stats.getAverage());
+            double variance = stats.getVariance();
+            if (maxVariance == null || variance > maxVariance.score()) {
+                maxVariance = new Scored(player, variance);
+            }
+            groups.get(ChipCategory.of(player.chips())).add(player);
+
+        }
+
+        // Списки категорий в порядке правил RuleSet.STANDARD: losers, lucky, stable, risky, balanced.
+        List<List<PlayerRef>> categories = new ArrayList<>();
+        for (int i = 0; i < RuleSet.STANDARD.getRules().size(); i++) {
+            categories.add(new ArrayList<>());
+        }
+        RuleSet.STANDARD.forEachMatch(table, (row, rule) -> categories.get(rule).add(players[row]));
+
+        List<Scored> topThree = top.toList().stream()
+                .map(player -> new Scored(player, table.stats((int) (player.row() - firstRow)).getAverage()))
+                .toList();
+        return new PartialReport(table.size(), rolls, sum, faceCounts, topThree, maxVariance,
+                categories.get(0), categories.get(1), categories.get(2), categories.get(3), categories.get(4), groups);
+
+    }
+
+    /**
+     * Объединяет отчёты двух непересекающихся шардов. Операция ассоциативна и коммутативна.
+     * @param other отчёт другого шарда.
+     * @return возвращает отчёт по обоим шардам.
+     */
+    public PartialReport merge(PartialReport other) {
+
+        long[] faces = new long[6];
+        for (int i = 0; i < 6; i++) {
+            faces[i] = faceCounts[i] + other.faceCounts[i];
+        }
+
+        Scored variance = maxVariance;
+        if (variance == null || other.maxVariance != null && isBetter(other.maxVariance, variance)) {
+            variance = other.maxVariance;
+        }
+
+        Map<ChipCategory, List<PlayerRef>> groups = new EnumMap<>(ChipCategory.class);
+        for (ChipCategory category : ChipCategory.values()) {
+            groups.put(category, mergeByRow(groupedByChips.get(category), other.groupedByChips.get(category)));
+        }
+
+        return new PartialReport(players + other.players, rolls + other.rolls, sum + other.sum, faces,
+                best(topThreeAverage, other.topThreeAverage), variance,
+                mergeByRow(losers, other.losers), mergeByRow(lucky, other.lucky), mergeByRow(stable, other.stable),
+                mergeByRow(risky, other.risky), mergeByRow(balanced, other.balanced), groups);
+
+    }
+
+    public long getPlayers() {
+        return players;
+    }
+
+    public long getRolls() {
+        return rolls;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * @return возвращает количество выпадений указанного значения во всех бросках шарда.
+     */
+    public long getFaceCount(int face) {
+        return faceCounts[face - 1];
+    }
+
+    /**
+     * @return возвращает среднее значение всех бросков шарда или 0.0, если бросков не было.
+     */
+    public double getAverage() {
+        return rolls == 0 ? 0.0 : (double) sum / rolls;
+    }
+
+    /**
+     * @return см. {@link DiceTournamentAnalyzer#getTopThreeAveragePlayers()}.
+     */
+    public List<PlayerRef> getTopThreeAveragePlayers() {
+        return topThreeAverage.stream().map(Scored::player).toList();
+    }
+
+    /**
+     * @return см. {@link DiceTournamentAnalyzer#getMaxMathVariancePlayer()}.
+     */
+    public PlayerRef getMaxMathVariancePlayer() {
+        return maxVariance == null ? null : maxVariance.player();
+    }
+
+    /**
+     * @return см. {@link DiceTournamentAnalyzer#getTheLosers()}.
+     */
+    public List<PlayerRef> getTheLosers() {
+        return losers;
+    }
+
+    /**
+     * @return см. {@link DiceTournamentAnalyzer#getTheLucky()}.
+     */
+    public List<PlayerRef> getTheLucky() {
+        return lucky;
+    }
+
+    /**
+     * @return см. {@link DiceTournamentAnalyzer#getStablePlayerList()}.
+     */
+    public List<PlayerRef> getStablePlayerList() {
+        return stable;
+    }
+
+    /**
+     * @return см. {@link DiceTournamentAnalyzer#getRiskyPlayerList()}.
+     */
+    public List<PlayerRef> getRiskyPlayerList() {
+        return risky;
+    }
+
+    /**
+     * @return см. {@link DiceTournamentAnalyzer#getBalancedDicePlayerList()}.
+     */
+    public List<PlayerRef> getBalancedDicePlayerList() {
+        return balanced;
+    }
+
+    /**
+     * @return см. {@link DiceTournamentAnalyzer#getPlayersGroupedByChips()}.
+     */
+    public Map<ChipCategory, List<PlayerRef>> getPlayersGroupedByChips() {
+        return groupedByChips;
+    }
+
+    /**
+     * Записывает отчёт в двоичном виде; читается методом {@link #readFrom(DataInput)}.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(players);
+        out.writeLong(rolls);
+        out.writeLong(sum);
+        for (long count : faceCounts) {
+            out.writeLong(count);
+        }
+        writeScored(out, topThreeAverage);
+        writeScored(out, maxVariance == null ? List.of() : List.of(maxVariance));
+        writePlayers(out, losers);
+        writePlayers(out, lucky);
+        writePlayers(out, stable);
+        writePlayers(out, risky);
+        writePlayers(out, balanced);
+        for (ChipCategory category : ChipCategory.values()) {
+            writePlayers(out, groupedByChips.get(category));
+        }
+
+    }
+
+    /**
+     * @return возвращает отчёт, записанный методом {@link #writeTo(DataOutput)}.
+     */
+    public static PartialReport readFrom(DataInput in) throws IOException {
+
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Данные не являются частичным отчётом турнира");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Неподдерживаемая версия частичного отчёта: " + version);
+        }
+
+        long players = in.readLong();
+        long rolls = in.readLong();
+        long sum = in.readLong();
+        long[] faceCounts = new long[6];
+        for (int i = 0; i < 6; i++) {
+            faceCounts[i] = in.readLong();
+        }
+        List<Scored> top = readScored(in);
+        List<Scored> variance = readScored(in);
+        List<PlayerRef> losers = readPlayers(in);
+        List<PlayerRef> lucky = readPlayers(in);
+        List<PlayerRef> stable = readPlayers(in);
+        List<PlayerRef> risky = readPlayers(in);
+        List<PlayerRef> balanced = readPlayers(in);
+        Map<ChipCategory, List<PlayerRef>> groups = new EnumMap<>(ChipCategory.class);
+        for (ChipCategory category : ChipCategory.values()) {
+            groups.put(category, readPlayers(in));
+        }
+
+        return new PartialReport(players, rolls, sum, faceCounts, top, variance.isEmpty() ? null : variance.get(0),
+                losers, lucky, stable, risky, balanced, groups);
+
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PartialReport that)) return false;
+        return players == that.players && rolls == that.rolls && sum == that.sum
+                && Arrays.equals(faceCounts, that.faceCounts)
+                && topThreeAverage.equals(that.topThreeAverage)
+                && Objects.equals(maxVariance, that.maxVariance)
+                && losers.equals(that.losers) && lucky.equals(that.lucky) && stable.equals(that.stable)
+                && risky.equals(that.risky) && balanced.equals(that.balanced)
+                && groupedByChips.equals(that.groupedByChips);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(players, rolls, sum, Arrays.hashCode(faceCounts), topThreeAverage, maxVariance,
+                losers, lucky, stable, risky, balanced, groupedByChips);
+    }
+
+    /**
+     * @return возвращает не более трёх лучших из двух списков; при равном среднем выше
+     * игрок с меньшим номером строки, как в анализе на одном узле.
+     */
+    private static List<Scored> best(List<Scored> left, List<Scored> right) {
+        List<Scored> all = new ArrayList<>(left.size() + right.size());
+        all.addAll(left);
+        all.addAll(right);
+        all.sort((a, b) -> isBetter(a, b) ? -1 : isBetter(b, a) ? 1 : 0);
+        return all.size() > TOP_SIZE ? new ArrayList<>(all.subList(0, TOP_SIZE)) : all;
+    }
+
+    private static boolean isBetter(Scored a, Scored b) {
+        return a.score() > b.score() || a.score() == b.score() && a.player().row() < b.player().row();
+    }
+
+    private static List<PlayerRef> mergeByRow(List<PlayerRef> left, List<PlayerRef> right) {
+
+        List<PlayerRef> result = new ArrayList<>(left.size() + right.size());
+        int i = 0;
+        int j = 0;
+        while (i < left.size() || j < right.size()) {
+            if (j == right.size() || i < left.size() && left.get(i).row() < right.get(j).row()) {
+                result.add(left.get(i++));
+            } else {
+                result.add(right.get(j++));
+            }
+        }
+        return result;
+
+    }
+
+    private static void writePlayers(DataOutput out, List<PlayerRef> players) throws IOException {
+        out.writeInt(players.size());
+        for (PlayerRef player : players) {
+            writePlayer(out, player);
+        }
+    }
+
+    private static void writeScored(DataOutput out, List<Scored> scored) throws IOException {
+        out.writeInt(scored.size());
+        for (Scored entry : scored) {
+            writePlayer(out, entry.player());
+            out.writeDouble(entry.score());
+        }
+    }
+
+    private static void writePlayer(DataOutput out, PlayerRef player) throws IOException {
+        byte[] name = player.name().getBytes(StandardCharsets.UTF_8);
+        out.writeLong(player.row());
+        out.writeInt(player.chips());
+        out.writeInt(name.length);
+        out.write(name);
+    }
+
+    private static List<PlayerRef> readPlayers(DataInput in) throws IOException {
+        int size = in.readInt();
+        List<PlayerRef> players = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            players.add(readPlayer(in));
+        }
+        return players;
+    }
+
+    private static List<Scored> readScored(DataInput in) throws IOException {
+        int size = in.readInt();
+        List<Scored> scored = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            scored.add(new Scored(readPlayer(in), in.readDouble()));
+        }
+        return scored;
+    }
+
+    private static PlayerRef readPlayer(DataInput in) throws IOException {
+        long row = in.readLong();
+        int chips = in.readInt();
+        byte[] name = new byte[in.readInt()];
+        in.readFully(name);
+        return new PlayerRef(row, new String(name, StandardCharsets.UTF_8), chips);
+    }
+
+}
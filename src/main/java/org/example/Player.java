@@ -1,13 +1,22 @@
 package org.example;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Player {
     private final String name;
     private final Dice dice;
-    private final int chips;  // количество фишек
-    private final List<Integer> rollsHistory = new ArrayList<>();
+    private int chips;  // количество фишек
+    private final RollHistory rolls = new RollHistory();
+    private final RollStats stats = new RollStats();  // обновляется при каждом броске
+    private long version;  // увеличивается при каждом изменении игрока
+    private RollWindow window;  // последние броски, если окно включено через trackWindow()
+    private List<Integer> rollsHistory;  // создаётся лениво, см. getRollsHistory()
+    private volatile List<ChipsListener> chipsListeners;  // создаётся при первой подписке
+    private RollTable source;  // таблица, из которой история копируется при первом обращении, см. lazy()
+    private int sourceRow;
 
     public Player(String name, Dice dice, int chips) {
         this.name = name;
@@ -15,26 +24,218 @@ public class Player {
         this.dice = dice;
     }
 
+    /**
+     * Восстанавливает игрока по сохранённым данным, например по строке {@link RollTable}.
+     * @param faces буфер с историей бросков.
+     * @param offset номер первого броска игрока в буфере.
+     * @param length количество бросков игрока.
+     * @return возвращает игрока с копией истории и посчитанной статистикой.
+     */
+    static Player restore(String name, int chips, byte[] faces, int offset, int length) {
+        Player player = new Player(name, new Dice(new SplittableRandom()), chips);
+        player.rolls.ensureCapacity(length);
+        player.recordAll(faces, offset, length);
+        return player;
+    }
+
+    /**
+     * Создаёт игрока строки таблицы без копирования истории: броски и статистика копируются
+     * из таблицы при первом обращении к ним ({@link #getRolls()}, {@link #getStats()},
+     * {@link #throwDice()} и т.п.). Имя и фишки читаются сразу. К моменту первого обращения
+     * таблица должна быть доступна; копируется её тогдашнее содержимое.
+     * @param table таблица, например {@link OffHeapRollStore}.
+     * @param row номер строки игрока.
+     * @return возвращает игрока, история которого пока не лежит в куче.
+     */
+    static Player lazy(RollTable table, int row) {
+        Player player = new Player(table.name(row), new Dice(new SplittableRandom()), table.chips(row));
+        player.source = table;
+        player.sourceRow = row;
+        return player;
+    }
+
     public String getName() {
         return name;
     }
 
     public void throwDice() {
-        rollsHistory.add(dice.throwMe());
+        record(dice.throwMe());
+        TournamentMetrics.recordPlayerThrow();
+    }
+
+    /**
+     * @return возвращает статистику бросков, которая обновляется при каждом броске,
+     * поэтому её чтение не требует прохода по истории.
+     */
+    public RollStats getStats() {
+        load();
+        return stats;
+    }
+
+    /**
+     * @return возвращает историю бросков в компактном виде, без упаковки значений в Integer.
+     */
+    public RollHistory getRolls() {
+        load();
+        return rolls;
     }
 
+    /**
+     * Оставлен для совместимости: возвращает представление истории бросков в виде List,
+     * которое читает данные напрямую из {@link RollHistory}. Поддерживается только
+     * добавление в конец списка.
+     */
     public List<Integer> getRollsHistory() {
+
+        load();
+        if (rollsHistory == null) {
+            rollsHistory = new AbstractList<>() {
+
+                @Override
+                public Integer get(int index) {
+                    return rolls.get(index);
+                }
+
+                @Override
+                public int size() {
+                    return rolls.size();
+                }
+
+                @Override
+                public void add(int index, Integer face) {
+                    if (index != rolls.size()) {
+                        throw new UnsupportedOperationException("Броски можно добавлять только в конец истории");
+                    }
+                    record(face);
+                    modCount++;
+                }
+
+            };
+        }
         return rollsHistory;
+
     }
 
     public void showPlayersRollHistory(){
-        System.out.println(name +": " + rollsHistory);
+        load();
+        System.out.println(name +": " + rolls);
+    }
+
+    /**
+     * Включает скользящее окно последних бросков. Окно заполняется только последующими бросками.
+     * @param window окно, например {@code new RollWindow(10)} или {@code new RollWindow(50, Duration.ofMinutes(5))}.
+     */
+    public void trackWindow(RollWindow window) {
+        this.window = window;
+    }
+
+    /**
+     * @return возвращает окно последних бросков или null, если окно не включено.
+     */
+    public RollWindow getWindow() {
+        return window;
+    }
+
+    private void record(int face) {
+        load();
+        rolls.add(face);
+        stats.accept(face);
+        version++;
+        if (window != null) {
+            window.add(face);
+        }
+    }
+
+    /**
+     * Добавляет в историю сразу несколько бросков, выполненных вне игрока
+     * (см. {@link TournamentSimulator}), и обновляет статистику.
+     * @param faces значения кубика, от 1 до 6.
+     * @param offset номер первого броска в буфере.
+     * @param length количество бросков.
+     */
+    void recordAll(byte[] faces, int offset, int length) {
+        load();
+        rolls.addAll(faces, offset, length);
+        version++;
+        for (int i = offset; i < offset + length; i++) {
+            stats.accept(faces[i]);
+            if (window != null) {
+                window.add(faces[i]);
+            }
+        }
+    }
+
+    /**
+     * @return возвращает номер версии игрока, который меняется при каждом броске и изменении
+     * фишек. По нему кэширующий анализ ({@link CachingDiceTournamentAnalyzer}) узнаёт,
+     * что показатели устарели.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Копирует историю из таблицы, если игрок создан через {@link #lazy(RollTable, int)}
+     * и история ещё не скопирована.
+     */
+    private void load() {
+
+        RollTable table = source;
+        if (table == null) {
+            return;
+        }
+        byte[] faces = new byte[table.rollCount(sourceRow)];
+        table.rolls(sourceRow, faces, 0);
+        rolls.ensureCapacity(faces.length);
+        rolls.addAll(faces, 0, faces.length);
+        for (byte face : faces) {
+            stats.accept(face);
+        }
+        source = null;
+
     }
 
     public int getChips() {
         return chips;
     }
 
+    /**
+     * Меняет количество фишек и оповещает индексы категорий ({@link ChipCategoryIndex}), в которых
+     * состоит игрок.
+     * @param chips новое количество фишек.
+     */
+    public void setChips(int chips) {
+
+        int previousChips = this.chips;
+        this.chips = chips;
+        version++;
+        List<ChipsListener> listeners = chipsListeners;
+        if (listeners != null) {
+            for (ChipsListener listener : listeners) {
+                listener.chipsChanged(this, previousChips, chips);
+            }
+        }
+
+    }
+
+    /**
+     * Подписки и отписки могут приходить из других потоков (например, {@link PlayerRegistry#close()}),
+     * поэтому список подписчиков копируется при изменении: setChips() перебирает неизменный снимок
+     * и не получает ConcurrentModificationException.
+     */
+    synchronized void addChipsListener(ChipsListener listener) {
+        if (chipsListeners == null) {
+            chipsListeners = new CopyOnWriteArrayList<>();
+        }
+        chipsListeners.add(listener);
+    }
+
+    synchronized void removeChipsListener(ChipsListener listener) {
+        if (chipsListeners != null) {
+            chipsListeners.remove(listener);
+        }
+    }
+
     @Override
     public String toString() {
         return name;
@@ -0,0 +1,80 @@
+package org.example;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * Кэш игроков, восстановленных из строк {@link RollTable}. Пока игрок используется (лежит
+ * в результате анализа, в переменной вызывающего), повторный {@link RollTable#player(int)}
+ * возвращает тот же объект. На игроков кэш ссылается слабо, поэтому запрос по всей таблице
+ * не оставляет в куче объект на каждую строку: память занимают только игроки, на которых
+ * есть ссылки снаружи. Потокобезопасен.
+ */
+final class PlayerCache {
+
+    private final Map<Integer, RowReference> players = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Player> collected = new ReferenceQueue<>();
+
+    /**
+     * @param row номер строки.
+     * @param factory создаёт игрока для строки, если в кэше его нет.
+     * @return возвращает игрока строки row.
+     */
+    Player get(int row, IntFunction<Player> factory) {
+
+        expunge();
+        RowReference cached = players.get(row);
+        Player player = cached == null ? null : cached.get();
+        if (player != null) {
+            return player;
+        }
+
+        Player created = factory.apply(row);
+        while (true) {
+            RowReference current = players.get(row);
+            Player existing = current == null ? null : current.get();
+            if (existing != null) {
+                return existing;  // другой поток успел восстановить этого игрока
+            }
+            RowReference reference = new RowReference(row, created, collected);
+            if (current == null ? players.putIfAbsent(row, reference) == null : players.replace(row, current, reference)) {
+                return created;
+            }
+        }
+
+    }
+
+    /**
+     * Забывает игрока строки row, например после изменения её данных.
+     */
+    void invalidate(int row) {
+        if (!players.isEmpty()) {
+            players.remove(row);
+        }
+    }
+
+    /**
+     * Удаляет записи об игроках, собранных сборщиком мусора.
+     */
+    private void expunge() {
+        for (Object reference; (reference = collected.poll()) != null; ) {
+            RowReference collectedRow = (RowReference) reference;
+            players.remove(collectedRow.row, collectedRow);
+        }
+    }
+
+    private static final class RowReference extends WeakReference<Player> {
+
+        private final int row;
+
+        RowReference(int row, Player player, ReferenceQueue<Player> queue) {
+            super(player, queue);
+            this.row = row;
+        }
+
+    }
+
+}
@@ -0,0 +1,16 @@
+package org.example;
+
+/**
+ * Получатель поигровых показателей {@link DiceTournamentAnalyzer} без упаковки в Double
+ * и без промежуточной Map.
+ */
+@FunctionalInterface
+public interface PlayerDoubleConsumer {
+
+    /**
+     * @param row номер игрока в таблице анализатора (см. {@link DiceTournamentAnalyzer#getPlayer(int)}).
+     * @param value показатель игрока.
+     */
+    void accept(int row, double value);
+
+}
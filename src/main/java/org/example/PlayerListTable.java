@@ -0,0 +1,58 @@
+package org.example;
+
+import java.util.List;
+
+/**
+ * Представление списка игроков в виде {@link RollTable}. Статистика берётся из самих игроков,
+ * которые ведут её на лету.
+ */
+class PlayerListTable implements RollTable {
+
+    private final List<Player> players;
+
+    PlayerListTable(List<Player> players) {
+        this.players = players;
+    }
+
+    @Override
+    public int size() {
+        return players.size();
+    }
+
+    @Override
+    public String name(int row) {
+        return players.get(row).getName();
+    }
+
+    @Override
+    public int chips(int row) {
+        return players.get(row).getChips();
+    }
+
+    @Override
+    public int rollCount(int row) {
+        return players.get(row).getRolls().size();
+    }
+
+    @Override
+    public int roll(int row, int index) {
+        return players.get(row).getRolls().get(index);
+    }
+
+    @Override
+    public void rolls(int row, byte[] out, int offset) {
+        RollHistory rolls = players.get(row).getRolls();
+        System.arraycopy(rolls.buffer(), 0, out, offset, rolls.size());
+    }
+
+    @Override
+    public RollStats stats(int row) {
+        return players.get(row).getStats();
+    }
+
+    @Override
+    public Player player(int row) {
+        return players.get(row);
+    }
+
+}
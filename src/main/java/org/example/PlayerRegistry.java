@@ -0,0 +1,294 @@
+package org.example;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Реестр игроков с плотными целочисленными идентификаторами 0, 1, 2, ... в порядке регистрации.
+ * Поиск по имени - открытая адресация по массивам String[] и int[] без упаковки в Integer,
+ * поэтому обработка событий ({@link RollEvent}) находит игрока за O(1), а не проходом по списку.
+ * Количество фишек хранится в массиве по идентификаторам и обновляется при
+ * {@link Player#setChips(int)}.
+ * <p>
+ * Реестр является {@link RollTable}, где номер строки совпадает с идентификатором: результаты
+ * анализа с буфером ({@link DiceTournamentAnalyzer#getLuckIndex(double[])} и т.п.) получаются
+ * плотными массивами по идентификаторам вместо Map с ключом-игроком. Имена игроков уникальны,
+ * идентификаторы не переиспользуются, удаления нет.
+ * <p>
+ * Регистрация и поиск не потокобезопасны. Фишки же меняются из тех потоков, где вызван
+ * {@link Player#setChips(int)}, поэтому запись и чтение массива фишек, регистрация и
+ * {@link #close()} выполняются под блокировкой реестра: значение, записанное в одном потоке,
+ * видно в {@link #chips(int)} из другого.
+ * <p>
+ * Реестр подписывается на изменения фишек каждого игрока; когда реестр больше не нужен,
+ * его следует закрыть ({@link #close()}), чтобы игроки не ссылались на него.
+ */
+public class PlayerRegistry implements PlayerRoster, AutoCloseable {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NO_ID = -1;
+
+    private Player[] players = new Player[INITIAL_CAPACITY];
+    private int[] chips = new int[INITIAL_CAPACITY];
+    private int size;
+    private boolean closed;
+
+    // Индекс имён: ячейка с null свободна, в ids - идентификатор игрока с именем из names.
+    private String[] names = new String[2 * INITIAL_CAPACITY];
+    private int[] ids = new int[2 * INITIAL_CAPACITY];
+
+    private final ChipsListener listener = (player, previousChips, chips) -> chipsChanged(player, chips);
+
+    /**
+     * @param players игроки с уникальными именами; получают идентификаторы в порядке коллекции.
+     * @return возвращает реестр с указанными игроками.
+     */
+    public static PlayerRegistry of(Collection<Player> players) {
+        PlayerRegistry registry = new PlayerRegistry();
+        players.forEach(registry::register);
+        return registry;
+    }
+
+    /**
+     * Регистрирует игрока.
+     * @return возвращает идентификатор игрока.
+     * @throws IllegalArgumentException если игрок с таким именем уже зарегистрирован.
+     * @throws IllegalStateException если реестр закрыт.
+     */
+    public synchronized int register(Player player) {
+
+        if (closed) {
+            throw new IllegalStateException("Реестр игроков закрыт");
+        }
+        if (idOf(player.getName()) != NO_ID) {
+            throw new IllegalArgumentException("Имя игрока повторяется: " + player.getName());
+        }
+
+        if (size == players.length) {
+            players = Arrays.copyOf(players, size * 2);
+            chips = Arrays.copyOf(chips, size * 2);
+        }
+        if (2 * (size + 1) > names.length) {
+            rehash(names.length * 2);
+        }
+
+        int id = size++;
+        players[id] = player;
+        chips[id] = player.getChips();
+        insert(player.getName(), id);
+        player.addChipsListener(listener);
+        return id;
+
+    }
+
+    @Override
+    public int idOf(String name) {
+
+        int mask = names.length - 1;
+        for (int slot = slotOf(name, mask); names[slot] != null; slot = (slot + 1) & mask) {
+            if (names[slot].equals(name)) {
+                return ids[slot];
+            }
+        }
+        return NO_ID;
+
+    }
+
+    @Override
+    public int idOf(Player player) {
+        int id = idOf(player.getName());
+        return id != NO_ID && players[id] == player ? id : NO_ID;
+    }
+
+    @Override
+    public Player get(int id) {
+        checkId(id);
+        return players[id];
+    }
+
+    @Override
+    public List<Player> asList() {
+        return new PlayerView();
+    }
+
+    /**
+     * @return возвращает представление реестра только для чтения: оно отражает регистрацию
+     * новых игроков, но само регистрировать их не позволяет.
+     */
+    public PlayerRoster readOnly() {
+        return new ReadOnlyRoster();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String name(int id) {
+        return get(id).getName();
+    }
+
+    /**
+     * Количество фишек читается из массива по идентификаторам, без обращения к объекту игрока.
+     */
+    @Override
+    public synchronized int chips(int id) {
+        checkId(id);
+        return chips[id];
+    }
+
+    @Override
+    public int rollCount(int id) {
+        return get(id).getRolls().size();
+    }
+
+    @Override
+    public int roll(int id, int index) {
+        return get(id).getRolls().get(index);
+    }
+
+    @Override
+    public RollStats stats(int id) {
+        return get(id).getStats();
+    }
+
+    @Override
+    public Player player(int id) {
+        return get(id);
+    }
+
+    /**
+     * Отписывается от изменений фишек всех игроков. Игроки и последние известные
+     * значения фишек остаются доступны, но больше не обновляются; регистрация новых
+     * игроков запрещается. Повторный вызов ничего не делает.
+     */
+    @Override
+    public synchronized void close() {
+
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (int id = 0; id < size; id++) {
+            players[id].removeChipsListener(listener);
+        }
+
+    }
+
+    private synchronized void chipsChanged(Player player, int chips) {
+        if (!closed) {  // подписчик мог быть выбран из списка игрока до отписки в close()
+            this.chips[idOf(player)] = chips;
+        }
+    }
+
+    private void insert(String name, int id) {
+        int mask = names.length - 1;
+        int slot = slotOf(name, mask);
+        while (names[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        names[slot] = name;
+        ids[slot] = id;
+    }
+
+    private void rehash(int capacity) {
+        names = new String[capacity];
+        ids = new int[capacity];
+        for (int id = 0; id < size; id++) {
+            insert(players[id].getName(), id);
+        }
+    }
+
+    /**
+     * Перемешивает биты String.hashCode(), чтобы близкие хэши похожих имён ("Player1", "Player2", ...)
+     * не выстраивались в длинные цепочки соседних ячеек.
+     */
+    private static int slotOf(String name, int mask) {
+        int hash = name.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Id: " + id + ", Size: " + size);
+        }
+    }
+
+    private final class ReadOnlyRoster implements PlayerRoster {
+
+        @Override
+        public int idOf(String name) {
+            return PlayerRegistry.this.idOf(name);
+        }
+
+        @Override
+        public int idOf(Player player) {
+            return PlayerRegistry.this.idOf(player);
+        }
+
+        @Override
+        public Player get(int id) {
+            return PlayerRegistry.this.get(id);
+        }
+
+        @Override
+        public List<Player> asList() {
+            return PlayerRegistry.this.asList();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public String name(int id) {
+            return PlayerRegistry.this.name(id);
+        }
+
+        @Override
+        public int chips(int id) {
+            return PlayerRegistry.this.chips(id);
+        }
+
+        @Override
+        public int rollCount(int id) {
+            return PlayerRegistry.this.rollCount(id);
+        }
+
+        @Override
+        public int roll(int id, int index) {
+            return PlayerRegistry.this.roll(id, index);
+        }
+
+        @Override
+        public RollStats stats(int id) {
+            return PlayerRegistry.this.stats(id);
+        }
+
+        @Override
+        public Player player(int id) {
+            return PlayerRegistry.this.player(id);
+        }
+
+    }
+
+    private final class PlayerView extends AbstractList<Player> implements RandomAccess {
+
+        @Override
+        public Player get(int index) {
+            return PlayerRegistry.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+    }
+
+}
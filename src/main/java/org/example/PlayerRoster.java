@@ -0,0 +1,34 @@
+package org.example;
+
+import java.util.List;
+
+/**
+ * Состав турнира с плотными идентификаторами игроков 0, 1, 2, ..., совпадающими с номерами
+ * строк {@link RollTable}. Только чтение: состав меняется через {@link PlayerRegistry}.
+ */
+public interface PlayerRoster extends RollTable {
+
+    /**
+     * @param name имя игрока.
+     * @return возвращает идентификатор игрока или -1, если игрок не зарегистрирован.
+     */
+    int idOf(String name);
+
+    /**
+     * @return возвращает идентификатор именно этого объекта игрока или -1, если зарегистрирован
+     * другой игрок с тем же именем или игрок не зарегистрирован.
+     */
+    int idOf(Player player);
+
+    /**
+     * @param id идентификатор игрока.
+     * @return возвращает игрока.
+     */
+    Player get(int id);
+
+    /**
+     * @return возвращает неизменяемый список игроков, где индекс совпадает с идентификатором.
+     */
+    List<Player> asList();
+
+}
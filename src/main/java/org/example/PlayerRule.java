@@ -0,0 +1,142 @@
+package org.example;
+
+import java.util.List;
+
+/**
+ * Декларативное правило классификации игрока по истории бросков: количество выпадений граней,
+ * серии одинаковых граней подряд, количество различных граней и их комбинации. Любое правило
+ * можно ограничить последними бросками ({@link #inLast(int)}). Правила не вычисляются
+ * по отдельности: {@link RuleSet} компилирует набор правил в один проход по каждому игроку.
+ * <p>
+ * Встроенные критерии {@link DiceTournamentAnalyzer} доступны как константы, например {@link #LOSERS}.
+ */
+public final class PlayerRule {
+
+    enum Kind { COUNT, RUN, DISTINCT, ALL_OF, ANY_OF, NOT }
+
+    /** Три и более раза выпадала единица, см. {@link DiceTournamentAnalyzer#getTheLosers()}. */
+    public static final PlayerRule LOSERS = faceCount("losers", 1, 3);
+
+    /** Четыре и более раза выпадала шестёрка, см. {@link DiceTournamentAnalyzer#getTheLucky()}. */
+    public static final PlayerRule LUCKY = faceCount("lucky", 6, 4);
+
+    /** 8 или более бросков дали 4 или больше, см. {@link DiceTournamentAnalyzer#getStablePlayerList()}. */
+    public static final PlayerRule STABLE = countBetween("stable", 4, 6, 8);
+
+    /** Единица выпадала два раза подряд, см. {@link DiceTournamentAnalyzer#getRiskyPlayerList()}. */
+    public static final PlayerRule RISKY = run("risky", 1, 2);
+
+    /** Выпадала каждая сторона кости, см. {@link DiceTournamentAnalyzer#getBalancedDicePlayerList()}. */
+    public static final PlayerRule BALANCED = distinctFaces("balanced", 6);
+
+    final String name;
+    final Kind kind;
+    final int fromFace;
+    final int toFace;
+    final int threshold;
+    final int window;  // количество последних бросков, 0 - вся история
+    final List<PlayerRule> children;
+
+    private PlayerRule(String name, Kind kind, int fromFace, int toFace, int threshold, int window, List<PlayerRule> children) {
+        this.name = name;
+        this.kind = kind;
+        this.fromFace = fromFace;
+        this.toFace = toFace;
+        this.threshold = threshold;
+        this.window = window;
+        this.children = children;
+    }
+
+    /**
+     * @return возвращает правило "грань face выпала не менее atLeast раз".
+     */
+    public static PlayerRule faceCount(String name, int face, int atLeast) {
+        return countBetween(name, face, face, atLeast);
+    }
+
+    /**
+     * @return возвращает правило "не менее atLeast бросков дали значение от fromFace до toFace".
+     */
+    public static PlayerRule countBetween(String name, int fromFace, int toFace, int atLeast) {
+        checkFace(fromFace);
+        checkFace(toFace);
+        if (fromFace > toFace) {
+            throw new IllegalArgumentException("Пустой диапазон граней: " + fromFace + "-" + toFace);
+        }
+        return new PlayerRule(name, Kind.COUNT, fromFace, toFace, checkThreshold(atLeast), 0, List.of());
+    }
+
+    /**
+     * @return возвращает правило "грань face выпала length или более раз подряд".
+     */
+    public static PlayerRule run(String name, int face, int length) {
+        checkFace(face);
+        return new PlayerRule(name, Kind.RUN, face, face, checkThreshold(length), 0, List.of());
+    }
+
+    /**
+     * @return возвращает правило "выпало не менее atLeast различных граней".
+     */
+    public static PlayerRule distinctFaces(String name, int atLeast) {
+        return new PlayerRule(name, Kind.DISTINCT, 1, 6, checkThreshold(atLeast), 0, List.of());
+    }
+
+    /**
+     * @return возвращает правило, которое выполняется, если выполняются все указанные правила.
+     */
+    public static PlayerRule allOf(String name, PlayerRule... rules) {
+        return new PlayerRule(name, Kind.ALL_OF, 0, 0, 0, 0, List.of(rules));
+    }
+
+    /**
+     * @return возвращает правило, которое выполняется, если выполняется хотя бы одно из правил.
+     */
+    public static PlayerRule anyOf(String name, PlayerRule... rules) {
+        return new PlayerRule(name, Kind.ANY_OF, 0, 0, 0, 0, List.of(rules));
+    }
+
+    /**
+     * @return возвращает правило, которое выполняется, если указанное правило не выполняется.
+     */
+    public static PlayerRule not(String name, PlayerRule rule) {
+        return new PlayerRule(name, Kind.NOT, 0, 0, 0, 0, List.of(rule));
+    }
+
+    /**
+     * @param rolls количество последних бросков.
+     * @return возвращает то же правило, проверяемое только по последним rolls броскам
+     * (для составных правил ограничиваются все вложенные).
+     */
+    public PlayerRule inLast(int rolls) {
+
+        if (rolls <= 0) {
+            throw new IllegalArgumentException("Окно должно содержать хотя бы один бросок: " + rolls);
+        }
+        List<PlayerRule> limited = children.stream().map(child -> child.inLast(rolls)).toList();
+        return new PlayerRule(name, kind, fromFace, toFace, threshold, rolls, limited);
+
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private static void checkFace(int face) {
+        if (face < 1 || face > 6) {
+            throw new IllegalArgumentException("Значение кубика должно быть от 1 до 6: " + face);
+        }
+    }
+
+    private static int checkThreshold(int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Порог не может быть отрицательным: " + threshold);
+        }
+        return threshold;
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.example;
+
+/**
+ * Вероятность выполнения правила с доверительным интервалом.
+ * @param value точное значение или оценка вероятности.
+ * @param lower нижняя граница доверительного интервала.
+ * @param upper верхняя граница доверительного интервала.
+ * @param trials количество смоделированных историй; 0 для точного расчёта, у которого интервал вырожден.
+ */
+public record Probability(double value, double lower, double upper, long trials) {
+
+    /**
+     * z-значение двустороннего 95% доверительного интервала.
+     */
+    public static final double Z_95 = 1.959963984540054;
+
+    /**
+     * @return возвращает точную вероятность.
+     */
+    public static Probability exact(double value) {
+        return new Probability(value, value, value, 0);
+    }
+
+    /**
+     * Оценка по частоте успехов с интервалом Уилсона, который, в отличие от нормального
+     * приближения, остаётся внутри [0, 1] и при вероятностях, близких к 0 или 1.
+     * @param successes количество историй, в которых правило выполнилось.
+     * @param trials количество смоделированных историй.
+     * @param z z-значение уровня доверия, например {@link #Z_95}.
+     */
+    public static Probability wilson(long successes, long trials, double z) {
+
+        if (trials <= 0 || successes < 0 || successes > trials) {
+            throw new IllegalArgumentException("Некорректная выборка: " + successes + " из " + trials);
+        }
+
+        double p = (double) successes / trials;
+        double z2 = z * z;
+        double denominator = 1 + z2 / trials;
+        double center = (p + z2 / (2.0 * trials)) / denominator;
+        double margin = z * Math.sqrt(p * (1 - p) / trials + z2 / (4.0 * trials * trials)) / denominator;
+        // При 0 или trials успехов граница интервала равна 0 или 1 точно, без ошибки округления.
+        double lower = successes == 0 ? 0.0 : Math.max(0.0, center - margin);
+        double upper = successes == trials ? 1.0 : Math.min(1.0, center + margin);
+        return new Probability(p, lower, upper, trials);
+
+    }
+
+    public boolean isExact() {
+        return trials == 0;
+    }
+
+    /**
+     * @return возвращает true, если значение p попадает в доверительный интервал.
+     */
+    public boolean contains(double p) {
+        return p >= lower && p <= upper;
+    }
+
+}
@@ -0,0 +1,171 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+/**
+ * Вероятности выполнения правил {@link PlayerRule} для истории из заданного числа бросков
+ * честной кости, например "≥3 единиц из 10 бросков" ({@link PlayerRule#LOSERS}) или
+ * "две единицы подряд" ({@link PlayerRule#RISKY}).
+ * <p>
+ * {@link #exact(PlayerRule, int)} считает вероятность динамическим программированием по длине
+ * истории: распределение вероятностей по состояниям автомата правила ({@link RuleAutomaton})
+ * переносится с броска на бросок. Это точно и быстро, пока состояний немного (простые правила
+ * и их небольшие комбинации). Для остальных правил {@link #monteCarlo(PlayerRule, int, long, long)}
+ * моделирует истории параллельно пакетными бросками {@link Dice}: блоки испытаний получают
+ * генераторы с независимыми seed, поэтому результат воспроизводим и не зависит от числа потоков.
+ */
+public class ProbabilityEngine {
+
+    static final int MAX_EXACT_STATES = 1 << 22;
+    static final int TRIALS_PER_BLOCK = 1 << 14;
+    private static final int BUFFER_SIZE = 1 << 16;  // бросков, генерируемых за одно обращение к кости
+
+    private final ForkJoinPool pool;
+
+    public ProbabilityEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool пул потоков, в котором выполняется моделирование.
+     */
+    public ProbabilityEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @param rule правило.
+     * @param rolls количество бросков в истории.
+     * @return возвращает точную вероятность выполнения правила.
+     * @throws IllegalStateException если у автомата правила больше 2^22 состояний;
+     * в этом случае используйте {@link #monteCarlo(PlayerRule, int, long, long)}.
+     */
+    public Probability exact(PlayerRule rule, int rolls) {
+
+        RuleAutomaton automaton = new RuleAutomaton(rule, rolls);
+        if (automaton.stateCount() > MAX_EXACT_STATES) {
+            throw new IllegalStateException("Слишком много состояний для точного расчёта: "
+                    + automaton.stateCount() + ", используйте моделирование");
+        }
+
+        int stateCount = (int) automaton.stateCount();
+        int[] states = new int[automaton.leafCount()];
+        double[] current = new double[stateCount];
+        double[] next = new double[stateCount];
+        current[0] = 1.0;
+
+        for (int index = 0; index < rolls; index++) {
+            Arrays.fill(next, 0.0);
+            for (int code = 0; code < stateCount; code++) {
+                double p = current[code];
+                if (p == 0.0) {
+                    continue;
+                }
+                double share = p / 6;
+                for (int face = 1; face <= 6; face++) {
+                    automaton.decode(code, states);
+                    for (int leaf = 0; leaf < states.length; leaf++) {
+                        if (automaton.isActive(leaf, index)) {
+                            states[leaf] = automaton.step(leaf, states[leaf], face);
+                        }
+                    }
+                    next[(int) automaton.encode(states)] += share;
+                }
+            }
+            double[] swap = current;
+            current = next;
+            next = swap;
+        }
+
+        double probability = 0.0;
+        for (int code = 0; code < stateCount; code++) {
+            if (current[code] != 0.0 && automaton.accepts(automaton.decode(code, states))) {
+                probability += current[code];
+            }
+        }
+        return Probability.exact(Math.min(1.0, probability));
+
+    }
+
+    /**
+     * @param rule правило.
+     * @param rolls количество бросков в истории.
+     * @param trials количество моделируемых историй.
+     * @param seed начальное значение генераторов; при одинаковом seed результат совпадает.
+     * @return возвращает оценку вероятности с 95% доверительным интервалом Уилсона.
+     */
+    public Probability monteCarlo(PlayerRule rule, int rolls, long trials, long seed) {
+        return monteCarlo(rule, rolls, trials, seed, Probability.Z_95);
+    }
+
+    /**
+     * @param z z-значение уровня доверия, например 2.5758 для 99%.
+     * @see #monteCarlo(PlayerRule, int, long, long)
+     */
+    public Probability monteCarlo(PlayerRule rule, int rolls, long trials, long seed, double z) {
+
+        if (trials <= 0) {
+            throw new IllegalArgumentException("Количество испытаний должно быть положительным: " + trials);
+        }
+        long blocks = (trials + TRIALS_PER_BLOCK - 1) / TRIALS_PER_BLOCK;
+        if (blocks > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Слишком много испытаний: " + trials);
+        }
+
+        RuleAutomaton automaton = new RuleAutomaton(rule, rolls);
+        long successes = pool.submit(() ->
+                LongStream.range(0, blocks)
+                        .parallel()
+                        .map(block -> simulateBlock(automaton, rolls, (int) block,
+                                Math.min(TRIALS_PER_BLOCK, trials - block * TRIALS_PER_BLOCK), seed))
+                        .sum()
+        ).join();
+
+        return Probability.wilson(successes, trials, z);
+
+    }
+
+    /**
+     * Моделирует trials историй одного блока. Броски генерируются пакетами сразу для нескольких
+     * историй, чтобы короткие истории не тратили остаток случайного слова кости.
+     * @return возвращает количество историй, в которых правило выполнилось.
+     */
+    private static long simulateBlock(RuleAutomaton automaton, int rolls, int block, long trials, long seed) {
+
+        Dice dice = TournamentSimulator.blockDice(seed, block);
+        int[] states = new int[automaton.leafCount()];
+        int historiesPerBuffer = Math.max(1, BUFFER_SIZE / Math.max(1, rolls));
+        byte[] buffer = new byte[Math.max(1, historiesPerBuffer * rolls)];
+
+        long successes = 0;
+        long done = 0;
+        while (done < trials) {
+
+            int histories = (int) Math.min(historiesPerBuffer, trials - done);
+            dice.throwMe(histories * rolls, buffer);
+
+            for (int history = 0; history < histories; history++) {
+                Arrays.fill(states, 0);
+                int offset = history * rolls;
+                for (int index = 0; index < rolls; index++) {
+                    int face = buffer[offset + index];
+                    for (int leaf = 0; leaf < states.length; leaf++) {
+                        if (automaton.isActive(leaf, index)) {
+                            states[leaf] = automaton.step(leaf, states[leaf], face);
+                        }
+                    }
+                }
+                if (automaton.accepts(states)) {
+                    successes++;
+                }
+            }
+            done += histories;
+
+        }
+        return successes;
+
+    }
+
+}
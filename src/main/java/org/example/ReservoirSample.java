@@ -0,0 +1,86 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * Равномерная выборка фиксированного размера из потока неизвестной длины (алгоритм L).
+ * Номер следующего принимаемого элемента вычисляется заранее, поэтому на пропускаемые
+ * элементы тратится одно сравнение, а сами они даже не создаются (см. {@link #offer(Supplier)}).
+ */
+public class ReservoirSample<T> {
+
+    private final Object[] sample;
+    private final SplittableRandom random;
+    private long seen;
+    private long next;      // номер следующего элемента, который попадёт в выборку
+    private double weight;
+
+    /**
+     * @param capacity размер выборки.
+     * @param seed начальное значение генератора: одинаковые потоки дают одинаковые выборки.
+     */
+    public ReservoirSample(int capacity, long seed) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Размер выборки должен быть положительным: " + capacity);
+        }
+        this.sample = new Object[capacity];
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Предлагает очередной элемент потока.
+     * @param element элемент; вызывается, только если элемент попадает в выборку.
+     */
+    public void offer(Supplier<? extends T> element) {
+
+        long position = seen++;
+        int capacity = sample.length;
+        if (position < capacity) {
+            sample[(int) position] = element.get();
+            if (position == capacity - 1) {
+                weight = Math.exp(Math.log(uniform()) / capacity);
+                next = position + skip() + 1;
+            }
+        } else if (position == next) {
+            sample[random.nextInt(capacity)] = element.get();
+            weight *= Math.exp(Math.log(uniform()) / capacity);
+            next = position + skip() + 1;
+        }
+
+    }
+
+    /**
+     * @return возвращает выборку: все элементы, если их было не больше размера выборки.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> getSample() {
+        List<T> result = new ArrayList<>();
+        for (Object element : Arrays.copyOf(sample, (int) Math.min(seen, sample.length))) {
+            result.add((T) element);
+        }
+        return result;
+    }
+
+    /**
+     * @return возвращает количество предложенных элементов.
+     */
+    public long getSeen() {
+        return seen;
+    }
+
+    private long skip() {
+        return (long) Math.floor(Math.log(uniform()) / Math.log(1 - weight));
+    }
+
+    /**
+     * @return возвращает случайное число из (0, 1].
+     */
+    private double uniform() {
+        return 1 - random.nextDouble();
+    }
+
+}
@@ -0,0 +1,14 @@
+package org.example;
+
+/**
+ * Событие потока бросков: игрок с именем player выбросил значение face.
+ */
+public record RollEvent(String player, int face) {
+
+    public RollEvent {
+        if (face < 1 || face > 6) {
+            throw new IllegalArgumentException("Значение кубика должно быть от 1 до 6: " + face);
+        }
+    }
+
+}
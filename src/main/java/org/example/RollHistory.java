@@ -0,0 +1,119 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Компактное хранилище истории бросков одного игрока. Значения граней (1-6) хранятся
+ * в растущем массиве byte[], поэтому добавление и чтение бросков обходятся без упаковки
+ * в Integer.
+ */
+public class RollHistory {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private byte[] faces = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Добавляет бросок в конец истории. Вызывается только игроком, который одновременно
+     * обновляет свою статистику {@link RollStats}.
+     * @param face значение кубика, от 1 до 6.
+     */
+    void add(int face) {
+
+        if (face < 1 || face > 6) {
+            throw new IllegalArgumentException("Значение кубика должно быть от 1 до 6: " + face);
+        }
+
+        ensureCapacity(size + 1);
+        faces[size++] = (byte) face;
+
+    }
+
+    /**
+     * Добавляет в конец истории length значений из буфера одним копированием.
+     * @param buffer значения кубика, от 1 до 6.
+     * @param offset номер первого добавляемого значения в буфере.
+     * @param length количество добавляемых бросков.
+     */
+    void addAll(byte[] buffer, int offset, int length) {
+
+        for (int i = offset; i < offset + length; i++) {
+            if (buffer[i] < 1 || buffer[i] > 6) {
+                throw new IllegalArgumentException("Значение кубика должно быть от 1 до 6: " + buffer[i]);
+            }
+        }
+
+        ensureCapacity(size + length);
+        System.arraycopy(buffer, offset, faces, size, length);
+        size += length;
+
+    }
+
+    /**
+     * Заранее расширяет буфер, чтобы последующие добавления не требовали копирования.
+     * @param capacity необходимое количество бросков.
+     */
+    void ensureCapacity(int capacity) {
+        if (capacity > faces.length) {
+            faces = Arrays.copyOf(faces, Math.max(capacity, faces.length + (faces.length >> 1)));
+        }
+    }
+
+    /**
+     * @param index номер броска, начиная с 0.
+     * @return возвращает значение кубика в указанном броске.
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return faces[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return возвращает поток значений бросков без упаковки в Integer.
+     */
+    public IntStream stream() {
+        byte[] snapshot = faces;
+        return IntStream.range(0, size).map(i -> snapshot[i]);
+    }
+
+    /**
+     * @return возвращает внутренний буфер; значимы только первые {@link #size()} значений.
+     */
+    byte[] buffer() {
+        return faces;
+    }
+
+    /**
+     * @return возвращает копию истории бросков в виде массива byte[].
+     */
+    public byte[] toArray() {
+        return Arrays.copyOf(faces, size);
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(faces[i]);
+        }
+        return sb.append(']').toString();
+
+    }
+
+}
@@ -0,0 +1,54 @@
+package org.example;
+
+/**
+ * Вычислительные ядра для анализа бросков, хранящихся в массиве byte[] (значения 1-6).
+ * Если при запуске доступен модуль jdk.incubator.vector (--add-modules jdk.incubator.vector),
+ * используется векторная реализация, иначе - обычные циклы.
+ */
+interface RollKernels {
+
+    RollKernels INSTANCE = load();
+
+    /**
+     * @return возвращает сумму значений в rolls[from, to).
+     */
+    long sum(byte[] rolls, int from, int to);
+
+    /**
+     * @return возвращает количество значений face в rolls[from, to).
+     */
+    int countFace(byte[] rolls, int from, int to, int face);
+
+    /**
+     * Считает все грани за один проход: counts[f - 1] увеличивается на количество значений f
+     * в rolls[from, to). Значения вне 1-6 не учитываются.
+     * @param counts счётчики граней, не короче 6.
+     */
+    void countFaces(byte[] rolls, int from, int to, int[] counts);
+
+    /**
+     * @return возвращает количество значений, не меньших threshold, в rolls[from, to).
+     */
+    int countAtLeast(byte[] rolls, int from, int to, int threshold);
+
+    /**
+     * @return возвращает true, если в rolls[from, to) две единицы стоят подряд.
+     */
+    boolean hasAdjacentOnes(byte[] rolls, int from, int to);
+
+    private static RollKernels load() {
+
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (RollKernels) Class.forName("org.example.VectorRollKernels")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Векторная реализация недоступна на этой платформе, остаёмся на скалярной.
+            }
+        }
+        return new ScalarRollKernels();
+
+    }
+
+}
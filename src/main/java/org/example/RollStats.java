@@ -0,0 +1,263 @@
+package org.example;
+
+/**
+ * Накопитель статистики бросков одного игрока. Все показатели, нужные
+ * {@link DiceTournamentAnalyzer}, обновляются за O(1) на каждый бросок, поэтому их можно
+ * вести на лету (см. {@link Player#getStats()}) или собрать за один проход по истории.
+ */
+public class RollStats {
+
+    private static final int ALL_FACES_MASK = 0b111111;
+    private static final int EXACT_VARIANCE_LIMIT = 1 << 28;  // 36 * n^2 ещё помещается в long
+
+    private int count;
+    private long sum;
+    private long sumOfSquares;
+    private final int[] faceCounts = new int[6];
+    private int highCount;            // количество бросков со значением 4 и больше
+    private int currentOneRun;        // сколько единиц подряд выпало к текущему моменту
+    private int longestOneRun;        // самая длинная серия единиц подряд
+    private int faceMask;             // битовая маска выпавших граней
+
+    /**
+     * @param history история бросков игрока.
+     * @return возвращает статистику, собранную за один проход по истории.
+     */
+    public static RollStats of(RollHistory history) {
+        return of(history.buffer(), 0, history.size());
+    }
+
+    /**
+     * Собирает статистику участка буфера вычислительными ядрами {@link RollKernels}
+     * (при наличии Vector API - векторными): счётчики граней считаются за один проход,
+     * а сумма, сумма квадратов и количество высоких бросков выводятся из них. Посимвольный
+     * проход нужен только для длины серий единиц, и то лишь когда единицы действительно
+     * стоят рядом.
+     * @param faces буфер со значениями кубика.
+     * @param from номер первого броска (включительно).
+     * @param to номер последнего броска (не включительно).
+     * @return возвращает статистику участка буфера.
+     */
+    public static RollStats of(byte[] faces, int from, int to) {
+
+        RollKernels kernels = RollKernels.INSTANCE;
+        RollStats stats = new RollStats();
+
+        stats.count = to - from;
+        kernels.countFaces(faces, from, to, stats.faceCounts);
+
+        int counted = 0;
+        for (int face = 1; face <= 6; face++) {
+            int faceCount = stats.faceCounts[face - 1];
+            stats.sum += (long) face * faceCount;
+            stats.sumOfSquares += (long) face * face * faceCount;
+            if (face >= 4) {
+                stats.highCount += faceCount;
+            }
+            if (faceCount > 0) {
+                stats.faceMask |= 1 << (face - 1);
+            }
+            counted += faceCount;
+        }
+        if (counted != stats.count) {
+            throw new IllegalArgumentException("Значения кубика должны быть от 1 до 6");
+        }
+
+        if (stats.faceCounts[0] > 0) {
+            stats.longestOneRun = kernels.hasAdjacentOnes(faces, from, to) ? longestOneRun(faces, from, to) : 1;
+            for (int i = to - 1; i >= from && faces[i] == 1; i--) {
+                stats.currentOneRun++;
+            }
+        }
+
+        return stats;
+
+    }
+
+    /**
+     * Восстанавливает статистику по сохранённым счётчикам, например из {@link OffHeapRollStore}:
+     * счётчики граней добавляются по одному вызовом {@link #restoreFace(int, int)}.
+     * @param currentOneRun сколько единиц подряд выпало в конце истории.
+     * @param longestOneRun самая длинная серия единиц подряд.
+     */
+    static RollStats restore(int currentOneRun, int longestOneRun) {
+        RollStats stats = new RollStats();
+        stats.currentOneRun = currentOneRun;
+        stats.longestOneRun = longestOneRun;
+        return stats;
+    }
+
+    /**
+     * Добавляет к восстановленной статистике count выпадений значения face.
+     * @param face значение кубика, от 1 до 6.
+     */
+    void restoreFace(int face, int count) {
+        faceCounts[face - 1] += count;
+        this.count += count;
+        sum += (long) face * count;
+        sumOfSquares += (long) face * face * count;
+        if (face >= 4) {
+            highCount += count;
+        }
+        if (faceCounts[face - 1] > 0) {
+            faceMask |= 1 << (face - 1);
+        }
+    }
+
+    /**
+     * Учитывает очередной бросок.
+     * @param face значение кубика, от 1 до 6.
+     */
+    public void accept(int face) {
+
+        count++;
+        sum += face;
+        sumOfSquares += face * face;
+
+        faceCounts[face - 1]++;
+        if (face >= 4) {
+            highCount++;
+        }
+
+        if (face == 1) {
+            currentOneRun++;
+            longestOneRun = Math.max(longestOneRun, currentOneRun);
+        } else {
+            currentOneRun = 0;
+        }
+
+        faceMask |= 1 << (face - 1);
+
+    }
+
+    /**
+     * @return возвращает независимую копию накопителя, например чтобы дополнить
+     * статистику префикса истории, не изменяя исходную.
+     */
+    RollStats copy() {
+
+        RollStats copy = new RollStats();
+        copy.count = count;
+        copy.sum = sum;
+        copy.sumOfSquares = sumOfSquares;
+        System.arraycopy(faceCounts, 0, copy.faceCounts, 0, faceCounts.length);
+        copy.highCount = highCount;
+        copy.currentOneRun = currentOneRun;
+        copy.longestOneRun = longestOneRun;
+        copy.faceMask = faceMask;
+        return copy;
+
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * @param face значение кубика, от 1 до 6.
+     * @return возвращает количество выпадений указанного значения.
+     */
+    public int getFaceCount(int face) {
+        return faceCounts[face - 1];
+    }
+
+    public int getHighCount() {
+        return highCount;
+    }
+
+    public int getCurrentOneRun() {
+        return currentOneRun;
+    }
+
+    public int getLongestOneRun() {
+        return longestOneRun;
+    }
+
+    /**
+     * @return возвращает true, если единица хотя бы раз выпадала два раза подряд.
+     */
+    public boolean hasConsecutiveOnes() {
+        return longestOneRun >= 2;
+    }
+
+    /**
+     * @return возвращает true, если каждая сторона кости выпадала хотя бы раз.
+     */
+    public boolean hasAllFaces() {
+        return faceMask == ALL_FACES_MASK;
+    }
+
+    /**
+     * @return возвращает среднее значение бросков или 0.0, если бросков не было.
+     * Считается через точную сумму, поэтому совпадает с IntStream.average().
+     */
+    public double getAverage() {
+        return average(sum, count);
+    }
+
+    /**
+     * @return возвращает дисперсию бросков или 0.0, если бросков не было. Значения граней -
+     * небольшие целые числа, поэтому числитель n * Σx² - (Σx)² считается точно в long:
+     * результат не зависит ни от порядка бросков, ни от того, вёлся ли подсчёт по одному
+     * броску или ядрами {@link RollKernels}. Для историй длиннее 2^28 бросков, где числитель
+     * не помещается в long, используется вычисление в double.
+     */
+    public double getVariance() {
+        return variance(count, sum, sumOfSquares);
+    }
+
+    /**
+     * @param chips количество фишек игрока.
+     * @return возвращает "индекс удачи", округлённый до 1 знака после запятой.
+     */
+    public double getLuckIndex(int chips) {
+        return luckIndex(sum, count, chips);
+    }
+
+    /**
+     * То же, что {@link #getAverage()}, по сумме и количеству бросков без объекта статистики.
+     */
+    static double average(long sum, int count) {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    /**
+     * То же, что {@link #getVariance()}, по накопленным суммам без объекта статистики.
+     */
+    static double variance(int count, long sum, long sumOfSquares) {
+
+        if (count == 0) {
+            return 0.0;
+        }
+        if (count > EXACT_VARIANCE_LIMIT) {
+            double mean = (double) sum / count;
+            return (double) sumOfSquares / count - mean * mean;
+        }
+        return (double) (count * sumOfSquares - sum * sum) / ((double) count * count);
+
+    }
+
+    /**
+     * То же, что {@link #getLuckIndex(int)}, по сумме и количеству бросков без объекта статистики.
+     */
+    static double luckIndex(long sum, int count, int chips) {
+        return count == 0 ? 0.0 : Math.round(sum / 6.0 * chips) / 10.0;
+    }
+
+    private static int longestOneRun(byte[] faces, int from, int to) {
+
+        int longest = 0;
+        int current = 0;
+        for (int i = from; i < to; i++) {
+            current = faces[i] == 1 ? current + 1 : 0;
+            longest = Math.max(longest, current);
+        }
+        return longest;
+
+    }
+
+}
@@ -0,0 +1,104 @@
+package org.example;
+
+/**
+ * Статистика бросков игроков в примитивных массивах по идентификаторам {@link PlayerRegistry}:
+ * те же показатели, что у {@link RollStats}, но без объекта на каждого игрока. Счётчики
+ * граней лежат подряд, по шесть на игрока. Не потокобезопасна.
+ */
+final class RollStatsColumns {
+
+    private static final int ALL_FACES_MASK = 0b111111;
+
+    private final int[] counts;
+    private final long[] sums;
+    private final long[] sumsOfSquares;
+    private final int[] faceCounts;
+    private final int[] highCounts;       // количество бросков со значением 4 и больше
+    private final int[] currentOneRuns;   // сколько единиц подряд выпало к текущему моменту
+    private final int[] longestOneRuns;   // самая длинная серия единиц подряд
+    private final byte[] faceMasks;       // битовые маски выпавших граней
+
+    /**
+     * @param size количество игроков; идентификаторы от 0 до size - 1.
+     */
+    RollStatsColumns(int size) {
+        counts = new int[size];
+        sums = new long[size];
+        sumsOfSquares = new long[size];
+        faceCounts = new int[6 * size];
+        highCounts = new int[size];
+        currentOneRuns = new int[size];
+        longestOneRuns = new int[size];
+        faceMasks = new byte[size];
+    }
+
+    int size() {
+        return counts.length;
+    }
+
+    /**
+     * Учитывает очередной бросок игрока, как {@link RollStats#accept(int)}.
+     * @param id идентификатор игрока.
+     * @param face значение кубика, от 1 до 6.
+     */
+    void accept(int id, int face) {
+
+        counts[id]++;
+        sums[id] += face;
+        sumsOfSquares[id] += face * face;
+
+        faceCounts[6 * id + face - 1]++;
+        if (face >= 4) {
+            highCounts[id]++;
+        }
+        faceMasks[id] |= (byte) (1 << (face - 1));
+
+        if (face == 1) {
+            currentOneRuns[id]++;
+            longestOneRuns[id] = Math.max(longestOneRuns[id], currentOneRuns[id]);
+        } else {
+            currentOneRuns[id] = 0;
+        }
+
+    }
+
+    int count(int id) {
+        return counts[id];
+    }
+
+    long sum(int id) {
+        return sums[id];
+    }
+
+    /**
+     * @param face значение кубика, от 1 до 6.
+     */
+    int faceCount(int id, int face) {
+        return faceCounts[6 * id + face - 1];
+    }
+
+    int highCount(int id) {
+        return highCounts[id];
+    }
+
+    boolean hasConsecutiveOnes(int id) {
+        return longestOneRuns[id] >= 2;
+    }
+
+    boolean hasAllFaces(int id) {
+        return faceMasks[id] == ALL_FACES_MASK;
+    }
+
+    double average(int id) {
+        return RollStats.average(sums[id], counts[id]);
+    }
+
+    double variance(int id) {
+        return RollStats.variance(counts[id], sums[id], sumsOfSquares[id]);
+    }
+
+    double luckIndex(int id, int chips) {
+        return RollStats.luckIndex(sums[id], counts[id], chips);
+    }
+
+}
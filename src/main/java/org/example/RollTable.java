@@ -0,0 +1,92 @@
+package org.example;
+
+import java.util.List;
+
+/**
+ * Табличное представление турнира: строка - игрок, у каждой строки есть имя, количество фишек
+ * и история бросков. {@link DiceTournamentAnalyzer} работает с любой реализацией напрямую,
+ * по номерам строк, поэтому данные не обязаны храниться в виде объектов {@link Player}.
+ */
+public interface RollTable {
+
+    /**
+     * @return возвращает количество игроков.
+     */
+    int size();
+
+    String name(int row);
+
+    int chips(int row);
+
+    /**
+     * @return возвращает количество бросков игрока в строке row.
+     */
+    int rollCount(int row);
+
+    /**
+     * @return возвращает значение кубика в броске index игрока в строке row.
+     */
+    int roll(int row, int index);
+
+    /**
+     * Копирует историю бросков игрока в строке row в буфер вызывающего.
+     * Реализация по умолчанию копирует по одному броску; реализации с непрерывным
+     * хранением историй копируют её целиком.
+     * @param out буфер, в котором от offset помещается {@link #rollCount(int)} бросков.
+     * @param offset позиция первого броска в буфере.
+     */
+    default void rolls(int row, byte[] out, int offset) {
+        int count = rollCount(row);
+        for (int i = 0; i < count; i++) {
+            out[offset + i] = (byte) roll(row, i);
+        }
+    }
+
+    /**
+     * @return возвращает статистику бросков игрока в строке row. Реализация по умолчанию
+     * проходит по всей истории; реализации могут вести или кэшировать статистику.
+     */
+    default RollStats stats(int row) {
+
+        RollStats stats = new RollStats();
+        int count = rollCount(row);
+        for (int i = 0; i < count; i++) {
+            stats.accept(roll(row, i));
+        }
+        return stats;
+
+    }
+
+    /**
+     * @return возвращает сумму значений всех бросков игрока в строке row. Нужна запросам
+     * без выделения памяти ({@link DiceTournamentAnalyzer#getAverageScores(double[])} и т.п.);
+     * реализации, которые создают статистику при каждом вызове {@link #stats(int)},
+     * читают сумму напрямую.
+     */
+    default long sum(int row) {
+        return stats(row).getSum();
+    }
+
+    /**
+     * Возвращает игрока для строки row. Нужен только для выдачи результатов анализа;
+     * пока игрок используется, реализации должны возвращать при повторных вызовах один
+     * и тот же объект, но не обязаны удерживать восстановленных игроков (см. {@link PlayerCache}).
+     * Реализация по умолчанию каждый раз создаёт нового игрока с копией истории.
+     */
+    default Player player(int row) {
+
+        byte[] faces = new byte[rollCount(row)];
+        rolls(row, faces, 0);
+        return Player.restore(name(row), chips(row), faces, 0, faces.length);
+
+    }
+
+    /**
+     * @param players список игроков.
+     * @return возвращает таблицу, строками которой являются сами игроки из списка.
+     */
+    static RollTable of(List<Player> players) {
+        return new PlayerListTable(players);
+    }
+
+}
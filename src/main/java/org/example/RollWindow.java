@@ -0,0 +1,172 @@
+package org.example;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Скользящее окно последних бросков игрока: кольцевой буфер на N бросков, при желании
+ * ограниченный ещё и по времени (броски старше maxAge вытесняются). Счётчики граней, сумма
+ * и количество пар единиц подряд обновляются за O(1) при добавлении и вытеснении броска,
+ * поэтому память окна постоянна, сколько бы бросков ни было сделано.
+ */
+public class RollWindow {
+
+    private final byte[] faces;
+    private final long[] times;     // время бросков в наносекундах, только для окна по времени
+    private final long maxAgeNanos;
+    private final LongSupplier clock;
+
+    private int head;               // позиция самого старого броска
+    private int count;
+    private long sum;
+    private final int[] faceCounts = new int[6];
+    private int highCount;          // количество бросков со значением 4 и больше
+    private int adjacentOnes;       // количество пар соседних бросков (1, 1) в окне
+
+    /**
+     * @param lastRolls размер окна в бросках.
+     */
+    public RollWindow(int lastRolls) {
+        this(lastRolls, null, System::nanoTime);
+    }
+
+    /**
+     * @param lastRolls размер окна в бросках.
+     * @param maxAge броски старше этого возраста вытесняются из окна.
+     */
+    public RollWindow(int lastRolls, Duration maxAge) {
+        this(lastRolls, maxAge, System::nanoTime);
+    }
+
+    RollWindow(int lastRolls, Duration maxAge, LongSupplier clock) {
+
+        if (lastRolls < 1) {
+            throw new IllegalArgumentException("Размер окна должен быть положительным: " + lastRolls);
+        }
+
+        this.faces = new byte[lastRolls];
+        this.times = maxAge == null ? null : new long[lastRolls];
+        this.maxAgeNanos = maxAge == null ? Long.MAX_VALUE : maxAge.toNanos();
+        this.clock = clock;
+
+    }
+
+    /**
+     * Добавляет бросок; если окно заполнено, самый старый бросок вытесняется.
+     * @param face значение кубика, от 1 до 6.
+     */
+    public void add(int face) {
+
+        evictExpired();
+        if (count == faces.length) {
+            evictOldest();
+        }
+
+        int tail = (head + count) % faces.length;
+        if (count > 0 && face == 1 && faces[(tail + faces.length - 1) % faces.length] == 1) {
+            adjacentOnes++;
+        }
+
+        faces[tail] = (byte) face;
+        if (times != null) {
+            times[tail] = clock.getAsLong();
+        }
+        count++;
+        sum += face;
+        faceCounts[face - 1]++;
+        if (face >= 4) {
+            highCount++;
+        }
+
+    }
+
+    /**
+     * Вытесняет броски старше заданного возраста. Для окна без ограничения по времени ничего не делает.
+     */
+    public void evictExpired() {
+
+        if (times == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        while (count > 0 && now - times[head] > maxAgeNanos) {
+            evictOldest();
+        }
+
+    }
+
+    /**
+     * @return возвращает размер окна в бросках.
+     */
+    public int capacity() {
+        return faces.length;
+    }
+
+    /**
+     * @return возвращает количество бросков, находящихся в окне сейчас.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * @param face значение кубика, от 1 до 6.
+     * @return возвращает количество выпадений указанного значения в окне.
+     */
+    public int getFaceCount(int face) {
+        return faceCounts[face - 1];
+    }
+
+    public int getHighCount() {
+        return highCount;
+    }
+
+    /**
+     * @return возвращает true, если в окне единица выпала два раза подряд.
+     */
+    public boolean hasConsecutiveOnes() {
+        return adjacentOnes > 0;
+    }
+
+    /**
+     * @return возвращает true, если в окне выпадала каждая сторона кости.
+     */
+    public boolean hasAllFaces() {
+        for (int faceCount : faceCounts) {
+            if (faceCount == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return возвращает среднее значение бросков в окне или 0.0, если окно пусто.
+     */
+    public double getAverage() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    private void evictOldest() {
+
+        int face = faces[head];
+        int next = (head + 1) % faces.length;
+        if (face == 1 && count > 1 && faces[next] == 1) {
+            adjacentOnes--;
+        }
+
+        sum -= face;
+        faceCounts[face - 1]--;
+        if (face >= 4) {
+            highCount--;
+        }
+        head = next;
+        count--;
+
+    }
+
+}
@@ -0,0 +1,27 @@
+package org.example;
+
+/**
+ * Показатель игрока, вычисляемый прямо по строке {@link RollTable}, без восстановления
+ * объекта {@link Player}. Используется в {@link DiceTournamentAnalyzer#getTopK(int, RowMetric)}.
+ */
+@FunctionalInterface
+public interface RowMetric {
+
+    /**
+     * Количество фишек.
+     */
+    RowMetric CHIPS = (table, row) -> table.chips(row);
+
+    /**
+     * Среднее значение бросков.
+     */
+    RowMetric AVERAGE = (table, row) -> table.stats(row).getAverage();
+
+    /**
+     * @param table таблица турнира.
+     * @param row номер игрока в таблице.
+     * @return возвращает показатель игрока.
+     */
+    double applyAsDouble(RollTable table, int row);
+
+}
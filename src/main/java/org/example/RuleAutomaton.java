@@ -0,0 +1,179 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Правило {@link PlayerRule}, переведённое в конечный автомат для истории фиксированной длины.
+ * Каждое простое правило - отдельный автомат с небольшим числом состояний (счётчик, ограниченный
+ * порогом; длина текущей серии; маска выпавших граней), который учитывает только броски своего
+ * окна; начальное состояние любого простого правила - 0. Общее состояние - набор состояний простых правил, закодированный одним числом
+ * в смешанной системе счисления. Используется {@link ProbabilityEngine} и для точного расчёта,
+ * и для моделирования.
+ */
+final class RuleAutomaton {
+
+    private final List<PlayerRule> leaves = new ArrayList<>();
+    private final int[] radices;      // количество состояний каждого простого правила
+    private final long[] weights;     // вес простого правила в общем номере состояния
+    private final int[] firstActive;  // номер первого броска окна простого правила
+    private final int[][] transitions;  // transitions[leaf][state * 6 + face - 1] - следующее состояние
+    private final Node root;
+    private final long stateCount;
+
+    /**
+     * @param rule правило.
+     * @param rolls длина истории.
+     */
+    RuleAutomaton(PlayerRule rule, int rolls) {
+
+        if (rolls < 0) {
+            throw new IllegalArgumentException("Длина истории не может быть отрицательной: " + rolls);
+        }
+        this.root = compile(rule);
+
+        int count = leaves.size();
+        radices = new int[count];
+        weights = new long[count];
+        firstActive = new int[count];
+        transitions = new int[count][];
+        long states = 1;
+        for (int i = 0; i < count; i++) {
+            PlayerRule leaf = leaves.get(i);
+            radices[i] = switch (leaf.kind) {
+                case COUNT, RUN -> Math.min(leaf.threshold, rolls + 1) + 1;  // порог выше длины истории недостижим
+                case DISTINCT -> 1 << 6;
+                default -> throw new IllegalStateException("Составное правило не может быть листом: " + leaf.kind);
+            };
+            weights[i] = states;
+            try {
+                states = Math.multiplyExact(states, radices[i]);
+            } catch (ArithmeticException e) {
+                states = Long.MAX_VALUE;
+            }
+            firstActive[i] = leaf.window == 0 ? 0 : Math.max(0, rolls - leaf.window);
+            transitions[i] = new int[radices[i] * 6];
+            for (int state = 0; state < radices[i]; state++) {
+                for (int face = 1; face <= 6; face++) {
+                    transitions[i][state * 6 + face - 1] = transition(leaf, radices[i] - 1, state, face);
+                }
+            }
+        }
+        this.stateCount = states;
+
+    }
+
+    /**
+     * @return возвращает количество общих состояний (Long.MAX_VALUE при переполнении).
+     */
+    long stateCount() {
+        return stateCount;
+    }
+
+    int leafCount() {
+        return leaves.size();
+    }
+
+    /**
+     * @param leaf номер простого правила.
+     * @param index номер броска в истории.
+     * @return возвращает true, если бросок index попадает в окно простого правила.
+     */
+    boolean isActive(int leaf, int index) {
+        return index >= firstActive[leaf];
+    }
+
+    /**
+     * @return возвращает состояние простого правила leaf после броска face (от 1 до 6).
+     */
+    int step(int leaf, int state, int face) {
+        return transitions[leaf][state * 6 + face - 1];
+    }
+
+    /**
+     * @param cap наибольшее состояние счётчика; по достижении порога счётчик больше не меняется.
+     */
+    private static int transition(PlayerRule rule, int cap, int state, int face) {
+        return switch (rule.kind) {
+            case COUNT -> face >= rule.fromFace && face <= rule.toFace ? Math.min(state + 1, cap) : state;
+            case RUN -> state == cap ? state : (face == rule.fromFace ? state + 1 : 0);
+            case DISTINCT -> state | 1 << (face - 1);
+            default -> throw new IllegalStateException();
+        };
+
+    }
+
+    /**
+     * @param states состояния всех простых правил.
+     * @return возвращает true, если правило выполняется.
+     */
+    boolean accepts(int[] states) {
+        return root.test(states);
+    }
+
+    int[] decode(long code, int[] states) {
+        for (int i = 0; i < states.length; i++) {
+            states[i] = (int) (code / weights[i] % radices[i]);
+        }
+        return states;
+    }
+
+    long encode(int[] states) {
+        long code = 0;
+        for (int i = 0; i < states.length; i++) {
+            code += states[i] * weights[i];
+        }
+        return code;
+    }
+
+    @FunctionalInterface
+    private interface Node {
+        boolean test(int[] states);
+    }
+
+    private Node compile(PlayerRule rule) {
+
+        return switch (rule.kind) {
+            case COUNT, RUN -> {
+                int leaf = leaves.size();
+                leaves.add(rule);
+                int threshold = rule.threshold;
+                yield states -> states[leaf] >= threshold;
+            }
+            case DISTINCT -> {
+                int leaf = leaves.size();
+                leaves.add(rule);
+                int threshold = rule.threshold;
+                yield states -> Integer.bitCount(states[leaf]) >= threshold;
+            }
+            case ALL_OF -> {
+                Node[] children = rule.children.stream().map(this::compile).toArray(Node[]::new);
+                yield states -> {
+                    for (Node child : children) {
+                        if (!child.test(states)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+            }
+            case ANY_OF -> {
+                Node[] children = rule.children.stream().map(this::compile).toArray(Node[]::new);
+                yield states -> {
+                    for (Node child : children) {
+                        if (child.test(states)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                };
+            }
+            case NOT -> {
+                Node child = compile(rule.children.get(0));
+                yield states -> !child.test(states);
+            }
+        };
+
+    }
+
+}
@@ -0,0 +1,257 @@
+package org.example;
+
+import java.util.*;
+
+/**
+ * Скомпилированный набор правил {@link PlayerRule}. При создании набор определяет, какие
+ * признаки нужны его правилам (количество граней и самые длинные серии по всей истории
+ * и по каждому окну последних бросков), и при классификации вычисляет их один раз на игрока;
+ * затем все правила проверяются по готовым признакам. Поэтому 50 правил обходятся примерно
+ * в один проход по истории, а не в 50.
+ * <p>
+ * Признаки всей истории по возможности берутся из {@link RollStats} без прохода по броскам;
+ * проход нужен только для окон (и тогда лишь по последним броскам) и для серий граней,
+ * отличных от единицы.
+ */
+public final class RuleSet {
+
+    /**
+     * Правила встроенных критериев {@link DiceTournamentAnalyzer}.
+     */
+    public static final RuleSet STANDARD = of(
+            PlayerRule.LOSERS, PlayerRule.LUCKY, PlayerRule.STABLE, PlayerRule.RISKY, PlayerRule.BALANCED);
+
+    private final List<PlayerRule> rules;
+    private final Condition[] conditions;
+    private final int[] windows;         // окна признаков; windows[0] = 0 - вся история
+    private final boolean usesHistory;   // есть правила по всей истории
+    private final boolean scansHistory;  // признаки всей истории требуют прохода по броскам
+    private final int longestWindow;
+
+    private RuleSet(List<PlayerRule> rules) {
+
+        Set<String> names = new HashSet<>();
+        for (PlayerRule rule : rules) {
+            if (!names.add(rule.getName())) {
+                throw new IllegalArgumentException("Правило с именем " + rule.getName() + " уже есть в наборе");
+            }
+        }
+        this.rules = List.copyOf(rules);
+
+        SortedSet<Integer> windowSet = new TreeSet<>(List.of(0));
+        boolean[] history = new boolean[2];  // [0] - используется вся история, [1] - нужен её проход
+        rules.forEach(rule -> collect(rule, windowSet, history));
+        this.windows = windowSet.stream().mapToInt(Integer::intValue).toArray();
+        this.usesHistory = history[0];
+        this.scansHistory = history[1];
+        this.longestWindow = windows[windows.length - 1];
+
+        this.conditions = rules.stream().map(this::compile).toArray(Condition[]::new);
+
+    }
+
+    public static RuleSet of(PlayerRule... rules) {
+        return new RuleSet(List.of(rules));
+    }
+
+    public static RuleSet of(List<PlayerRule> rules) {
+        return new RuleSet(rules);
+    }
+
+    public List<PlayerRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * @param players список игроков.
+     * @return см. {@link #classify(RollTable)}.
+     */
+    public Map<String, List<Player>> classify(List<Player> players) {
+        return classify(RollTable.of(players));
+    }
+
+    /**
+     * Классифицирует всех игроков за один проход по строкам таблицы.
+     * @param table табличное представление турнира.
+     * @return возвращает Map в порядке правил набора, где ключом является имя правила,
+     * а значением - игроки, для которых правило выполняется, в порядке строк таблицы.
+     */
+    public Map<String, List<Player>> classify(RollTable table) {
+
+        Map<String, List<Player>> result = new LinkedHashMap<>();
+        List<List<Player>> matches = new ArrayList<>(rules.size());
+        for (PlayerRule rule : rules) {
+            List<Player> players = new ArrayList<>();
+            result.put(rule.getName(), players);
+            matches.add(players);
+        }
+
+        forEachMatch(table, (row, rule) -> matches.get(rule).add(table.player(row)));
+        return result;
+
+    }
+
+    /**
+     * Проверяет все правила для строк таблицы по порядку.
+     * @param action получает номер строки и номер выполненного для неё правила в наборе.
+     */
+    void forEachMatch(RollTable table, MatchConsumer action) {
+
+        Features features = new Features(windows.length);
+        for (int row = 0; row < table.size(); row++) {
+            features.compute(table, row);
+            for (int i = 0; i < conditions.length; i++) {
+                if (conditions[i].test(features)) {
+                    action.accept(row, i);
+                }
+            }
+        }
+
+    }
+
+    @FunctionalInterface
+    interface MatchConsumer {
+        void accept(int row, int rule);
+    }
+
+    /**
+     * Признаки одного игрока: для каждого окна - количество выпадений и самая длинная серия
+     * каждой грани. Массивы переиспользуются для всех игроков.
+     */
+    private final class Features {
+
+        final int[][] counts;
+        final int[][] longestRuns;
+        private final int[] currentRun;
+        private final int[] previousFace;
+
+        Features(int slots) {
+            counts = new int[slots][6];
+            longestRuns = new int[slots][6];
+            currentRun = new int[slots];
+            previousFace = new int[slots];
+        }
+
+        void compute(RollTable table, int row) {
+
+            for (int slot = 0; slot < windows.length; slot++) {
+                Arrays.fill(counts[slot], 0);
+                Arrays.fill(longestRuns[slot], 0);
+                currentRun[slot] = 0;
+                previousFace[slot] = -1;
+            }
+
+            if (usesHistory && !scansHistory) {
+                RollStats stats = table.stats(row);
+                for (int face = 1; face <= 6; face++) {
+                    counts[0][face - 1] = stats.getFaceCount(face);
+                }
+                longestRuns[0][0] = stats.getLongestOneRun();
+            }
+
+            int rollCount = table.rollCount(row);
+            int firstSlot = scansHistory ? 0 : 1;
+            if (firstSlot == windows.length) {
+                return;
+            }
+
+            int start = scansHistory ? 0 : Math.max(0, rollCount - longestWindow);
+            for (int i = start; i < rollCount; i++) {
+                int face = table.roll(row, i) - 1;
+                for (int slot = firstSlot; slot < windows.length; slot++) {
+                    if (slot > 0 && i < rollCount - windows[slot]) {
+                        continue;
+                    }
+                    counts[slot][face]++;
+                    currentRun[slot] = previousFace[slot] == face ? currentRun[slot] + 1 : 1;
+                    previousFace[slot] = face;
+                    longestRuns[slot][face] = Math.max(longestRuns[slot][face], currentRun[slot]);
+                }
+            }
+
+        }
+
+    }
+
+    @FunctionalInterface
+    private interface Condition {
+        boolean test(Features features);
+    }
+
+    private Condition compile(PlayerRule rule) {
+
+        int slot = Arrays.binarySearch(windows, rule.window);
+        int from = rule.fromFace - 1;
+        int to = rule.toFace - 1;
+        int threshold = rule.threshold;
+
+        return switch (rule.kind) {
+            case COUNT -> features -> {
+                int count = 0;
+                for (int face = from; face <= to; face++) {
+                    count += features.counts[slot][face];
+                }
+                return count >= threshold;
+            };
+            case RUN -> features -> features.longestRuns[slot][from] >= threshold;
+            case DISTINCT -> features -> {
+                int distinct = 0;
+                for (int face = 0; face < 6; face++) {
+                    if (features.counts[slot][face] > 0) {
+                        distinct++;
+                    }
+                }
+                return distinct >= threshold;
+            };
+            case ALL_OF -> {
+                Condition[] children = rule.children.stream().map(this::compile).toArray(Condition[]::new);
+                yield features -> {
+                    for (Condition child : children) {
+                        if (!child.test(features)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+            }
+            case ANY_OF -> {
+                Condition[] children = rule.children.stream().map(this::compile).toArray(Condition[]::new);
+                yield features -> {
+                    for (Condition child : children) {
+                        if (child.test(features)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                };
+            }
+            case NOT -> {
+                Condition child = compile(rule.children.get(0));
+                yield features -> !child.test(features);
+            }
+        };
+
+    }
+
+    /**
+     * Собирает окна, которые нужны правилу, и отмечает, нужна ли вся история и её проход
+     * (серии граней, кроме единицы, в {@link RollStats} не ведутся).
+     */
+    private static void collect(PlayerRule rule, Set<Integer> windows, boolean[] history) {
+
+        if (!rule.children.isEmpty() || rule.kind == PlayerRule.Kind.ALL_OF || rule.kind == PlayerRule.Kind.ANY_OF) {
+            rule.children.forEach(child -> collect(child, windows, history));
+            return;
+        }
+        if (rule.window > 0) {
+            windows.add(rule.window);
+        } else {
+            history[0] = true;
+            if (rule.kind == PlayerRule.Kind.RUN && rule.fromFace != 1) {
+                history[1] = true;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,59 @@
+package org.example;
+
+/**
+ * Скалярная реализация {@link RollKernels}, используется, когда Vector API недоступен.
+ */
+class ScalarRollKernels implements RollKernels {
+
+    @Override
+    public long sum(byte[] rolls, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += rolls[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public int countFace(byte[] rolls, int from, int to, int face) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (rolls[i] == face) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void countFaces(byte[] rolls, int from, int to, int[] counts) {
+        for (int i = from; i < to; i++) {
+            int face = rolls[i];
+            if (face >= 1 && face <= 6) {
+                counts[face - 1]++;
+            }
+        }
+    }
+
+    @Override
+    public int countAtLeast(byte[] rolls, int from, int to, int threshold) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (rolls[i] >= threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public boolean hasAdjacentOnes(byte[] rolls, int from, int to) {
+        for (int i = from; i + 1 < to; i++) {
+            if (rolls[i] == 1 && rolls[i + 1] == 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,207 @@
+package org.example;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Анализ турнира, который не помещается в память одной JVM. Турнир разбивается на шарды -
+ * файлы {@link TournamentLog} с подряд идущими строками; каждый шард анализируется отдельным
+ * процессом {@link ShardWorker}, а их {@link PartialReport} объединяются в порядке шардов.
+ * Результат совпадает с {@code PartialReport.of(весь турнир)}.
+ */
+public class ShardCoordinator {
+
+    private final int parallelism;
+    private final List<String> jvmOptions;
+
+    /**
+     * @param parallelism сколько рабочих процессов может работать одновременно.
+     */
+    public ShardCoordinator(int parallelism) {
+        this(parallelism, List.of());
+    }
+
+    /**
+     * @param parallelism сколько рабочих процессов может работать одновременно.
+     * @param jvmOptions параметры JVM рабочих процессов, например {@code -Xmx512m}.
+     */
+    public ShardCoordinator(int parallelism, List<String> jvmOptions) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Количество процессов должно быть положительным: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.jvmOptions = List.copyOf(jvmOptions);
+    }
+
+    /**
+     * Разбивает турнир на shards файлов с примерно равным количеством игроков.
+     * @param table турнир.
+     * @param shards количество шардов.
+     * @param directory каталог, в который записываются файлы шардов.
+     * @return возвращает файлы шардов в порядке строк турнира.
+     */
+    public static List<Path> partition(RollTable table, int shards, Path directory) throws IOException {
+
+        if (shards < 1) {
+            throw new IllegalArgumentException("Количество шардов должно быть положительным: " + shards);
+        }
+
+        List<Path> files = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            int from = (int) ((long) table.size() * shard / shards);
+            int to = (int) ((long) table.size() * (shard + 1) / shards);
+            Path file = directory.resolve(String.format("shard-%05d.dice", shard));
+            TournamentLogWriter.write(file, new Slice(table, from, to));
+            files.add(file);
+        }
+        return files;
+
+    }
+
+    /**
+     * Анализирует шарды в рабочих процессах и объединяет их отчёты.
+     * @param shards файлы шардов в порядке строк турнира (см. {@link #partition(RollTable, int, Path)}).
+     * @return возвращает отчёт по всему турниру.
+     * @throws IOException если рабочий процесс завершился с ошибкой; сообщение содержит его вывод.
+     */
+    public PartialReport analyze(List<Path> shards) throws IOException, InterruptedException {
+
+        // Номера строк шарда во всём турнире определяются размерами предыдущих шардов.
+        long[] firstRows = new long[shards.size()];
+        long rows = 0;
+        for (int i = 0; i < shards.size(); i++) {
+            firstRows[i] = rows;
+            try (TournamentLog log = TournamentLog.open(shards.get(i))) {
+                rows += log.size();
+            }
+        }
+
+        Path workDir = Files.createTempDirectory("shards");
+        Deque<Worker> running = new ArrayDeque<>();
+        List<Worker> started = new ArrayList<>();
+        try {
+
+            for (int shard = 0; shard < shards.size(); shard++) {
+                if (running.size() == parallelism) {
+                    running.removeFirst().await();
+                }
+                Worker worker = startWorker(shard, shards.get(shard), firstRows[shard], workDir);
+                running.addLast(worker);
+                started.add(worker);
+            }
+            while (!running.isEmpty()) {
+                running.removeFirst().await();
+            }
+
+            PartialReport result = PartialReport.of(RollTable.of(List.of()));
+            for (Worker worker : started) {
+                result = result.merge(worker.report());
+            }
+            return result;
+
+        } finally {
+            for (Worker worker : started) {
+                worker.process().destroyForcibly();
+            }
+            try (var files = Files.list(workDir)) {
+                for (Path file : files.toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(workDir);
+        }
+
+    }
+
+    private Worker startWorker(int shard, Path log, long firstRow, Path workDir) throws IOException {
+
+        Path report = workDir.resolve(shard + ".report");
+        Path output = workDir.resolve(shard + ".log");
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(ShardWorker.class.getName());
+        command.add(log.toAbsolutePath().toString());
+        command.add(Long.toString(firstRow));
+        command.add(report.toString());
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(output.toFile())
+                .start();
+        return new Worker(log, process, report, output);
+
+    }
+
+    /**
+     * Запущенный рабочий процесс и его файлы.
+     */
+    private record Worker(Path shard, Process process, Path reportFile, Path output) {
+
+        void await() throws IOException, InterruptedException {
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                String log = Files.readString(output, StandardCharsets.UTF_8);
+                throw new IOException("Анализ шарда " + shard + " завершился с кодом " + exitCode + ":\n" + log);
+            }
+        }
+
+        PartialReport report() throws IOException {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(reportFile), 1 << 16))) {
+                return PartialReport.readFrom(in);
+            }
+        }
+
+    }
+
+    /**
+     * Подряд идущие строки [from, to) другой таблицы.
+     */
+    private record Slice(RollTable table, int from, int to) implements RollTable {
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public String name(int row) {
+            return table.name(from + row);
+        }
+
+        @Override
+        public int chips(int row) {
+            return table.chips(from + row);
+        }
+
+        @Override
+        public int rollCount(int row) {
+            return table.rollCount(from + row);
+        }
+
+        @Override
+        public int roll(int row, int index) {
+            return table.roll(from + row, index);
+        }
+
+        @Override
+        public RollStats stats(int row) {
+            return table.stats(from + row);
+        }
+
+        @Override
+        public Player player(int row) {
+            return table.player(from + row);
+        }
+
+    }
+
+}
@@ -0,0 +1,46 @@
+package org.example;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Точка входа рабочего процесса {@link ShardCoordinator}: читает шард турнира из файла
+ * {@link TournamentLog} и записывает его {@link PartialReport}.
+ * <pre>
+ * java -cp ... org.example.ShardWorker &lt;файл шарда&gt; &lt;номер первой строки&gt; &lt;файл отчёта&gt;
+ * </pre>
+ */
+public class ShardWorker {
+
+    private ShardWorker() {
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        if (args.length != 3) {
+            throw new IllegalArgumentException("Ожидаются аргументы: <файл шарда> <номер первой строки> <файл отчёта>");
+        }
+
+        Path log = Path.of(args[0]);
+        long firstRow = Long.parseLong(args[1]);
+        Path output = Path.of(args[2]);
+
+        PartialReport report;
+        try (TournamentLog table = TournamentLog.open(log)) {
+            report = PartialReport.of(table, firstRow);
+        }
+
+        // Отчёт пишется во временный файл и переименовывается, чтобы координатор не прочитал недописанный.
+        Path temp = output.resolveSibling(output.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            report.writeTo(out);
+        }
+        Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING);
+
+    }
+
+}
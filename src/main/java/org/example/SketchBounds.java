@@ -0,0 +1,23 @@
+package org.example;
+
+/**
+ * Параметры точности {@link ApproximateTournamentAnalyzer}; от них зависит и постоянный
+ * объём памяти анализатора.
+ * @param frequencyError погрешность частот граней относительно общего количества бросков
+ *                       ({@link CountMinSketch}, epsilon).
+ * @param frequencyFailureProbability вероятность превысить погрешность частот (delta).
+ * @param cardinalityPrecision точность подсчёта игроков категорий ({@link HyperLogLog}):
+ *                             стандартная ошибка 1.04 / sqrt(2^precision).
+ * @param quantileCompression параметр сжатия {@link TDigest} для квантилей среднего и "индекса удачи".
+ * @param sampleSize размер выборки игроков каждой категории ({@link ReservoirSample}).
+ */
+public record SketchBounds(double frequencyError, double frequencyFailureProbability, int cardinalityPrecision,
+                           double quantileCompression, int sampleSize) {
+
+    /**
+     * Около 150 КБ: частоты с погрешностью 0.1% бросков с вероятностью 99%, количество игроков
+     * категорий с ошибкой 1.6%, квантили с ошибкой ранга не больше 1.5%, выборки по 100 игроков.
+     */
+    public static final SketchBounds DEFAULT = new SketchBounds(0.001, 0.01, 12, 200, 100);
+
+}
@@ -0,0 +1,260 @@
+package org.example;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.IntToDoubleFunction;
+
+import org.example.DiceTournamentAnalyzer.ChipCategory;
+
+/**
+ * Анализ непрерывного потока бросков {@link RollEvent}. Для каждого игрока ведётся только
+ * статистика в массивах по идентификаторам ({@link RollStatsColumns}), обновляемая за O(1)
+ * на событие, поэтому память ограничена количеством игроков, а сама история бросков
+ * не хранится.
+ * <p>
+ * Вместе со статистикой на каждом событии обновляются и сами результаты: категории игроков
+ * (множества идентификаторов, куда игрок попадает один раз - счётчики только растут)
+ * и порядок игроков по среднему и по дисперсии (упорядоченные множества, O(log n) на событие).
+ * Поэтому снимок ({@link TournamentReport}) по запросу или по таймеру лишь копирует
+ * готовое состояние: первые три игрока и игрок с наибольшей дисперсией берутся из начала
+ * упорядоченных множеств, а не ищутся проходом по всем игрокам.
+ * События принимаются из Iterator или от {@link Flow.Publisher}; методы потокобезопасны.
+ */
+public class StreamingTournamentAnalyzer implements Flow.Subscriber<RollEvent>, AutoCloseable {
+
+    private static final int TOP_SIZE = 3;
+
+    private final PlayerRegistry roster;  // идентификатор игрока совпадает с номером строки
+    private final PlayerRoster readOnlyRoster;
+    private final RollStatsColumns stats;  // по идентификаторам roster
+
+    // Категории: идентификаторы игроков, для которых условие уже выполнилось.
+    private final BitSet losers = new BitSet();
+    private final BitSet lucky = new BitSet();
+    private final BitSet stable = new BitSet();
+    private final BitSet risky = new BitSet();
+    private final BitSet balanced = new BitSet();
+
+    // Все игроки по убыванию показателя; при равенстве раньше тот, у кого меньше идентификатор.
+    private final NavigableSet<Integer> byAverage;
+    private final NavigableSet<Integer> byVariance;
+
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private ScheduledExecutorService timer;
+    private volatile Flow.Subscription subscription;
+
+    /**
+     * @param roster игроки, чьи броски приходят в потоке. Объекты игроков используются только
+     *               в результатах; их собственная история бросков не изменяется.
+     */
+    public StreamingTournamentAnalyzer(List<Player> roster) {
+
+        this.roster = PlayerRegistry.of(roster);
+        this.readOnlyRoster = this.roster.readOnly();
+        this.stats = new RollStatsColumns(roster.size());
+        this.byAverage = new TreeSet<>(descending(stats::average));
+        this.byVariance = new TreeSet<>(descending(stats::variance));
+        for (int id = 0; id < roster.size(); id++) {
+            byAverage.add(id);
+            byVariance.add(id);
+        }
+
+    }
+
+    /**
+     * Учитывает один бросок.
+     * @param event событие потока; игрок должен быть в составе турнира.
+     */
+    public synchronized void accept(RollEvent event) {
+
+        int id = roster.idOf(event.player());
+        if (id < 0) {
+            throw new IllegalArgumentException("Игрок не участвует в турнире: " + event.player());
+        }
+        record(id, event.face());
+
+    }
+
+    /**
+     * Учитывает бросок игрока, идентификатор которого уже известен, без поиска по имени.
+     * @param id идентификатор игрока в {@link #getRoster()}.
+     * @param face значение кубика, от 1 до 6.
+     */
+    public synchronized void accept(int id, int face) {
+
+        if (id < 0 || id >= stats.size()) {
+            throw new IllegalArgumentException("Игрок не участвует в турнире: " + id);
+        }
+        if (face < 1 || face > 6) {
+            throw new IllegalArgumentException("Значение кубика должно быть от 1 до 6: " + face);
+        }
+        record(id, face);
+
+    }
+
+    /**
+     * @return возвращает состав турнира только для чтения: идентификатор игрока - его номер
+     * в исходном списке.
+     */
+    public PlayerRoster getRoster() {
+        return readOnlyRoster;
+    }
+
+    /**
+     * Учитывает все события источника до его исчерпания.
+     */
+    public void consume(Iterator<RollEvent> events) {
+        events.forEachRemaining(this::accept);
+    }
+
+    /**
+     * @return возвращает снимок всех результатов анализа на текущий момент.
+     */
+    public synchronized TournamentReport snapshot() {
+
+        Map<Player, Double> averageScores = new LinkedHashMap<>();
+        Map<Player, Double> luckIndex = new LinkedHashMap<>();
+        Map<ChipCategory, List<Player>> playersGroupedByChips = new LinkedHashMap<>();
+        for (ChipCategory category : ChipCategory.values()) {
+            playersGroupedByChips.put(category, new ArrayList<>());
+        }
+        for (int id = 0; id < stats.size(); id++) {
+            Player player = roster.get(id);
+            int chips = roster.chips(id);
+            averageScores.put(player, stats.average(id));
+            luckIndex.put(player, stats.luckIndex(id, chips));
+            playersGroupedByChips.get(ChipThresholds.DEFAULT.categoryOf(chips)).add(player);
+        }
+
+        List<Player> topThree = new ArrayList<>(TOP_SIZE);
+        for (Iterator<Integer> ids = byAverage.iterator(); ids.hasNext() && topThree.size() < TOP_SIZE; ) {
+            topThree.add(roster.get(ids.next()));
+        }
+        Player maxVariancePlayer = byVariance.isEmpty() ? null : roster.get(byVariance.first());
+
+        return new TournamentReport(averageScores, topThree, players(losers), players(lucky),
+                playersGroupedByChips, players(stable), players(risky), players(balanced),
+                luckIndex, maxVariancePlayer);
+
+    }
+
+    /**
+     * Публикует снимки с заданным периодом, пока анализатор не будет закрыт.
+     * @param period период публикации.
+     * @param listener получатель снимков; вызывается в отдельном потоке.
+     */
+    public synchronized void publishEvery(Duration period, Consumer<TournamentReport> listener) {
+
+        if (timer == null) {
+            timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "tournament-snapshots");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        timer.scheduleAtFixedRate(() -> listener.accept(snapshot()),
+                period.toNanos(), period.toNanos(), TimeUnit.NANOSECONDS);
+
+    }
+
+    /**
+     * @return возвращает future, который завершается, когда издатель закончил поток
+     * (или завершается с ошибкой издателя либо с ошибкой обработки события, например
+     * из-за неизвестного игрока).
+     */
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    /**
+     * Анализатор подписывается только на одного издателя; повторная подписка отменяется.
+     */
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    /**
+     * Подписчик не должен бросать исключения издателю (Reactive Streams, правило 2.13), поэтому
+     * ошибка обработки события отменяет подписку и завершает {@link #completion()} с этой ошибкой.
+     */
+    @Override
+    public void onNext(RollEvent event) {
+        try {
+            accept(event);
+        } catch (RuntimeException e) {
+            subscription.cancel();
+            completion.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        completion.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        completion.complete(null);
+    }
+
+    /**
+     * Останавливает публикацию снимков по таймеру, отменяет подписку на издателя
+     * и отписывается от изменений фишек игроков (см. {@link PlayerRegistry#close()}).
+     */
+    @Override
+    public synchronized void close() {
+        if (timer != null) {
+            timer.shutdownNow();
+            timer = null;
+        }
+        Flow.Subscription current = subscription;
+        if (current != null) {
+            current.cancel();
+        }
+        roster.close();
+    }
+
+    /**
+     * Учитывает бросок и обновляет результаты, которые от него зависят. Игрок сначала
+     * убирается из упорядоченных множеств: его место в них определяется старыми значениями.
+     */
+    private void record(int id, int face) {
+
+        byAverage.remove(id);
+        byVariance.remove(id);
+        stats.accept(id, face);
+        byAverage.add(id);
+        byVariance.add(id);
+
+        if (stats.faceCount(id, 1) >= 3) losers.set(id);
+        if (stats.faceCount(id, 6) >= 4) lucky.set(id);
+        if (stats.highCount(id) >= 8) stable.set(id);
+        if (stats.hasConsecutiveOnes(id)) risky.set(id);
+        if (stats.hasAllFaces(id)) balanced.set(id);
+
+    }
+
+    private List<Player> players(BitSet ids) {
+        List<Player> players = new ArrayList<>(ids.cardinality());
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            players.add(roster.get(id));
+        }
+        return players;
+    }
+
+    private static Comparator<Integer> descending(IntToDoubleFunction metric) {
+        return (first, second) -> {
+            int order = Double.compare(metric.applyAsDouble(second), metric.applyAsDouble(first));
+            return order != 0 ? order : Integer.compare(first, second);
+        };
+    }
+
+}
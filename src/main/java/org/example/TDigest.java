@@ -0,0 +1,164 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * t-digest: оценка квантилей потока чисел в памяти, зависящей только от параметра сжатия.
+ * Значения собираются в центроиды, размер которых ограничен функцией масштаба
+ * k(q) = compression / 2π · asin(2q - 1): у краёв распределения центроиды мелкие,
+ * поэтому крайние квантили оцениваются точнее средних. Центроидов не больше compression.
+ */
+public class TDigest {
+
+    private final double compression;
+    private final double[] buffer;
+    private int buffered;
+    private double[] means = new double[0];
+    private double[] weights = new double[0];
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * @param compression параметр сжатия, не меньше 10; чем больше, тем точнее оценка и больше памяти.
+     */
+    public TDigest(double compression) {
+        if (!(compression >= 10)) {
+            throw new IllegalArgumentException("Параметр сжатия t-digest должен быть не меньше 10: " + compression);
+        }
+        this.compression = compression;
+        this.buffer = new double[(int) (5 * compression)];
+    }
+
+    public void add(double value) {
+
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Значение не может быть NaN");
+        }
+        buffer[buffered++] = value;
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (buffered == buffer.length) {
+            compress();
+        }
+
+    }
+
+    /**
+     * @param q квантиль, от 0 до 1.
+     * @return возвращает оценку квантиля или NaN, если значений не было.
+     */
+    public double quantile(double q) {
+
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Квантиль должен быть от 0 до 1: " + q);
+        }
+        compress();
+        int size = means.length;
+        if (size == 0) {
+            return Double.NaN;
+        }
+        if (size == 1) {
+            return means[0];
+        }
+
+        // Центроид i представляет ранг своей середины; между серединами значения интерполируются,
+        // а за крайними серединами - до минимума и максимума.
+        double index = q * count;
+        if (index < weights[0] / 2) {
+            return min + (means[0] - min) * index / (weights[0] / 2);
+        }
+        double rank = weights[0] / 2;
+        for (int i = 0; i < size - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2;
+            if (rank + step > index) {
+                return means[i] + (means[i + 1] - means[i]) * (index - rank) / step;
+            }
+            rank += step;
+        }
+        double last = weights[size - 1] / 2;
+        return means[size - 1] + (max - means[size - 1]) * Math.min(1, (index - rank) / last);
+
+    }
+
+    public long size() {
+        return count;
+    }
+
+    /**
+     * @return возвращает количество центроидов после сжатия.
+     */
+    public int centroidCount() {
+        compress();
+        return means.length;
+    }
+
+    /**
+     * Сливает накопленный буфер с центроидами за один проход в порядке возрастания.
+     */
+    private void compress() {
+
+        if (buffered == 0) {
+            return;
+        }
+        Arrays.sort(buffer, 0, buffered);
+
+        int total = means.length + buffered;
+        double[] mergedMeans = new double[total];
+        double[] mergedWeights = new double[total];
+        int size = 0;
+
+        double processed = 0;   // вес всех закрытых центроидов
+        double limit = weightLimit(0);
+        int i = 0;
+        int j = 0;
+        while (i < means.length || j < buffered) {
+
+            double mean;
+            double weight;
+            if (j == buffered || i < means.length && means[i] <= buffer[j]) {
+                mean = means[i];
+                weight = weights[i++];
+            } else {
+                mean = buffer[j++];
+                weight = 1;
+            }
+
+            if (size > 0 && processed + mergedWeights[size - 1] + weight <= limit) {
+                double merged = mergedWeights[size - 1] + weight;
+                mergedMeans[size - 1] += (mean - mergedMeans[size - 1]) * weight / merged;
+                mergedWeights[size - 1] = merged;
+            } else {
+                if (size > 0) {
+                    processed += mergedWeights[size - 1];
+                    limit = weightLimit(processed);
+                }
+                mergedMeans[size] = mean;
+                mergedWeights[size] = weight;
+                size++;
+            }
+
+        }
+
+        means = Arrays.copyOf(mergedMeans, size);
+        weights = Arrays.copyOf(mergedWeights, size);
+        buffered = 0;
+
+    }
+
+    /**
+     * @param processed суммарный вес центроидов левее текущего.
+     * @return возвращает наибольший накопленный вес, до которого текущий центроид может расти:
+     * k(q) центроида увеличивается не более чем на 1.
+     */
+    private double weightLimit(double processed) {
+        double q = processed / count;
+        double k = compression / (2 * Math.PI) * Math.asin(2 * q - 1) + 1;
+        if (k >= compression / 4) {
+            return count;
+        }
+        return count * (Math.sin(k * 2 * Math.PI / compression) + 1) / 2;
+    }
+
+}
@@ -0,0 +1,142 @@
+package org.example;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Запускает множество независимых столов одновременно: игровой цикл каждого стола (rounds
+ * раундов {@link Player#throwDice()} и итоговый отчёт {@link DiceTournamentAnalyzer#getReport()})
+ * выполняется в собственном виртуальном потоке. Паузы между раундами (roundDelay) не занимают
+ * потоков ОС, поэтому на одной JVM можно держать сотни тысяч столов.
+ * <p>
+ * Запуск структурирован: {@link #run(List)} возвращается только после завершения всех столов.
+ * Если один из столов завершился с ошибкой, вызывающий поток прерван или вызван
+ * {@link #cancel()}, остальные столы прерываются.
+ * Игроки не должны участвовать в нескольких столах одновременно: {@link Player} не потокобезопасен.
+ */
+public class TableRunner {
+
+    private final int rounds;
+    private final Duration roundDelay;
+    private final Supplier<ExecutorService> executors;
+    private final List<List<Future<Integer>>> running = new CopyOnWriteArrayList<>();  // столы выполняющихся запусков
+
+    /**
+     * @param rounds количество раундов на каждом столе.
+     */
+    public TableRunner(int rounds) {
+        this(rounds, Duration.ZERO);
+    }
+
+    /**
+     * @param rounds количество раундов на каждом столе.
+     * @param roundDelay пауза после каждого раунда, например время на ход игроков.
+     */
+    public TableRunner(int rounds, Duration roundDelay) {
+        this(rounds, roundDelay, Executors::newVirtualThreadPerTaskExecutor);
+    }
+
+    /**
+     * @param rounds количество раундов на каждом столе.
+     * @param roundDelay пауза после каждого раунда.
+     * @param executors источник исполнителя для одного запуска, например пул платформенных потоков
+     * для сравнения с виртуальными. Исполнитель закрывается по окончании запуска.
+     */
+    public TableRunner(int rounds, Duration roundDelay, Supplier<ExecutorService> executors) {
+
+        if (rounds < 0) {
+            throw new IllegalArgumentException("Количество раундов не может быть отрицательным: " + rounds);
+        }
+        if (roundDelay.isNegative()) {
+            throw new IllegalArgumentException("Пауза между раундами не может быть отрицательной: " + roundDelay);
+        }
+
+        this.rounds = rounds;
+        this.roundDelay = roundDelay;
+        this.executors = executors;
+
+    }
+
+    /**
+     * @param tables столы, каждый стол - список его игроков.
+     * @return возвращает отчёты столов в порядке исходного списка.
+     * @throws InterruptedException если вызывающий поток прерван; все столы при этом прерываются.
+     * @throws CancellationException если запуск отменён через {@link #cancel()}.
+     * @throws IllegalStateException если игровой цикл одного из столов завершился с ошибкой.
+     */
+    public List<TournamentReport> run(List<List<Player>> tables) throws InterruptedException {
+
+        List<Future<Integer>> futures = new ArrayList<>(tables.size());
+        running.add(futures);
+
+        try (ExecutorService executor = executors.get()) {
+
+            CompletionService<Integer> completion = new ExecutorCompletionService<>(executor);
+            TournamentReport[] reports = new TournamentReport[tables.size()];
+
+            try {
+                synchronized (futures) {
+                    for (int i = 0; i < tables.size(); i++) {
+                        int table = i;
+                        futures.add(completion.submit(() -> {
+                            reports[table] = play(tables.get(table));
+                            return table;
+                        }));
+                    }
+                }
+
+                // Результаты забираются в порядке завершения, чтобы первая же ошибка прервала остальные столы.
+                for (int done = 0; done < tables.size(); done++) {
+                    try {
+                        completion.take().get();
+                    } catch (ExecutionException e) {
+                        throw new IllegalStateException("Стол завершился с ошибкой", e.getCause());
+                    }
+                }
+
+                return List.of(reports);
+
+            } finally {
+                cancel(futures);
+            }
+
+        } finally {
+            running.remove(futures);
+        }
+
+    }
+
+    /**
+     * Прерывает все выполняющиеся запуски; {@link #run(List)} завершается с CancellationException.
+     */
+    public void cancel() {
+        running.forEach(TableRunner::cancel);
+    }
+
+    private static void cancel(List<Future<Integer>> futures) {
+        synchronized (futures) {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private TournamentReport play(List<Player> table) throws InterruptedException {
+
+        for (int round = 0; round < rounds; round++) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            for (Player player : table) {
+                player.throwDice();
+            }
+            if (!roundDelay.isZero()) {
+                Thread.sleep(roundDelay);
+            }
+        }
+        return new DiceTournamentAnalyzer(table).getReport();
+
+    }
+
+}
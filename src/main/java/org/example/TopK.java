@@ -0,0 +1,108 @@
+package org.example;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+
+/**
+ * Ограниченная куча для отбора k лучших элементов по показателю: O(n log k) времени
+ * и O(k) памяти вместо полной сортировки. При равных показателях выше ставится элемент,
+ * который встретился раньше, поэтому результат не зависит от того, как поток был разбит
+ * на части при параллельной обработке.
+ * @param <T> тип отбираемых элементов.
+ */
+public class TopK<T> {
+
+    private record Entry<T>(long order, T element, double score) {}
+
+    private final int k;
+    private final Comparator<Entry<T>> worstFirst = worstFirst();
+    private final PriorityQueue<Entry<T>> heap;
+    private long offered;  // сколько элементов было предложено, задаёт порядок появления
+
+    /**
+     * @param k количество отбираемых элементов.
+     */
+    public TopK(int k) {
+
+        if (k < 0) {
+            throw new IllegalArgumentException("Количество отбираемых элементов не может быть отрицательным: " + k);
+        }
+
+        this.k = k;
+        // В голове кучи всегда находится худший из отобранных элементов.
+        this.heap = new PriorityQueue<>(Math.max(1, k), worstFirst);
+
+    }
+
+    /**
+     * @param k количество отбираемых элементов.
+     * @param metric показатель, по убыванию которого отбираются элементы.
+     * @return возвращает Collector, который отбирает k лучших элементов потока,
+     * в том числе параллельного, от лучшего к худшему.
+     */
+    public static <T> Collector<T, ?, List<T>> collector(int k, ToDoubleFunction<? super T> metric) {
+        return Collector.of(
+                () -> new TopK<T>(k),
+                (top, element) -> top.offer(element, metric.applyAsDouble(element)),
+                TopK::merge,
+                TopK::toList
+        );
+    }
+
+    /**
+     * Предлагает элемент: он попадает в кучу, только если лучше худшего из уже отобранных.
+     * @param element элемент.
+     * @param score показатель элемента.
+     */
+    public void offer(T element, double score) {
+        offer(new Entry<>(offered++, element, score));
+    }
+
+    /**
+     * Объединяет результаты двух последовательных частей потока: элементы other
+     * считаются появившимися после всех элементов этой кучи.
+     * @return возвращает эту же кучу, дополненную элементами other.
+     */
+    public TopK<T> merge(TopK<T> other) {
+
+        long shift = offered;
+        other.heap.forEach(entry -> offer(new Entry<>(entry.order() + shift, entry.element(), entry.score())));
+        offered += other.offered;
+        return this;
+
+    }
+
+    /**
+     * @return возвращает отобранные элементы, от лучшего к худшему.
+     */
+    public List<T> toList() {
+        return heap.stream()
+                .sorted(worstFirst.reversed())
+                .map(Entry::element)
+                .toList();
+    }
+
+    private void offer(Entry<T> entry) {
+
+        if (k == 0) {
+            return;
+        }
+
+        if (heap.size() < k) {
+            heap.add(entry);
+        } else if (worstFirst.compare(entry, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(entry);
+        }
+
+    }
+
+    private static <T> Comparator<Entry<T>> worstFirst() {
+        return Comparator.<Entry<T>>comparingDouble(Entry::score)
+                .thenComparing(Comparator.<Entry<T>>comparingLong(Entry::order).reversed());
+    }
+
+}
@@ -0,0 +1,222 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Турнир, записанный {@link TournamentLogWriter} и отображённый в память через
+ * {@link FileChannel#map}. Файл не загружается в кучу: {@link DiceTournamentAnalyzer} читает
+ * броски прямо из отображения, объекты {@link Player} создаются только для строк,
+ * попавших в результаты. Файлы больше 2 ГБ отображаются частями по 1 ГБ.
+ * <p>
+ * Восстановленный игрок - это копия истории бросков в куче. Выборки и отбор лучших
+ * восстанавливают только попавших в результат игроков, но запросы, где ключом является
+ * каждый игрок ({@link DiceTournamentAnalyzer#getMapOfAverageScores()},
+ * {@link DiceTournamentAnalyzer#getLuckIndex()}, группировка по фишкам, отчёт), копируют
+ * в кучу весь журнал, пока используется их результат. Для больших журналов вместо них
+ * подходят варианты с буфером ({@link DiceTournamentAnalyzer#getLuckIndex(double[])} и т.п.).
+ * Сам журнал восстановленных игроков не удерживает (см. {@link PlayerCache}).
+ */
+public class TournamentLog implements RollTable, AutoCloseable {
+
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+    // Части перекрываются, чтобы long, начавшийся в конце одной части, целиком читался из неё.
+    private static final int CHUNK_OVERLAP = Long.BYTES;
+    // История строки копируется сюда для подсчёта статистики; буфер растёт до самой длинной строки.
+    private static final ThreadLocal<byte[]> ROW_BUFFER = ThreadLocal.withInitial(() -> new byte[64]);
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] chunks;
+    private final int size;
+    private final long namesStart;
+    private final long rollsStart;
+    private final long totalRolls;
+
+    private final PlayerCache players = new PlayerCache();
+
+    private TournamentLog(FileChannel channel) throws IOException {
+
+        this.channel = channel;
+        long fileSize = channel.size();
+        if (fileSize < TournamentLogWriter.HEADER_SIZE) {
+            throw new IOException("Файл слишком мал для журнала турнира");
+        }
+
+        int count = (int) ((fileSize + CHUNK_SIZE - 1) >>> CHUNK_SHIFT);
+        this.chunks = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = (long) i << CHUNK_SHIFT;
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                    Math.min(fileSize - start, CHUNK_SIZE + CHUNK_OVERLAP));
+        }
+
+        if (readInt(0) != TournamentLogWriter.MAGIC) {
+            throw new IOException("Файл не является журналом турнира");
+        }
+        if (readInt(4) != TournamentLogWriter.VERSION) {
+            throw new IOException("Неподдерживаемая версия журнала: " + readInt(4));
+        }
+
+        this.size = readInt(8);
+        this.totalRolls = readLong(16);
+        long namesSize = readLong(24);
+        this.namesStart = TournamentLogWriter.HEADER_SIZE + (long) size * TournamentLogWriter.ENTRY_SIZE;
+        this.rollsStart = namesStart + namesSize;
+        if (size < 0 || rollsStart + totalRolls != fileSize) {
+            throw new IOException("Размер файла не соответствует заголовку журнала");
+        }
+
+    }
+
+    /**
+     * @param path файл, записанный {@link TournamentLogWriter}.
+     * @return возвращает журнал, отображённый в память только для чтения.
+     */
+    public static TournamentLog open(Path path) throws IOException {
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new TournamentLog(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String name(int row) {
+
+        long entry = entry(row);
+        long start = namesStart + readInt(entry + 16);
+        byte[] name = new byte[readInt(entry + 20)];
+        for (int i = 0; i < name.length; i++) {
+            name[i] = readByte(start + i);
+        }
+        return new String(name, StandardCharsets.UTF_8);
+
+    }
+
+    @Override
+    public int chips(int row) {
+        return readInt(entry(row) + 12);
+    }
+
+    @Override
+    public int rollCount(int row) {
+        return readInt(entry(row) + 8);
+    }
+
+    @Override
+    public int roll(int row, int index) {
+        if (index < 0 || index >= rollCount(row)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + rollCount(row));
+        }
+        return readByte(rollsPosition(row) + index);
+    }
+
+    /**
+     * История копируется из отображения целыми участками, по одному на каждую часть файла.
+     */
+    @Override
+    public void rolls(int row, byte[] out, int offset) {
+
+        long position = rollsPosition(row);
+        int remaining = rollCount(row);
+        while (remaining > 0) {
+            int index = (int) (position & (CHUNK_SIZE - 1));
+            int length = (int) Math.min(remaining, CHUNK_SIZE - index);
+            chunks[(int) (position >>> CHUNK_SHIFT)].get(index, out, offset, length);
+            position += length;
+            offset += length;
+            remaining -= length;
+        }
+
+    }
+
+    /**
+     * Статистика считается при каждом обращении, только по строке row: история копируется
+     * из отображения в буфер потока и подсчитывается ядрами {@link RollKernels}. Журнал
+     * не держит в куче объект статистики на каждую строку.
+     * @throws IllegalStateException если участок бросков строки выходит за пределы файла
+     * или содержит значения не от 1 до 6 (файл повреждён).
+     */
+    @Override
+    public RollStats stats(int row) {
+
+        int count = rollCount(row);
+        byte[] faces = ROW_BUFFER.get();
+        if (faces.length < count) {
+            faces = new byte[Math.max(count, 2 * faces.length)];
+            ROW_BUFFER.set(faces);
+        }
+        rolls(row, faces, 0);
+        try {
+            return RollStats.of(faces, 0, count);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Журнал турнира повреждён: строка " + row, e);
+        }
+
+    }
+
+    /**
+     * Игрок с копией истории создаётся при первом обращении и переиспользуется,
+     * пока на него есть ссылки.
+     */
+    @Override
+    public Player player(int row) {
+        return players.get(row, RollTable.super::player);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * @return возвращает позицию истории строки row в файле.
+     * @throws IllegalStateException если участок бросков строки выходит за пределы файла.
+     */
+    private long rollsPosition(int row) {
+
+        long entry = entry(row);
+        long offset = readLong(entry);
+        int count = readInt(entry + 8);
+        if (offset < 0 || count < 0 || offset > totalRolls - count) {
+            throw new IllegalStateException("Журнал турнира повреждён: броски строки " + row
+                    + " выходят за пределы файла");
+        }
+        return rollsStart + offset;
+
+    }
+
+    private long entry(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + size);
+        }
+        return TournamentLogWriter.HEADER_SIZE + (long) row * TournamentLogWriter.ENTRY_SIZE;
+    }
+
+    private byte readByte(long position) {
+        return chunks[(int) (position >>> CHUNK_SHIFT)].get((int) (position & (CHUNK_SIZE - 1)));
+    }
+
+    private int readInt(long position) {
+        return chunks[(int) (position >>> CHUNK_SHIFT)].getInt((int) (position & (CHUNK_SIZE - 1)));
+    }
+
+    private long readLong(long position) {
+        return chunks[(int) (position >>> CHUNK_SHIFT)].getLong((int) (position & (CHUNK_SIZE - 1)));
+    }
+
+}
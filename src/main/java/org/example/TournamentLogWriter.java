@@ -0,0 +1,99 @@
+package org.example;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Записывает турнир в двоичный файл, который затем читается {@link TournamentLog}.
+ * <pre>
+ * Заголовок (32 байта):
+ *   int    магическое число 'DICE'
+ *   int    версия формата
+ *   int    количество игроков
+ *   int    резерв
+ *   long   общее количество бросков
+ *   long   размер раздела имён в байтах
+ * Таблица игроков (24 байта на игрока):
+ *   long   смещение бросков игрока в разделе бросков
+ *   int    количество бросков
+ *   int    количество фишек
+ *   int    смещение имени в разделе имён
+ *   int    длина имени в байтах (UTF-8)
+ * Раздел имён: имена в UTF-8 подряд.
+ * Раздел бросков: по одному байту (1-6) на бросок, игрок за игроком.
+ * </pre>
+ * Все числа записываются в порядке big-endian.
+ */
+public class TournamentLogWriter {
+
+    static final int MAGIC = 0x44494345;  // 'DICE'
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int ENTRY_SIZE = 24;
+
+    private TournamentLogWriter() {
+    }
+
+    /**
+     * @param path файл, в который записывается турнир; существующий файл перезаписывается.
+     * @param table турнир, например {@code RollTable.of(players)} или {@link ColumnarTournament}.
+     */
+    public static void write(Path path, RollTable table) throws IOException {
+
+        int size = table.size();
+        byte[][] names = new byte[size][];
+        long namesSize = 0;
+        long totalRolls = 0;
+        for (int row = 0; row < size; row++) {
+            names[row] = table.name(row).getBytes(StandardCharsets.UTF_8);
+            namesSize += names[row].length;
+            totalRolls += table.rollCount(row);
+        }
+        if (namesSize > Integer.MAX_VALUE) {
+            throw new IOException("Суммарная длина имён превышает 2 ГБ");
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(size);
+            out.writeInt(0);
+            out.writeLong(totalRolls);
+            out.writeLong(namesSize);
+
+            long rollsOffset = 0;
+            int nameOffset = 0;
+            for (int row = 0; row < size; row++) {
+                out.writeLong(rollsOffset);
+                out.writeInt(table.rollCount(row));
+                out.writeInt(table.chips(row));
+                out.writeInt(nameOffset);
+                out.writeInt(names[row].length);
+                rollsOffset += table.rollCount(row);
+                nameOffset += names[row].length;
+            }
+
+            for (byte[] name : names) {
+                out.write(name);
+            }
+
+            byte[] rolls = new byte[0];
+            for (int row = 0; row < size; row++) {
+                int count = table.rollCount(row);
+                if (count > rolls.length) {
+                    rolls = new byte[Math.max(count, 2 * rolls.length)];
+                }
+                table.rolls(row, rolls, 0);
+                out.write(rolls, 0, count);
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,312 @@
+package org.example;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Метрики симуляции и анализа: количество и скорость бросков ({@link Dice#throwMe()},
+ * {@link Player#throwDice()}), гистограммы длительности и выделенная память по каждому запросу
+ * {@link DiceTournamentAnalyzer}, попадания в кэш {@link CachingDiceTournamentAnalyzer}.
+ * <p>
+ * Метрики доступны через JMX ({@link #registerMBean()}, объект {@value #OBJECT_NAME}) и JFR:
+ * событие org.example.AnalyzerQuery на каждый запрос и периодическое org.example.DiceThroughput,
+ * которое подключается тем же {@link #registerMBean()}. Событие запроса создаётся и память
+ * запроса считается, только когда идёт запись JFR с этим событием или метрики
+ * зарегистрированы в JMX; в остальное время запрос стоит два вызова System.nanoTime().
+ * Запись на горячем пути - увеличение LongAdder без выделения памяти; полностью метрики
+ * отключаются свойством -Dorg.example.metrics.disabled=true.
+ */
+public final class TournamentMetrics implements TournamentMetricsMXBean {
+
+    public static final String OBJECT_NAME = "org.example:type=TournamentMetrics";
+
+    static final boolean ENABLED = !Boolean.getBoolean("org.example.metrics.disabled");
+
+    private static final TournamentMetrics GLOBAL = new TournamentMetrics();
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean ALLOCATION_SUPPORTED =
+            THREADS instanceof com.sun.management.ThreadMXBean threads && threads.isThreadAllocatedMemorySupported();
+
+    private final LongAdder diceThrows = new LongAdder();
+    private final LongAdder playerThrows = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LatencyHistogram[] latencies = new LatencyHistogram[AnalyzerOperation.values().length];
+    private final LongAdder[] allocatedBytes = new LongAdder[AnalyzerOperation.values().length];
+
+    private final Rate jmxRate = new Rate();
+    private final Rate jfrRate = new Rate();
+    private final AtomicBoolean throughputEventAdded = new AtomicBoolean();
+    private volatile boolean allocationTracked;  // память запросов нужна JMX, см. registerMBean()
+
+    private TournamentMetrics() {
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+            allocatedBytes[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @return возвращает метрики процесса.
+     */
+    public static TournamentMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Регистрирует метрики в платформенном MBeanServer и, если метрики включены, периодическое
+     * событие JFR org.example.DiceThroughput и учёт памяти запросов; повторная регистрация
+     * ничего не делает.
+     */
+    public void registerMBean() {
+
+        if (ENABLED) {
+            allocationTracked = true;
+            if (throughputEventAdded.compareAndSet(false, true)) {
+                FlightRecorder.addPeriodicEvent(DiceThroughputEvent.class, this::emitThroughput);
+            }
+        }
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            var server = ManagementFactory.getPlatformMBeanServer();
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Не удалось зарегистрировать MBean " + OBJECT_NAME, e);
+        }
+
+    }
+
+    static void recordDiceThrows(int count) {
+        if (ENABLED) {
+            GLOBAL.diceThrows.add(count);
+        }
+    }
+
+    static void recordPlayerThrow() {
+        if (ENABLED) {
+            GLOBAL.playerThrows.increment();
+        }
+    }
+
+    static void recordPlayerThrows(int count) {
+        if (ENABLED) {
+            GLOBAL.playerThrows.add(count);
+        }
+    }
+
+    static void recordCacheHit() {
+        if (ENABLED) {
+            GLOBAL.cacheHits.increment();
+        }
+    }
+
+    static void recordCacheMiss() {
+        if (ENABLED) {
+            GLOBAL.cacheMisses.increment();
+        }
+    }
+
+    /**
+     * Выполняет запрос анализатора, записывая его длительность, а во время записи JFR или после
+     * {@link #registerMBean()} - ещё и память, выделенную вызывающим потоком, и событие JFR.
+     * @param operation запрос.
+     * @param players количество игроков в анализируемой таблице.
+     * @param query вычисление результата.
+     * @return возвращает результат запроса.
+     */
+    static <T> T measure(AnalyzerOperation operation, int players, Supplier<T> query) {
+
+        if (!ENABLED) {
+            return query.get();
+        }
+
+        if (!GLOBAL.allocationTracked && !isRecording()) {
+            long started = System.nanoTime();
+            T result = query.get();
+            GLOBAL.latencies[operation.ordinal()].record(System.nanoTime() - started);
+            return result;
+        }
+
+        AnalyzerQueryEvent event = new AnalyzerQueryEvent();
+        event.begin();
+        long allocatedBefore = allocatedBytes();
+        long started = System.nanoTime();
+
+        T result = query.get();
+
+        long elapsed = System.nanoTime() - started;
+        long allocated = allocatedBytes() - allocatedBefore;
+        GLOBAL.latencies[operation.ordinal()].record(elapsed);
+        GLOBAL.allocatedBytes[operation.ordinal()].add(allocated);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation.name();
+            event.players = players;
+            event.allocatedBytes = allocated;
+            event.commit();
+        }
+        return result;
+
+    }
+
+    /**
+     * Записывает длительность запроса, который не выделяет память (запросы
+     * {@link DiceTournamentAnalyzer} с буфером результата). В отличие от
+     * {@link #measure(AnalyzerOperation, int, Supplier)} не создаёт событие JFR
+     * и не учитывает выделенную память - её у таких запросов нет.
+     * @param operation запрос.
+     * @param started момент начала запроса по System.nanoTime().
+     */
+    static void recordQuery(AnalyzerOperation operation, long started) {
+        if (ENABLED) {
+            GLOBAL.latencies[operation.ordinal()].record(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * @return возвращает гистограмму длительности запроса в наносекундах.
+     */
+    public LatencyHistogram getLatency(AnalyzerOperation operation) {
+        return latencies[operation.ordinal()];
+    }
+
+    /**
+     * @return возвращает суммарную память, выделенную вызывающими потоками во время запросов
+     * (память потоков ForkJoinPool при параллельном анализе не учитывается). Учитываются
+     * только запросы во время записи JFR или после {@link #registerMBean()}.
+     */
+    public long getAllocatedBytes(AnalyzerOperation operation) {
+        return allocatedBytes[operation.ordinal()].sum();
+    }
+
+    @Override
+    public long getDiceThrows() {
+        return diceThrows.sum();
+    }
+
+    @Override
+    public long getPlayerThrows() {
+        return playerThrows.sum();
+    }
+
+    @Override
+    public double getThrowsPerSecond() {
+        return jmxRate.sample(diceThrows.sum());
+    }
+
+    @Override
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    @Override
+    public double getCacheHitRate() {
+        long hits = cacheHits.sum();
+        long total = hits + cacheMisses.sum();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public Map<String, Long> getAnalyzerCalls() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (AnalyzerOperation operation : AnalyzerOperation.values()) {
+            result.put(operation.name(), getLatency(operation).getCount());
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Double> getAnalyzerMeanMicros() {
+        return latencyMicros(LatencyHistogram::getMean);
+    }
+
+    @Override
+    public Map<String, Double> getAnalyzerP99Micros() {
+        return latencyMicros(histogram -> histogram.getValueAtPercentile(99));
+    }
+
+    @Override
+    public Map<String, Double> getAnalyzerMaxMicros() {
+        return latencyMicros(LatencyHistogram::getMax);
+    }
+
+    @Override
+    public Map<String, Long> getAnalyzerAllocatedBytes() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (AnalyzerOperation operation : AnalyzerOperation.values()) {
+            result.put(operation.name(), getAllocatedBytes(operation));
+        }
+        return result;
+    }
+
+    private Map<String, Double> latencyMicros(ToDoubleFunction<LatencyHistogram> nanos) {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (AnalyzerOperation operation : AnalyzerOperation.values()) {
+            result.put(operation.name(), nanos.applyAsDouble(getLatency(operation)) / 1000.0);
+        }
+        return result;
+    }
+
+    private void emitThroughput() {
+        DiceThroughputEvent event = new DiceThroughputEvent();
+        event.diceThrows = diceThrows.sum();
+        event.throwsPerSecond = jfrRate.sample(event.diceThrows);
+        event.cacheHitRate = getCacheHitRate();
+        event.commit();
+    }
+
+    private static long allocatedBytes() {
+        return ALLOCATION_SUPPORTED ? ((com.sun.management.ThreadMXBean) THREADS).getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    /**
+     * @return возвращает true, если идёт запись JFR с событием запроса. Тип события
+     * запрашивается только после инициализации JFR, поэтому без записи анализ JFR не загружает.
+     */
+    private static boolean isRecording() {
+        return FlightRecorder.isInitialized() && QueryEventType.INSTANCE.isEnabled();
+    }
+
+    private static final class QueryEventType {
+        static final EventType INSTANCE = EventType.getEventType(AnalyzerQueryEvent.class);
+    }
+
+    /**
+     * Скорость роста счётчика между соседними замерами.
+     */
+    private static final class Rate {
+
+        private long lastValue;
+        private long lastNanos = System.nanoTime();
+
+        synchronized double sample(long value) {
+            long now = System.nanoTime();
+            double seconds = (now - lastNanos) / 1e9;
+            double rate = seconds > 0 ? (value - lastValue) / seconds : 0.0;
+            lastValue = value;
+            lastNanos = now;
+            return rate;
+        }
+
+    }
+
+}
@@ -0,0 +1,42 @@
+package org.example;
+
+import java.util.Map;
+
+/**
+ * JMX-интерфейс метрик {@link TournamentMetrics}. Длительности запросов анализатора
+ * приводятся в микросекундах, ключи Map - имена {@link AnalyzerOperation}.
+ */
+public interface TournamentMetricsMXBean {
+
+    long getDiceThrows();
+
+    long getPlayerThrows();
+
+    /**
+     * @return возвращает скорость бросков кости с момента предыдущего вызова этого метода.
+     */
+    double getThrowsPerSecond();
+
+    long getCacheHits();
+
+    long getCacheMisses();
+
+    /**
+     * @return возвращает долю запросов, отданных из кэша, или 0.0, если запросов не было.
+     */
+    double getCacheHitRate();
+
+    Map<String, Long> getAnalyzerCalls();
+
+    Map<String, Double> getAnalyzerMeanMicros();
+
+    Map<String, Double> getAnalyzerP99Micros();
+
+    Map<String, Double> getAnalyzerMaxMicros();
+
+    /**
+     * @return возвращает байты, выделенные вызывающими потоками во время запросов.
+     */
+    Map<String, Long> getAnalyzerAllocatedBytes();
+
+}
@@ -0,0 +1,209 @@
+package org.example;
+
+import java.util.*;
+
+import org.example.DiceTournamentAnalyzer.ChipCategory;
+
+/**
+ * Сводный отчёт по турниру. В отличие от отдельных методов {@link DiceTournamentAnalyzer},
+ * список игроков просматривается ровно один раз: все десять результатов вычисляются
+ * из накопителей {@link RollStats}, которые игроки ведут на лету.
+ */
+public class TournamentReport {
+
+    private static final int TOP_SIZE = 3;
+
+    private final Map<Player, Double> averageScores;
+    private final List<Player> topThreeAveragePlayers;
+    private final List<Player> losers;
+    private final List<Player> lucky;
+    private final Map<ChipCategory, List<Player>> playersGroupedByChips;
+    private final List<Player> stablePlayers;
+    private final List<Player> riskyPlayers;
+    private final List<Player> balancedDicePlayers;
+    private final Map<Player, Double> luckIndex;
+    private final Player maxMathVariancePlayer;
+
+    /**
+     * @param list список игроков турнира.
+     * @return возвращает отчёт, собранный за один проход по списку игроков.
+     */
+    public static TournamentReport of(List<Player> list) {
+        return of(RollTable.of(list));
+    }
+
+    /**
+     * @param table табличное представление турнира.
+     * @return возвращает отчёт, собранный за один проход по строкам таблицы.
+     */
+    public static TournamentReport of(RollTable table) {
+        return of(table, ChipThresholds.DEFAULT);
+    }
+
+    /**
+     * @param table табличное представление турнира.
+     * @param thresholds границы категорий фишек для группировки игроков.
+     * @return возвращает отчёт, собранный за один проход по строкам таблицы.
+     */
+    public static TournamentReport of(RollTable table, ChipThresholds thresholds) {
+        return new TournamentReport(table, thresholds);
+    }
+
+    /**
+     * Отчёт из уже вычисленных результатов, например из состояния, которое
+     * {@link StreamingTournamentAnalyzer} ведёт по мере поступления событий.
+     * Коллекции не копируются: отчёт становится их владельцем.
+     */
+    TournamentReport(Map<Player, Double> averageScores, List<Player> topThreeAveragePlayers,
+                     List<Player> losers, List<Player> lucky,
+                     Map<ChipCategory, List<Player>> playersGroupedByChips,
+                     List<Player> stablePlayers, List<Player> riskyPlayers, List<Player> balancedDicePlayers,
+                     Map<Player, Double> luckIndex, Player maxMathVariancePlayer) {
+        this.averageScores = averageScores;
+        this.topThreeAveragePlayers = topThreeAveragePlayers;
+        this.losers = losers;
+        this.lucky = lucky;
+        this.playersGroupedByChips = playersGroupedByChips;
+        this.stablePlayers = stablePlayers;
+        this.riskyPlayers = riskyPlayers;
+        this.balancedDicePlayers = balancedDicePlayers;
+        this.luckIndex = luckIndex;
+        this.maxMathVariancePlayer = maxMathVariancePlayer;
+    }
+
+    private TournamentReport(RollTable table, ChipThresholds thresholds) {
+
+        averageScores = new LinkedHashMap<>();
+        losers = new ArrayList<>();
+        lucky = new ArrayList<>();
+        playersGroupedByChips = new LinkedHashMap<>();
+        stablePlayers = new ArrayList<>();
+        riskyPlayers = new ArrayList<>();
+        balancedDicePlayers = new ArrayList<>();
+        luckIndex = new LinkedHashMap<>();
+        for (ChipCategory category : ChipCategory.values()) {
+            playersGroupedByChips.put(category, new ArrayList<>());
+        }
+
+        Player[] top = new Player[TOP_SIZE];
+        double[] topScores = new double[TOP_SIZE];
+        int topSize = 0;
+
+        Player maxVariancePlayer = null;
+        double maxVariance = 0.0;
+
+        for (int row = 0; row < table.size(); row++) {
+
+            Player player = table.player(row);
+            RollStats stats = table.stats(row);
+            double average = stats.getAverage();
+
+            averageScores.put(player, average);
+            luckIndex.put(player, stats.getLuckIndex(table.chips(row)));
+            playersGroupedByChips.get(thresholds.categoryOf(table.chips(row))).add(player);
+
+            if (stats.getFaceCount(1) >= 3) losers.add(player);
+            if (stats.getFaceCount(6) >= 4) lucky.add(player);
+            if (stats.getHighCount() >= 8) stablePlayers.add(player);
+            if (stats.hasConsecutiveOnes()) riskyPlayers.add(player);
+            if (stats.hasAllFaces()) balancedDicePlayers.add(player);
+
+            // При равной дисперсии остаётся игрок, который встретился в списке раньше.
+            double variance = stats.getVariance();
+            if (maxVariancePlayer == null || variance > maxVariance) {
+                maxVariancePlayer = player;
+                maxVariance = variance;
+            }
+
+            // Вставка в упорядоченный массив из трёх лучших; при равенстве выше тот, кто раньше в списке.
+            int position = topSize;
+            while (position > 0 && topScores[position - 1] < average) {
+                position--;
+            }
+            if (position < TOP_SIZE) {
+                int last = Math.min(topSize, TOP_SIZE - 1);
+                System.arraycopy(top, position, top, position + 1, last - position);
+                System.arraycopy(topScores, position, topScores, position + 1, last - position);
+                top[position] = player;
+                topScores[position] = average;
+                topSize = Math.min(topSize + 1, TOP_SIZE);
+            }
+
+        }
+
+        this.topThreeAveragePlayers = List.of(Arrays.copyOf(top, topSize));
+        this.maxMathVariancePlayer = maxVariancePlayer;
+
+    }
+
+    /**
+     * @return см. {@link DiceTournamentAnalyzer#getMapOfAverageScores()}.
+     */
+    public Map<Player, Double> getMapOfAverageScores() {
+        return averageScores;
+    }
+
+    /**
+     * @return см. {@link DiceTournamentAnalyzer#getTopThreeAveragePlayers()}.
+     */
+    public List<Player> getTopThreeAveragePlayers() {
+        return topThreeAveragePlayers;
+    }
+
+    /**
+     * @return см. {@link DiceTournamentAnalyzer#getTheLosers()}.
+     */
+    public List<Player> getTheLosers() {
+        return losers;
+    }
+
+    /**
+     * @return см. {@link DiceTournamentAnalyzer#getTheLucky()}.
+     */
+    public List<Player> getTheLucky() {
+        return lucky;
+    }
+
+    /**
+     * @return см. {@link DiceTournamentAnalyzer#getPlayersGroupedByChips()}.
+     */
+    public Map<ChipCategory, List<Player>> getPlayersGroupedByChips() {
+        return playersGroupedByChips;
+    }
+
+    /**
+     * @return см. {@link DiceTournamentAnalyzer#getStablePlayerList()}.
+     */
+    public List<Player> getStablePlayerList() {
+        return stablePlayers;
+    }
+
+    /**
+     * @return см. {@link DiceTournamentAnalyzer#getRiskyPlayerList()}.
+     */
+    public List<Player> getRiskyPlayerList() {
+        return riskyPlayers;
+    }
+
+    /**
+     * @return см. {@link DiceTournamentAnalyzer#getBalancedDicePlayerList()}.
+     */
+    public List<Player> getBalancedDicePlayerList() {
+        return balancedDicePlayers;
+    }
+
+    /**
+     * @return см. {@link DiceTournamentAnalyzer#getLuckIndex()}.
+     */
+    public Map<Player, Double> getLuckIndex() {
+        return luckIndex;
+    }
+
+    /**
+     * @return см. {@link DiceTournamentAnalyzer#getMaxMathVariancePlayer()}.
+     */
+    public Player getMaxMathVariancePlayer() {
+        return maxMathVariancePlayer;
+    }
+
+}
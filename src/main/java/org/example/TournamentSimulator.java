@@ -0,0 +1,89 @@
+package org.example;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.random.RandomGeneratorFactory;
+import java.util.stream.IntStream;
+
+/**
+ * Пакетная симуляция турнира: заполняет истории бросков всех игроков заданным
+ * количеством раундов. Игроки делятся на блоки фиксированного размера, у каждого блока
+ * свой независимый генератор, seed которого выводится из общего seed и номера блока.
+ * Поэтому результат определяется только seed и не зависит от количества потоков.
+ */
+public class TournamentSimulator {
+
+    static final int BLOCK_SIZE = 1024;  // игроков в блоке
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final List<Player> players;
+    private final int rounds;
+    private final long seed;
+    private final ForkJoinPool pool;
+
+    /**
+     * Симулятор, использующий общий ForkJoinPool.
+     */
+    public TournamentSimulator(List<Player> players, int rounds, long seed) {
+        this(players, rounds, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param players игроки турнира.
+     * @param rounds количество бросков каждого игрока.
+     * @param seed начальное значение, однозначно определяющее все броски турнира.
+     * @param pool пул потоков, в котором выполняется симуляция.
+     */
+    public TournamentSimulator(List<Player> players, int rounds, long seed, ForkJoinPool pool) {
+
+        if (rounds < 0) {
+            throw new IllegalArgumentException("Количество раундов не может быть отрицательным: " + rounds);
+        }
+
+        this.players = players;
+        this.rounds = rounds;
+        this.seed = seed;
+        this.pool = pool;
+
+    }
+
+    /**
+     * Выполняет все раунды для всех игроков. Броски каждого игрока дописываются
+     * к его истории и статистике.
+     */
+    public void run() {
+
+        int blocks = (players.size() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+        pool.submit(() ->
+                IntStream.range(0, blocks)
+                        .parallel()
+                        .forEach(this::simulateBlock)
+        ).join();
+
+    }
+
+    /**
+     * @return возвращает кость с генератором блока block. Используется также
+     * {@link ColumnarTournament#simulate}, чтобы одинаковый seed давал одинаковые броски.
+     */
+    static Dice blockDice(long seed, int block) {
+        return new Dice(RandomGeneratorFactory.of(Dice.DEFAULT_ALGORITHM)
+                .create(seed + block * GOLDEN_GAMMA));
+    }
+
+    private void simulateBlock(int block) {
+
+        Dice dice = blockDice(seed, block);
+        byte[] buffer = new byte[rounds];  // один буфер на весь блок
+
+        int end = Math.min(players.size(), (block + 1) * BLOCK_SIZE);
+        for (int i = block * BLOCK_SIZE; i < end; i++) {
+            dice.throwMe(rounds, buffer);
+            players.get(i).recordAll(buffer, 0, rounds);
+        }
+
+    }
+
+}
@@ -0,0 +1,126 @@
+package org.example;
+
+import java.util.*;
+
+/**
+ * Список игроков с номером версии, который увеличивается при каждом изменении состава
+ * (добавление, удаление, замена). {@link CachingDiceTournamentAnalyzer} по неизменной версии
+ * понимает, что состав прежний, и не сверяет элементы списка. Как и ArrayList, не потокобезопасен.
+ */
+public class TrackedPlayerList extends AbstractList<Player> implements RandomAccess {
+
+    private final List<Player> players;
+    private long version;
+    private ChipCategoryIndex chipIndex;  // поддерживается, если включён через indexByChips()
+
+    public TrackedPlayerList() {
+        this.players = new ArrayList<>();
+    }
+
+    /**
+     * @param players начальный состав; элементы копируются в новый список.
+     */
+    public TrackedPlayerList(Collection<Player> players) {
+        this.players = new ArrayList<>(players);
+    }
+
+    /**
+     * @return возвращает номер версии состава списка.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Включает поддерживаемую группировку игроков списка по категориям фишек; далее индекс
+     * обновляется при каждом изменении состава списка и фишек игроков.
+     * Пока индекс включён, один и тот же игрок не может входить в список дважды.
+     * @param thresholds границы категорий.
+     * @return возвращает индекс категорий.
+     * @throws IllegalArgumentException если игрок уже встречается в списке более одного раза.
+     */
+    public ChipCategoryIndex indexByChips(ChipThresholds thresholds) {
+
+        ChipCategoryIndex index = new ChipCategoryIndex(thresholds);
+        for (Player player : players) {
+            if (!index.add(player)) {
+                index.clear();
+                throw duplicate(player);
+            }
+        }
+
+        if (chipIndex != null) {
+            chipIndex.clear();
+        }
+        chipIndex = index;
+        return chipIndex;
+
+    }
+
+    /**
+     * @return возвращает индекс категорий фишек или null, если он не включён.
+     */
+    public ChipCategoryIndex getChipIndex() {
+        return chipIndex;
+    }
+
+    @Override
+    public Player get(int index) {
+        return players.get(index);
+    }
+
+    @Override
+    public int size() {
+        return players.size();
+    }
+
+    /**
+     * @throws IllegalArgumentException если включён индекс категорий и игрок уже есть в списке
+     * на другой позиции.
+     */
+    @Override
+    public Player set(int index, Player player) {
+        if (chipIndex != null && chipIndex.contains(player) && players.get(index) != player) {
+            throw duplicate(player);
+        }
+        Player previous = players.set(index, player);
+        version++;
+        if (chipIndex != null) {
+            chipIndex.remove(previous);
+            chipIndex.add(player);
+        }
+        return previous;
+    }
+
+    /**
+     * @throws IllegalArgumentException если включён индекс категорий и игрок уже есть в списке.
+     */
+    @Override
+    public void add(int index, Player player) {
+        if (chipIndex != null && chipIndex.contains(player)) {
+            throw duplicate(player);
+        }
+        players.add(index, player);
+        version++;
+        if (chipIndex != null) {
+            chipIndex.add(player);
+        }
+        modCount++;
+    }
+
+    @Override
+    public Player remove(int index) {
+        Player removed = players.remove(index);
+        version++;
+        if (chipIndex != null) {
+            chipIndex.remove(removed);
+        }
+        modCount++;
+        return removed;
+    }
+
+    private static IllegalArgumentException duplicate(Player player) {
+        return new IllegalArgumentException("Игрок уже есть в списке с индексом категорий: " + player.getName());
+    }
+
+}
@@ -0,0 +1,100 @@
+package org.example;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Реализация {@link RollKernels} на Java Vector API: сравнения выполняются сразу по всем
+ * полосам вектора, а результат сводится подсчётом истинных полос маски. Хвосты массивов,
+ * не кратные длине вектора, дообрабатываются скалярной реализацией.
+ */
+class VectorRollKernels implements RollKernels {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    private final RollKernels tail = new ScalarRollKernels();
+
+    /**
+     * Значение грани f равно 1 + количество порогов t = 2..6, для которых f >= t, поэтому
+     * сумма считается сравнениями без расширения байтов и риска переполнения полос.
+     */
+    @Override
+    public long sum(byte[] rolls, int from, int to) {
+
+        long sum = 0;
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            ByteVector v = ByteVector.fromArray(SPECIES, rolls, i);
+            sum += SPECIES.length();
+            for (byte threshold = 2; threshold <= 6; threshold++) {
+                sum += v.compare(VectorOperators.GE, threshold).trueCount();
+            }
+        }
+        return sum + tail.sum(rolls, i, to);
+
+    }
+
+    @Override
+    public int countFace(byte[] rolls, int from, int to, int face) {
+
+        int count = 0;
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            count += ByteVector.fromArray(SPECIES, rolls, i).eq((byte) face).trueCount();
+        }
+        return count + tail.countFace(rolls, i, to, face);
+
+    }
+
+    /**
+     * Каждый вектор загружается один раз и сравнивается со всеми шестью гранями.
+     */
+    @Override
+    public void countFaces(byte[] rolls, int from, int to, int[] counts) {
+
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            ByteVector v = ByteVector.fromArray(SPECIES, rolls, i);
+            for (int face = 1; face <= 6; face++) {
+                counts[face - 1] += v.eq((byte) face).trueCount();
+            }
+        }
+        tail.countFaces(rolls, i, to, counts);
+
+    }
+
+    @Override
+    public int countAtLeast(byte[] rolls, int from, int to, int threshold) {
+
+        int count = 0;
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            count += ByteVector.fromArray(SPECIES, rolls, i)
+                    .compare(VectorOperators.GE, (byte) threshold)
+                    .trueCount();
+        }
+        return count + tail.countAtLeast(rolls, i, to, threshold);
+
+    }
+
+    /**
+     * Сравнивает вектор с тем же вектором, сдвинутым на один бросок.
+     */
+    @Override
+    public boolean hasAdjacentOnes(byte[] rolls, int from, int to) {
+
+        int i = from;
+        // Нужен ещё один байт справа для сдвинутого вектора.
+        for (int bound = from + SPECIES.loopBound(Math.max(0, to - from - 1)); i < bound; i += SPECIES.length()) {
+            ByteVector current = ByteVector.fromArray(SPECIES, rolls, i);
+            ByteVector next = ByteVector.fromArray(SPECIES, rolls, i + 1);
+            if (current.eq((byte) 1).and(next.eq((byte) 1)).anyTrue()) {
+                return true;
+            }
+        }
+        return tail.hasAdjacentOnes(rolls, i, to);
+
+    }
+
+}
@@ -0,0 +1,116 @@
+package org.example;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Варианты критериев {@link DiceTournamentAnalyzer}, которые оцениваются по скользящему окну
+ * последних бросков каждого игрока ({@link Player#trackWindow(RollWindow)}), а не по всей истории.
+ * Пороги исходных критериев рассчитаны на 10 бросков ("≥8 из 10 бросков ≥4" и т.д.), поэтому
+ * здесь они пересчитываются пропорционально размеру окна; для окна в 10 бросков результаты
+ * совпадают с результатами исходных критериев по последним 10 броскам.
+ * Каждый запрос стоит O(1) на игрока.
+ */
+public class WindowedTournamentAnalyzer {
+
+    private static final int BASE_ROLLS = 10;  // длина истории, на которую рассчитаны исходные пороги
+
+    private final List<Player> list;
+
+    public WindowedTournamentAnalyzer(List<Player> list) {
+        this.list = list;
+    }
+
+    /**
+     * @return возвращает Map, где ключами являются игроки, а значениями - среднее значение
+     * бросков в окне.
+     */
+    public Map<Player, Double> getMapOfAverageScores() {
+        return scoreMap(RollWindow::getAverage);
+    }
+
+    /**
+     * @return возвращает игроков, у которых в окне единица выпала не реже, чем 3 раза из 10.
+     */
+    public List<Player> getTheLosers() {
+        return select(window -> window.getFaceCount(1) >= scaled(3, window));
+    }
+
+    /**
+     * @return возвращает игроков, у которых в окне шестёрка выпала не реже, чем 4 раза из 10.
+     */
+    public List<Player> getTheLucky() {
+        return select(window -> window.getFaceCount(6) >= scaled(4, window));
+    }
+
+    /**
+     * @return возвращает игроков, у которых в окне не менее 8 бросков из 10 дали 4 или больше.
+     */
+    public List<Player> getStablePlayerList() {
+        return select(window -> window.getHighCount() >= scaled(8, window));
+    }
+
+    /**
+     * @return возвращает игроков, у которых в окне единица выпала два раза подряд.
+     */
+    public List<Player> getRiskyPlayerList() {
+        return select(RollWindow::hasConsecutiveOnes);
+    }
+
+    /**
+     * @return возвращает игроков, у которых в окне выпала каждая сторона кости.
+     */
+    public List<Player> getBalancedDicePlayerList() {
+        return select(RollWindow::hasAllFaces);
+    }
+
+    /**
+     * @return возвращает Map, где значениями являются "индексы удачи" по окну:
+     * (сумма бросков в окне) / (6 × размер окна) × chips, округлённые до 1 знака после запятой.
+     */
+    public Map<Player, Double> getLuckIndex() {
+        return list.stream()
+                .collect(Collectors.toMap(
+                        player -> player,
+                        player -> {
+                            RollWindow window = window(player);
+                            return Math.round(window.getSum() * 10.0 / (6.0 * window.capacity()) * player.getChips()) / 10.0;
+                        }
+                ));
+    }
+
+    private List<Player> select(Predicate<RollWindow> predicate) {
+        return list.stream()
+                .filter(player -> predicate.test(window(player)))
+                .toList();
+    }
+
+    private Map<Player, Double> scoreMap(ToDoubleFunction<RollWindow> metric) {
+        return list.stream()
+                .collect(Collectors.toMap(
+                        player -> player,
+                        player -> metric.applyAsDouble(window(player))
+                ));
+    }
+
+    /**
+     * @return возвращает порог perTenRolls из 10, пересчитанный на размер окна (с округлением вверх).
+     */
+    private static int scaled(int perTenRolls, RollWindow window) {
+        return (perTenRolls * window.capacity() + BASE_ROLLS - 1) / BASE_ROLLS;
+    }
+
+    private static RollWindow window(Player player) {
+
+        RollWindow window = player.getWindow();
+        if (window == null) {
+            throw new IllegalStateException("Окно бросков не включено для игрока " + player.getName());
+        }
+        window.evictExpired();
+        return window;
+
+    }
+
+}
@@ -0,0 +1,183 @@
+package org.example;
+
+import java.util.*;
+
+import static org.example.TestTournaments.simulate;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class ApproximateTournamentAnalyzerTest {
+
+    private static final List<Player> PLAYERS = simulate(50_000, 31);
+    private static final ApproximateTournamentAnalyzer APPROXIMATE = approximate(PLAYERS);
+    private static final DiceTournamentAnalyzer EXACT = new DiceTournamentAnalyzer(PLAYERS);
+
+    @org.junit.jupiter.api.Test
+    void estimateMemberCount_whenComparedWithExactLists_thenRelativeErrorIsWithinFivePercent() {
+
+        Map<String, List<Player>> exact = Map.of(                                          // Given
+                "losers", EXACT.getTheLosers(),
+                "lucky", EXACT.getTheLucky(),
+                "stable", EXACT.getStablePlayerList(),
+                "risky", EXACT.getRiskyPlayerList(),
+                "balanced", EXACT.getBalancedDicePlayerList());
+
+        for (Map.Entry<String, List<Player>> entry : exact.entrySet()) {
+            long estimate = APPROXIMATE.estimateMemberCount(entry.getKey());              // When
+
+            double error = Math.abs(estimate - entry.getValue().size()) / (double) entry.getValue().size();
+            assertTrue(error < 0.05, entry.getKey() + ": " + estimate + " vs " + entry.getValue().size());  // Then
+        }
+        assertEquals(50_000, APPROXIMATE.estimatePlayerCount(), 2_500);
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void estimateFaceCount_whenComparedWithPlayerStats_thenItNeverUnderestimatesAndStaysWithinBound() {
+
+        long totalRolls = 10L * PLAYERS.size();                                            // Given
+        long bound = (long) Math.ceil(SketchBounds.DEFAULT.frequencyError() * totalRolls);
+        int exceeded = 0;
+        int checked = 0;
+
+        for (int i = 0; i < PLAYERS.size(); i += 50) {
+            Player player = PLAYERS.get(i);
+            for (int face = 1; face <= 6; face++) {
+                long estimate = APPROXIMATE.estimateFaceCount(player.getName(), face);    // When
+                long exact = player.getStats().getFaceCount(face);
+
+                assertTrue(estimate >= exact);                                             // Then
+                if (estimate - exact > bound) {
+                    exceeded++;
+                }
+                checked++;
+            }
+        }
+        assertTrue(exceeded <= checked * SketchBounds.DEFAULT.frequencyFailureProbability() * 2 + 1);
+        for (int face = 1; face <= 6; face++) {
+            int f = face;
+            assertEquals(PLAYERS.stream().mapToLong(p -> p.getStats().getFaceCount(f)).sum(), APPROXIMATE.getFaceCount(face));
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void quantiles_whenComparedWithSortedExactValues_thenRankErrorIsBelowTwoPercent() {
+
+        double[] averages = EXACT.getMapOfAverageScores().values().stream()                // Given
+                .mapToDouble(Double::doubleValue).sorted().toArray();
+        double[] luckIndexes = EXACT.getLuckIndex().values().stream()
+                .mapToDouble(Double::doubleValue).sorted().toArray();
+
+        for (double q : new double[] {0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99}) {
+            double average = APPROXIMATE.getAverageScoreQuantile(q);                       // When
+            double luckIndex = APPROXIMATE.getLuckIndexQuantile(q);
+
+            assertRank(averages, average, q);                                              // Then
+            assertRank(luckIndexes, luckIndex, q);
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void getSample_whenCategoryIsLarge_thenSampleIsFullAndConsistsOfDistinctMembers() {
+
+        Set<Player> lucky = Collections.newSetFromMap(new IdentityHashMap<>());            // Given
+        lucky.addAll(EXACT.getTheLucky());
+
+        List<Player> sample = APPROXIMATE.getSample("lucky");                              // When
+
+        assertEquals(Math.min(SketchBounds.DEFAULT.sampleSize(), lucky.size()), sample.size());  // Then
+        assertTrue(lucky.containsAll(sample));
+        assertEquals(sample.size(), new HashSet<>(sample).size());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void offer_whenStreamIsMuchLongerThanSample_thenEveryPartOfStreamIsRepresented() {
+
+        ReservoirSample<Integer> sample = new ReservoirSample<>(1000, 7);                  // Given
+
+        for (int i = 0; i < 1_000_000; i++) {                                              // When
+            int value = i;
+            sample.offer(() -> value);
+        }
+
+        int[] deciles = new int[10];                                                       // Then
+        sample.getSample().forEach(value -> deciles[value / 100_000]++);
+        for (int count : deciles) {
+            assertTrue(count > 50 && count < 150, Arrays.toString(deciles));
+        }
+        assertEquals(1_000_000, sample.getSeen());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void addAll_whenSamePlayersAreAddedAgain_thenDistinctCountsDoNotGrow() {
+
+        List<Player> players = simulate(2_000, 31);                                        // Given
+        ApproximateTournamentAnalyzer approximate = approximate(players);
+        long losers = approximate.estimateMemberCount("losers");
+        long distinct = approximate.estimatePlayerCount();
+
+        approximate.addAll(players);                                                       // When
+
+        assertEquals(losers, approximate.estimateMemberCount("losers"));                   // Then
+        assertEquals(distinct, approximate.estimatePlayerCount());
+        assertEquals(4_000, approximate.getRowCount());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void approximate_whenCalledOnExactAnalyzer_thenSketchesCoverTheWholeTable() {
+
+        List<Player> players = simulate(1_000, 31);                                        // Given
+
+        ApproximateTournamentAnalyzer approximate =                                        // When
+                new DiceTournamentAnalyzer(players).approximate(SketchBounds.DEFAULT);
+
+        assertEquals(1_000, approximate.getRowCount());                                    // Then
+        assertEquals(new DiceTournamentAnalyzer(players).getRiskyPlayerList().size(),
+                approximate.estimateMemberCount("risky"), 30);
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void estimateMemberCount_whenRuleIsUnknown_thenThrow() {
+        assertThrows(IllegalArgumentException.class, () -> APPROXIMATE.estimateMemberCount("unknown"));
+        assertThrows(IllegalArgumentException.class, () -> APPROXIMATE.estimateFaceCount("Player1", 7));
+        assertTrue(Double.isNaN(new ApproximateTournamentAnalyzer().getAverageScoreQuantile(0.5)));
+    }
+
+    /**
+     * Проверяет, что доля точных значений меньше оценки не больше q + 2%, а не больше оценки -
+     * не меньше q - 2%: значения повторяются, поэтому квантиль может оказаться на ступеньке.
+     */
+    private static void assertRank(double[] sorted, double estimate, double q) {
+        double below = lowerBound(sorted, estimate, false) / (double) sorted.length;
+        double atMost = lowerBound(sorted, estimate, true) / (double) sorted.length;
+        assertTrue(below <= q + 0.02 && atMost >= q - 0.02,
+                "q=" + q + " estimate=" + estimate + " ranks=[" + below + ", " + atMost + "]");
+    }
+
+    private static int lowerBound(double[] sorted, double value, boolean inclusive) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] < value || inclusive && sorted[middle] == value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static ApproximateTournamentAnalyzer approximate(List<Player> players) {
+        ApproximateTournamentAnalyzer approximate = new ApproximateTournamentAnalyzer();
+        approximate.addAll(players);
+        return approximate;
+    }
+
+}
@@ -0,0 +1,105 @@
+package org.example;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class CachingDiceTournamentAnalyzerTest {
+
+    @org.junit.jupiter.api.Test
+    void getMapOfAverageScores_whenNothingChanged_thenResultIsServedFromCache() {
+
+        TrackedPlayerList players = players(50);                                            // Given
+        CachingDiceTournamentAnalyzer analyzer = new CachingDiceTournamentAnalyzer(players);
+
+        Map<Player, Double> first = analyzer.getMapOfAverageScores();                       // When
+        Map<Player, Double> second = analyzer.getMapOfAverageScores();
+
+        assertSame(first, second);                                                          // Then
+        assertEquals(1, analyzer.getMisses());
+        assertEquals(1, analyzer.getHits());
+        assertEquals(50, analyzer.getRecomputedPlayers());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void getTheLosers_whenOnePlayerThrows_thenOnlyThatPlayerIsRecomputed() {
+
+        TrackedPlayerList players = players(50);                                            // Given
+        CachingDiceTournamentAnalyzer analyzer = new CachingDiceTournamentAnalyzer(players);
+        analyzer.getTheLosers();
+
+        for (int i = 0; i < 3; i++) {                                                       // When
+            players.get(7).getRollsHistory().add(1);
+        }
+        List<Player> losers = analyzer.getTheLosers();
+
+        assertEquals(51, analyzer.getRecomputedPlayers());                                  // Then
+        assertEquals(2, analyzer.getMisses());
+        assertTrue(losers.contains(players.get(7)));
+        assertEquals(new DiceTournamentAnalyzer(players).getTheLosers(), losers);
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void getTopThreeAveragePlayers_whenListChanges_thenOnlyNewPlayersAreRecomputed() {
+
+        TrackedPlayerList players = players(50);                                            // Given
+        CachingDiceTournamentAnalyzer analyzer = new CachingDiceTournamentAnalyzer(players);
+        analyzer.getTopThreeAveragePlayers();
+
+        players.remove(0);                                                                  // When
+        Player best = new Player("Best", new Dice(), 100);
+        best.getRollsHistory().add(6);
+        players.add(best);
+        List<Player> top = analyzer.getTopThreeAveragePlayers();
+
+        assertEquals(51, analyzer.getRecomputedPlayers());                                  // Then
+        assertEquals(best, top.get(0));
+        assertEquals(new DiceTournamentAnalyzer(players).getTopThreeAveragePlayers(), top);
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void allQueries_whenPlainListIsMutated_thenResultsMatchUncachedAnalyzer() {
+
+        Random random = new Random(5);
+        List<Player> players = new ArrayList<>(players(200));                              // Given
+        CachingDiceTournamentAnalyzer cached = new CachingDiceTournamentAnalyzer(players);
+
+        for (int step = 0; step < 20; step++) {                                             // When
+            players.get(random.nextInt(players.size())).getRollsHistory().add(random.nextInt(1, 7));
+            if (step % 5 == 0) {
+                players.set(random.nextInt(players.size()), new Player("New" + step, new Dice(), 600));
+            }
+            DiceTournamentAnalyzer plain = new DiceTournamentAnalyzer(players);
+
+            assertEquals(plain.getMapOfAverageScores(), cached.getMapOfAverageScores());    // Then
+            assertEquals(plain.getTopThreeAveragePlayers(), cached.getTopThreeAveragePlayers());
+            assertEquals(plain.getTheLosers(), cached.getTheLosers());
+            assertEquals(plain.getTheLucky(), cached.getTheLucky());
+            assertEquals(plain.getPlayersGroupedByChips(), cached.getPlayersGroupedByChips());
+            assertEquals(plain.getStablePlayerList(), cached.getStablePlayerList());
+            assertEquals(plain.getRiskyPlayerList(), cached.getRiskyPlayerList());
+            assertEquals(plain.getBalancedDicePlayerList(), cached.getBalancedDicePlayerList());
+            assertEquals(plain.getLuckIndex(), cached.getLuckIndex());
+            assertEquals(plain.getMaxMathVariancePlayer(), cached.getMaxMathVariancePlayer());
+        }
+
+    }
+
+    private TrackedPlayerList players(int count) {
+        Random random = new Random(count);
+        TrackedPlayerList players = new TrackedPlayerList();
+        for (int i = 0; i < count; i++) {
+            Player player = new Player("Player" + i, new Dice(), random.nextInt(1500));
+            for (int r = 0; r < 10; r++) {
+                player.getRollsHistory().add(random.nextInt(1, 6));
+            }
+            players.add(player);
+        }
+        return players;
+    }
+
+}
@@ -0,0 +1,133 @@
+package org.example;
+
+import java.util.*;
+
+import static org.example.DiceTournamentAnalyzer.ChipCategory.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class ChipCategoryIndexTest {
+
+    @org.junit.jupiter.api.Test
+    void setChips_whenPlayerCrossesThreshold_thenPlayerMovesToNewCategory() {
+
+        TrackedPlayerList players = new TrackedPlayerList();                                // Given
+        Player alice = new Player("Alice", new Dice(), 1000);
+        Player bob = new Player("Bob", new Dice(), 300);
+        players.add(alice);
+        players.add(bob);
+        ChipCategoryIndex index = players.indexByChips(ChipThresholds.DEFAULT);
+
+        alice.setChips(1001);                                                               // When
+        bob.setChips(400);
+
+        assertEquals(List.of(alice), index.players(HIGH));                                  // Then
+        assertEquals(0, index.count(MEDIUM));
+        assertEquals(List.of(bob), index.players(LOW));
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void indexByChips_whenListAndChipsChange_thenGroupsMatchRegroupingFromScratch() {
+
+        Random random = new Random(11);
+        TrackedPlayerList players = new TrackedPlayerList();                                // Given
+        for (int i = 0; i < 300; i++) {
+            players.add(new Player("Player" + i, new Dice(), random.nextInt(1500)));
+        }
+        ChipThresholds thresholds = new ChipThresholds(900, 200);
+        ChipCategoryIndex index = players.indexByChips(thresholds);
+
+        for (int step = 0; step < 1000; step++) {                                           // When
+            switch (random.nextInt(4)) {
+                case 0 -> players.add(new Player("New" + step, new Dice(), random.nextInt(1500)));
+                case 1 -> players.remove(random.nextInt(players.size()));
+                case 2 -> players.set(random.nextInt(players.size()), new Player("Set" + step, new Dice(), random.nextInt(1500)));
+                default -> players.get(random.nextInt(players.size())).setChips(random.nextInt(1500));
+            }
+        }
+
+        assertEquals(players.size(), index.size());                                         // Then
+        for (DiceTournamentAnalyzer.ChipCategory category : DiceTournamentAnalyzer.ChipCategory.values()) {
+            Set<Player> expected = Collections.newSetFromMap(new IdentityHashMap<>());
+            players.stream()
+                    .filter(player -> thresholds.categoryOf(player.getChips()) == category)
+                    .forEach(expected::add);
+            assertEquals(expected.size(), index.count(category));
+            assertTrue(expected.containsAll(index.players(category)));
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void getPlayersGroupedByChips_whenListIsIndexed_thenIndexViewIsReturnedWithoutRegrouping() {
+
+        TrackedPlayerList players = new TrackedPlayerList(List.of(                          // Given
+                new Player("Alice", new Dice(), 1500),
+                new Player("Bob", new Dice(), 700)));
+        players.indexByChips(ChipThresholds.DEFAULT);
+        DiceTournamentAnalyzer dta = new DiceTournamentAnalyzer(players);
+
+        Map<DiceTournamentAnalyzer.ChipCategory, List<Player>> first = dta.getPlayersGroupedByChips(); // When
+        players.add(new Player("Charlie", new Dice(), 100));
+        Map<DiceTournamentAnalyzer.ChipCategory, List<Player>> second = dta.getPlayersGroupedByChips();
+
+        assertSame(first, second);                                                          // Then
+        assertEquals(new DiceTournamentAnalyzer(new ArrayList<>(players)).getPlayersGroupedByChips(), second);
+        assertThrows(UnsupportedOperationException.class, () -> second.get(LOW).clear());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void getReport_whenIndexHasCustomThresholds_thenReportGroupsLikeIndex() {
+
+        Player alice = new Player("Alice", new Dice(), 950);                                // Given
+        Player bob = new Player("Bob", new Dice(), 300);
+        TrackedPlayerList players = new TrackedPlayerList(List.of(alice, bob));
+        players.indexByChips(new ChipThresholds(900, 200));
+        DiceTournamentAnalyzer dta = new DiceTournamentAnalyzer(players);
+
+        Map<DiceTournamentAnalyzer.ChipCategory, List<Player>> grouped = dta.getReport().getPlayersGroupedByChips(); // When
+
+        assertEquals(dta.getPlayersGroupedByChips(), grouped);                              // Then
+        assertEquals(List.of(alice), grouped.get(HIGH));
+        assertEquals(List.of(bob), grouped.get(MEDIUM));
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void add_whenPlayerIsAlreadyInIndexedList_thenThrow() {
+
+        Player alice = new Player("Alice", new Dice(), 1500);                               // Given
+        Player bob = new Player("Bob", new Dice(), 700);
+        TrackedPlayerList players = new TrackedPlayerList(List.of(alice, bob));
+        ChipCategoryIndex index = players.indexByChips(ChipThresholds.DEFAULT);
+
+        assertThrows(IllegalArgumentException.class, () -> players.add(alice));             // When / Then
+        assertThrows(IllegalArgumentException.class, () -> players.set(1, alice));
+        players.set(0, alice);
+        assertEquals(2, players.size());
+        assertEquals(2, index.size());
+
+        TrackedPlayerList duplicates = new TrackedPlayerList(List.of(alice, alice));
+        assertThrows(IllegalArgumentException.class, () -> duplicates.indexByChips(ChipThresholds.DEFAULT));
+        assertNull(duplicates.getChipIndex());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void remove_whenPlayerIsRemoved_thenChipChangesNoLongerAffectIndex() {
+
+        Player alice = new Player("Alice", new Dice(), 1500);                               // Given
+        ChipCategoryIndex index = ChipCategoryIndex.of(List.of(alice), ChipThresholds.DEFAULT);
+
+        index.remove(alice);                                                                // When
+        alice.setChips(100);
+
+        assertEquals(0, index.size());                                                      // Then
+        assertEquals(0, index.count(LOW));
+        assertEquals(0, index.count(HIGH));
+
+    }
+
+}
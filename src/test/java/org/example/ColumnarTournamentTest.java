@@ -0,0 +1,94 @@
+package org.example;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.example.TestTournaments.names;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class ColumnarTournamentTest {
+
+    @org.junit.jupiter.api.Test
+    void analyzer_whenRunOverColumnarTournament_thenResultsMatchPlayerList() {
+
+        List<Player> players = makePlayers(2000);                                           // Given
+        new TournamentSimulator(players, 10, 5).run();
+        ColumnarTournament columnar = ColumnarTournament.of(players);
+
+        DiceTournamentAnalyzer byList = new DiceTournamentAnalyzer(players);                // When
+        DiceTournamentAnalyzer byColumns = new DiceTournamentAnalyzer(columnar);
+
+        assertEquals(names(byList.getTopThreeAveragePlayers()), names(byColumns.getTopThreeAveragePlayers()));
+        assertEquals(names(byList.getTheLosers()), names(byColumns.getTheLosers()));        // Then
+        assertEquals(names(byList.getTheLucky()), names(byColumns.getTheLucky()));
+        assertEquals(names(byList.getStablePlayerList()), names(byColumns.getStablePlayerList()));
+        assertEquals(names(byList.getRiskyPlayerList()), names(byColumns.getRiskyPlayerList()));
+        assertEquals(names(byList.getBalancedDicePlayerList()), names(byColumns.getBalancedDicePlayerList()));
+        assertEquals(byList.getMaxMathVariancePlayer().getName(), byColumns.getMaxMathVariancePlayer().getName());
+        assertEquals(byList.getPlayersGroupedByChips().get(DiceTournamentAnalyzer.ChipCategory.HIGH).size(),
+                byColumns.getPlayersGroupedByChips().get(DiceTournamentAnalyzer.ChipCategory.HIGH).size());
+
+        Map<Player, Double> luckIndex = byColumns.getLuckIndex();
+        for (int row = 0; row < columnar.size(); row++) {
+            assertEquals(players.get(row).getStats().getLuckIndex(players.get(row).getChips()),
+                    luckIndex.get(columnar.player(row)));
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void simulate_whenSeedMatchesTournamentSimulator_thenRollsAreIdentical() {
+
+        List<Player> players = makePlayers(1500);                                           // Given
+        String[] names = players.stream().map(Player::getName).toArray(String[]::new);
+        int[] chips = players.stream().mapToInt(Player::getChips).toArray();
+
+        new TournamentSimulator(players, 20, 99).run();                                     // When
+        ColumnarTournament columnar = ColumnarTournament.simulate(names, chips, 20, 99);
+
+        for (int row = 0; row < players.size(); row++) {                                    // Then
+            int current = row;
+            byte[] rolls = new byte[columnar.rollCount(row)];
+            IntStream.range(0, rolls.length).forEach(i -> rolls[i] = (byte) columnar.roll(current, i));
+            assertArrayEquals(players.get(row).getRolls().toArray(), rolls);
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void player_whenRequestedTwice_thenReturnSameObjectWithRestoredHistory() {
+
+        ColumnarTournament columnar = new ColumnarTournament(                               // Given
+                new String[] {"Jenny", "McFly"}, new int[] {2000, 400},
+                new byte[] {6, 6, 1, 1, 2}, new int[] {0, 2, 5});
+
+        Player mcFly = columnar.player(1);                                                  // When
+
+        assertSame(mcFly, columnar.player(1));                                              // Then
+        assertEquals("McFly", mcFly.getName());
+        assertEquals(400, mcFly.getChips());
+        assertEquals(List.of(1, 1, 2), mcFly.getRollsHistory());
+        assertTrue(columnar.stats(1).hasConsecutiveOnes());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void constructor_whenOffsetsDoNotMatchRolls_thenThrow() {
+
+        assertThrows(IllegalArgumentException.class, () -> new ColumnarTournament(
+                new String[] {"Jenny"}, new int[] {2000}, new byte[] {6, 6}, new int[] {0, 3}));
+
+    }
+
+    private List<Player> makePlayers(int count) {
+
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            players.add(new Player("Player" + i, new Dice(), 1300 - i));
+        }
+        return players;
+
+    }
+
+}
@@ -0,0 +1,106 @@
+package org.example;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.example.TestTournaments.names;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class ConcurrentPlayerTest {
+
+    private static final int THREADS = 8;
+    private static final int THROWS_PER_THREAD = 20_000;
+
+    @org.junit.jupiter.api.Test
+    void throwDice_whenManyThreadsThrowAtOnce_thenNoRollIsLost() throws Exception {
+
+        ConcurrentPlayer player = new ConcurrentPlayer("Jenny", 2000);                      // Given
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<?>> tables = new ArrayList<>();                                         // When
+        for (int t = 0; t < THREADS; t++) {
+            tables.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < THROWS_PER_THREAD; i++) {
+                    player.throwDice();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> table : tables) {
+            table.get();
+        }
+        executor.shutdown();
+
+        ConcurrentRollHistory.Snapshot history = player.getRolls().snapshot();              // Then
+        assertEquals(THREADS * THROWS_PER_THREAD, history.size());
+        assertTrue(history.stream().allMatch(face -> face >= 1 && face <= 6));
+        RollStats stats = player.getStats();
+        assertEquals(history.size(), stats.getCount());
+        assertEquals(history.stream().sum(), stats.getSum());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void snapshot_whenThrowsContinue_thenReadersSeeConsistentPrefixes() throws Exception {
+
+        ConcurrentPlayer player = new ConcurrentPlayer("Jenny", 2000);                      // Given
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> tables = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            tables.add(executor.submit(() -> {
+                for (int i = 0; i < THROWS_PER_THREAD; i++) {
+                    player.throwDice();
+                }
+            }));
+        }
+
+        int previousSize = 0;                                                               // When
+        while (!tables.stream().allMatch(Future::isDone)) {
+            ConcurrentRollHistory.Snapshot snapshot = player.getRolls().snapshot();
+
+            assertTrue(snapshot.size() >= previousSize);                                    // Then
+            assertTrue(snapshot.stream().allMatch(face -> face >= 1 && face <= 6));
+            RollStats stats = player.statsOf(snapshot.size());
+            assertEquals(snapshot.size(), stats.getCount());
+            assertEquals(snapshot.stream().sum(), stats.getSum());
+            previousSize = snapshot.size();
+        }
+        executor.shutdown();
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void snapshot_whenAnalyzed_thenResultsMatchRestoredPlayers() {
+
+        Random random = new Random(3);
+        List<ConcurrentPlayer> players = new ArrayList<>();                                 // Given
+        for (int i = 0; i < 300; i++) {
+            ConcurrentPlayer player = new ConcurrentPlayer("Player" + i, random.nextInt(1500));
+            int rolls = random.nextInt(40);
+            for (int r = 0; r < rolls; r++) {
+                player.getRolls().add(random.nextInt(1, 7));
+            }
+            players.add(player);
+        }
+
+        RollTable table = ConcurrentPlayer.snapshot(players);                               // When
+        players.forEach(ConcurrentPlayer::throwDice);
+        DiceTournamentAnalyzer live = new DiceTournamentAnalyzer(table);
+        DiceTournamentAnalyzer restored = new DiceTournamentAnalyzer(
+                players.stream().map(player -> table.player(players.indexOf(player))).toList());
+
+        assertEquals(names(restored.getTheLosers()), names(live.getTheLosers()));          // Then
+        assertEquals(names(restored.getRiskyPlayerList()), names(live.getRiskyPlayerList()));
+        assertEquals(names(restored.getTopThreeAveragePlayers()), names(live.getTopThreeAveragePlayers()));
+        assertEquals(restored.getMaxMathVariancePlayer().getName(), live.getMaxMathVariancePlayer().getName());
+        for (int row = 0; row < table.size(); row++) {
+            assertEquals(players.get(row).getRolls().size() - 1, table.rollCount(row));
+        }
+
+    }
+
+}
@@ -0,0 +1,54 @@
+package org.example;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class DiceTest {
+
+    @org.junit.jupiter.api.Test
+    void throwMe_whenSeedsAreEqual_thenRollsAreEqual() {
+
+        Dice first = new Dice(42);                                                          // Given
+        Dice second = new Dice(42);
+        byte[] firstRolls = new byte[1000];
+        byte[] secondRolls = new byte[1000];
+
+        first.throwMe(firstRolls.length, firstRolls);                                       // When
+        second.throwMe(secondRolls.length, secondRolls);
+
+        assertArrayEquals(firstRolls, secondRolls);                                         // Then
+        assertEquals(Dice.of(Dice.DEFAULT_ALGORITHM, 7).throwMe(), new Dice(7).throwMe());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void throwMe_whenBulkThrown_thenFacesAreInRangeAndEvenlyDistributed() {
+
+        Dice dice = new Dice(new SplittableRandom(1));                                      // Given
+        byte[] rolls = new byte[600_000];
+        int[] counts = new int[7];
+
+        dice.throwMe(rolls.length, rolls);                                                  // When
+
+        for (byte face : rolls) {                                                           // Then
+            assertTrue(face >= 1 && face <= 6, "Значение вне диапазона: " + face);
+            counts[face]++;
+        }
+        for (int face = 1; face <= 6; face++) {
+            assertEquals(100_000, counts[face], 1_500);
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void throwMe_whenCountExceedsBuffer_thenThrow() {
+
+        Dice dice = new Dice(1);
+
+        assertThrows(IllegalArgumentException.class, () -> dice.throwMe(11, new byte[10]));
+
+    }
+
+}
@@ -321,6 +321,145 @@ public class DiceTournamentAnalyzerTest {
 
     }
 
+    @org.junit.jupiter.api.Test
+    void getTopK_whenRankedByChips_thenReturnRichestPlayersWithTiesInListOrder() {
+
+        List<Player> players = new ArrayList<>();                                           // Given
+        players.add(makePlayer("McFly", 400, 1,2,6));
+        players.add(makePlayer("Jade", 2000, 3,2,6));
+        players.add(makePlayer("Jenny", 2000, 6,6,6));
+        players.add(makePlayer("Julia", 2500, 6,3,5));
+
+        DiceTournamentAnalyzer dta = new DiceTournamentAnalyzer(players);
+
+        List<Player> top = dta.getTopK(3, Player::getChips);                                // When
+
+        assertEquals(List.of(players.get(3), players.get(1), players.get(2)), top);         // Then
+        assertEquals(4, dta.getTopK(10, Player::getChips).size());
+        assertTrue(dta.getTopK(0, Player::getChips).isEmpty());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void getTopK_whenRankedByRowMetric_thenMatchRankingByPlayer() {
+
+        List<Player> players = new ArrayList<>();                                           // Given
+        players.add(makePlayer("McFly", 400, 1,2,6));
+        players.add(makePlayer("Jade", 2000, 3,2,6));
+        players.add(makePlayer("Jenny", 2000, 6,6,6));
+        players.add(makePlayer("Julia", 2500, 6,3,5));
+
+        DiceTournamentAnalyzer dta = new DiceTournamentAnalyzer(ColumnarTournament.of(players));
+
+        List<Player> byRow = dta.getTopK(3, RowMetric.CHIPS);                              // When
+        List<Player> byPlayer = dta.getTopK(3, Player::getChips);
+
+        assertEquals(List.of("Julia", "Jade", "Jenny"), byRow.stream().map(Player::getName).toList());  // Then
+        assertEquals(byPlayer, byRow);
+        assertEquals("Jenny", dta.getTopK(1, RowMetric.AVERAGE).get(0).getName());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void getReport_whenPlayersExist_thenResultsMatchValuesComputedFromRolls() {
+
+        List<Player> players = new ArrayList<>();                                           // Given
+        Player perrin = makePlayer("Perrin", 200, 1,2,6,1,1,3,6,3,1,6);                      // сумма 30, дисперсия 4.4
+        Player eeyore = makePlayer("Eeyore", 100, 3,2,6,4,6,4,1,1,1,6);                      // сумма 34, дисперсия 4.04
+        Player jenny = makePlayer("Jenny", 2000, 6,6,6,6,6,6,6,6,6,6);                       // сумма 60, дисперсия 0
+        Player julia = makePlayer("Julia", 700, 6,4,5,3,2,1,6,4,4,6);                        // сумма 41, дисперсия 2.69
+        Player joker = makePlayer("Joker", 1500, 6,1,6,1,6,6,1,6,1,1);                       // сумма 35, дисперсия 6.25
+        players.addAll(List.of(perrin, eeyore, jenny, julia, joker));
+
+        DiceTournamentAnalyzer dta = new DiceTournamentAnalyzer(players);
+
+        TournamentReport report = dta.getReport();                                          // When
+
+        assertEquals(Map.of(perrin, 3.0, eeyore, 3.4, jenny, 6.0, julia, 4.1, joker, 3.5),   // Then
+                report.getMapOfAverageScores());
+        assertEquals(List.of(jenny, julia, joker), report.getTopThreeAveragePlayers());
+        assertEquals(List.of(perrin, eeyore, joker), report.getTheLosers());
+        assertEquals(List.of(jenny, joker), report.getTheLucky());
+        assertEquals(List.of(jenny, joker), report.getPlayersGroupedByChips().get(DiceTournamentAnalyzer.ChipCategory.HIGH));
+        assertEquals(List.of(julia), report.getPlayersGroupedByChips().get(DiceTournamentAnalyzer.ChipCategory.MEDIUM));
+        assertEquals(List.of(perrin, eeyore), report.getPlayersGroupedByChips().get(DiceTournamentAnalyzer.ChipCategory.LOW));
+        assertEquals(List.of(jenny), report.getStablePlayerList());
+        assertEquals(List.of(perrin, eeyore, joker), report.getRiskyPlayerList());
+        assertEquals(List.of(julia), report.getBalancedDicePlayerList());
+        assertEquals(Map.of(perrin, 100.0, eeyore, 56.7, jenny, 2000.0, julia, 478.3, joker, 875.0),
+                report.getLuckIndex());
+        assertSame(joker, report.getMaxMathVariancePlayer());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void bufferVariants_whenPlayersExist_thenResultsMatchMapVariants() {
+
+        List<Player> players = new ArrayList<>();                                           // Given
+        players.add(makePlayer("Perrin", 200, 1,2,6,1,1,3,6,3,1,6));
+        players.add(makePlayer("Eeyore", 100, 3,2,6,4,6,4,1,1,1,6));
+        players.add(makePlayer("Jenny", 2000, 6,6,6,6,6,6,6,6,6,6));
+        players.add(makePlayer("Julia", 700, 6,4,5,3,2,1,6,4,4,6));
+        players.add(makePlayer("Joker", 1500, 6,6,6,6,6,6,6,6,6,6));
+        DiceTournamentAnalyzer dta = new DiceTournamentAnalyzer(players);
+        double[] averages = new double[8];
+        double[] luckIndexes = new double[8];
+        int[] top = new int[3];
+        Map<Player, Double> sunk = new HashMap<>();
+
+        dta.getAverageScores(averages);                                                     // When
+        dta.getLuckIndex(luckIndexes);
+        int topSize = dta.getTopThreeAveragePlayers(top);
+        dta.forEachLuckIndex((row, value) -> sunk.put(dta.getPlayer(row), value));
+
+        for (int row = 0; row < dta.size(); row++) {                                        // Then
+            assertEquals(averages[row], dta.getMapOfAverageScores().get(dta.getPlayer(row)));
+            assertEquals(luckIndexes[row], dta.getLuckIndex().get(dta.getPlayer(row)));
+        }
+        assertEquals(dta.getLuckIndex(), sunk);
+        assertEquals(3, topSize);
+        assertEquals(dta.getTopThreeAveragePlayers(),
+                List.of(dta.getPlayer(top[0]), dta.getPlayer(top[1]), dta.getPlayer(top[2])));
+        assertThrows(IllegalArgumentException.class, () -> dta.getLuckIndex(new double[4]));
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void bufferVariants_whenPolledRepeatedly_thenNoMemoryIsAllocated() {
+
+        var threads = (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        List<Player> players = new ArrayList<>();                                           // Given
+        for (int i = 0; i < 1000; i++) {
+            players.add(new Player("Player" + i, new Dice(), 3 * i));
+        }
+        new TournamentSimulator(players, 10, 7).run();
+        DiceTournamentAnalyzer dta = new DiceTournamentAnalyzer(players);
+        double[] buffer = new double[players.size()];
+        int[] top = new int[3];
+        double[] sum = new double[1];
+        PlayerDoubleConsumer sink = (row, value) -> sum[0] += value;
+        for (int i = 0; i < 200; i++) {
+            poll(dta, buffer, top, sink);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();                             // When
+        for (int i = 0; i < 1000; i++) {
+            poll(dta, buffer, top, sink);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue(allocated < 1024, "Выделено " + allocated + " байт за 1000 опросов");     // Then
+
+    }
+
+    private static void poll(DiceTournamentAnalyzer dta, double[] buffer, int[] top, PlayerDoubleConsumer sink) {
+        dta.getAverageScores(buffer);
+        dta.getLuckIndex(buffer);
+        dta.getTopThreeAveragePlayers(top);
+        dta.forEachAverageScore(sink);
+        dta.forEachLuckIndex(sink);
+    }
+
     private Player makePlayer(String name, int chips, int... rolls) {
 
         Player p = new Player(name, new Dice(), chips);
@@ -0,0 +1,233 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.example.TestTournaments.names;
+import static org.example.TestTournaments.simulate;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class OffHeapRollStoreTest {
+
+    @org.junit.jupiter.api.Test
+    void analyzer_whenRunOverOffHeapStore_thenResultsMatchPlayerList() throws IOException {
+
+        List<Player> players = simulate(1000, 41);                                          // Given
+
+        try (OffHeapRollStore store = OffHeapRollStore.allocate(players.size(), 10)) {
+            fill(store, players);
+
+            DiceTournamentAnalyzer byList = new DiceTournamentAnalyzer(players);            // When
+            DiceTournamentAnalyzer byStore = new DiceTournamentAnalyzer(store);
+
+            assertEquals(names(byList.getTheLosers()), names(byStore.getTheLosers()));      // Then
+            assertEquals(names(byList.getTheLucky()), names(byStore.getTheLucky()));
+            assertEquals(names(byList.getStablePlayerList()), names(byStore.getStablePlayerList()));
+            assertEquals(names(byList.getRiskyPlayerList()), names(byStore.getRiskyPlayerList()));
+            assertEquals(names(byList.getBalancedDicePlayerList()), names(byStore.getBalancedDicePlayerList()));
+            assertEquals(names(byList.getTopThreeAveragePlayers()), names(byStore.getTopThreeAveragePlayers()));
+            assertEquals(byList.getMaxMathVariancePlayer().getName(), byStore.getMaxMathVariancePlayer().getName());
+            for (int row = 0; row < players.size(); row++) {
+                assertEquals(players.get(row).getStats().getVariance(), store.stats(row).getVariance());
+                assertEquals(players.get(row).getRollsHistory(), store.player(row).getRollsHistory());
+            }
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void throwDice_whenPlayersThrowIntoStore_thenStatsMatchHistory() throws IOException {
+
+        try (OffHeapRollStore store = OffHeapRollStore.allocate(2, 100)) {                  // Given
+            OffHeapPlayer single = store.addPlayer("Ёжик", 700);
+            OffHeapPlayer bulk = store.addPlayer("Perrin", 200);
+            Dice dice = new Dice(5);
+
+            for (int i = 0; i < 40; i++) {                                                  // When
+                single.throwDice(dice);
+            }
+            bulk.throwDice(dice, 30);
+            bulk.throwDice(dice, 30);
+
+            for (OffHeapPlayer player : List.of(single, bulk)) {                           // Then
+                RollStats scanned = new RollStats();
+                for (int i = 0; i < player.getRollCount(); i++) {
+                    scanned.accept(player.getRoll(i));
+                }
+                RollStats stored = player.getStats();
+                assertEquals(scanned.getCount(), stored.getCount());
+                assertEquals(scanned.getSum(), stored.getSum());
+                assertEquals(scanned.getVariance(), stored.getVariance());
+                assertEquals(scanned.getLongestOneRun(), stored.getLongestOneRun());
+                assertEquals(scanned.getCurrentOneRun(), stored.getCurrentOneRun());
+                assertEquals(scanned.hasAllFaces(), stored.hasAllFaces());
+            }
+            assertEquals("Ёжик", single.getName());
+            assertEquals(60, bulk.getRollCount());
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void throwDice_whenBatchIsLongerThanChunk_thenAllThrowsAreStoredAndCounted() throws IOException {
+
+        try (OffHeapRollStore store = OffHeapRollStore.allocate(1, 10_000)) {               // Given
+            OffHeapPlayer player = store.addPlayer("Perrin", 200);
+            long playerThrows = TournamentMetrics.global().getPlayerThrows();
+
+            player.throwDice(new Dice(5), 10_000);                                          // When
+
+            assertEquals(10_000, player.getRollCount());                                    // Then
+            assertEquals(10_000, player.getStats().getCount());
+            assertTrue(player.getStats().hasAllFaces());
+            assertTrue(TournamentMetrics.global().getPlayerThrows() - playerThrows >= 10_000);
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void open_whenStoreWasFileBacked_thenItIsReadBackAndCanBeExtended() throws IOException {
+
+        List<Player> players = simulate(200, 41);                                           // Given
+        Path file = Files.createTempFile("rolls", ".offheap");
+
+        try {
+            try (OffHeapRollStore store = OffHeapRollStore.create(file, 300, 20)) {
+                fill(store, players);
+                store.force();
+            }
+
+            try (OffHeapRollStore store = OffHeapRollStore.open(file)) {                    // When
+                store.get(0).recordAll(new byte[] {6, 6}, 0, 2);
+                OffHeapPlayer added = store.addPlayer("Jenny", 2000);
+
+                assertEquals(201, store.size());                                            // Then
+                assertEquals(12, store.rollCount(0));
+                assertEquals(6, store.roll(0, 11));
+                assertEquals(0, added.getRollCount());
+                for (int row = 1; row < players.size(); row++) {
+                    assertEquals(players.get(row).getName(), store.name(row));
+                    assertEquals(players.get(row).getChips(), store.chips(row));
+                    assertEquals(players.get(row).getStats().getVariance(), store.stats(row).getVariance());
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void player_whenRowChanges_thenMaterializedPlayerIsRefreshed() throws IOException {
+
+        try (OffHeapRollStore store = OffHeapRollStore.allocate(1, 10)) {                   // Given
+            OffHeapPlayer player = store.addPlayer("Perrin", 200);
+            player.recordAll(new byte[] {1, 2}, 0, 2);
+            Player first = store.player(0);
+
+            Player again = store.player(0);                                                 // When
+            player.setChips(1500);
+            Player changed = store.player(0);
+
+            assertSame(first, again);                                                       // Then
+            assertNotSame(first, changed);
+            assertEquals(1500, changed.getChips());
+            assertEquals(List.of(1, 2), changed.getRollsHistory());
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void getLuckIndex_whenRunOverStore_thenMapPlayersLoadHistoryOnlyOnAccess() throws IOException {
+
+        List<Player> players = simulate(200, 41);                                           // Given
+
+        try (OffHeapRollStore store = OffHeapRollStore.allocate(players.size(), 10)) {
+            fill(store, players);
+            DiceTournamentAnalyzer byStore = new DiceTournamentAnalyzer(store);
+
+            Map<Player, Double> luckIndex = byStore.getLuckIndex();                         // When
+            double[] buffer = byStore.getLuckIndex(new double[store.size()]);
+
+            Map<Player, Double> expected = new DiceTournamentAnalyzer(players).getLuckIndex(); // Then
+            for (int row = 0; row < players.size(); row++) {
+                Player player = store.player(row);
+                assertEquals(expected.get(players.get(row)), luckIndex.get(player));
+                assertEquals(buffer[row], luckIndex.get(player));
+                assertEquals(players.get(row).getRollsHistory(), player.getRollsHistory());
+                assertEquals(players.get(row).getStats().getSum(), store.sum(row));
+            }
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void bufferVariants_whenRunOverStore_thenNoMemoryIsAllocated() throws IOException {
+
+        var threads = (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        List<Player> players = simulate(1000, 41);                                          // Given
+
+        try (OffHeapRollStore store = OffHeapRollStore.allocate(players.size(), 10)) {
+            fill(store, players);
+            DiceTournamentAnalyzer byStore = new DiceTournamentAnalyzer(store);
+            double[] buffer = new double[store.size()];
+            int[] top = new int[3];
+            for (int i = 0; i < 200; i++) {
+                byStore.getLuckIndex(buffer);
+                byStore.getAverageScores(buffer);
+                byStore.getTopThreeAveragePlayers(top);
+            }
+
+            long before = threads.getCurrentThreadAllocatedBytes();                         // When
+            for (int i = 0; i < 500; i++) {
+                byStore.getLuckIndex(buffer);
+                byStore.getAverageScores(buffer);
+                byStore.getTopThreeAveragePlayers(top);
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+            assertTrue(allocated < 1024, "Выделено " + allocated + " байт за 500 опросов");  // Then
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void close_whenStoreIsClosed_thenAccessThrows() throws IOException {
+
+        OffHeapRollStore store = OffHeapRollStore.allocate(1, 10);
+        OffHeapPlayer player = store.addPlayer("Perrin", 200);
+
+        store.close();
+        store.close();
+
+        assertThrows(IllegalStateException.class, player::getRollCount);
+        assertThrows(IllegalStateException.class, () -> store.stats(0));
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void addPlayer_whenLimitsAreExceeded_thenThrow() throws IOException {
+
+        try (OffHeapRollStore store = OffHeapRollStore.allocate(1, 2, 8)) {
+            assertThrows(IllegalArgumentException.class, () -> store.addPlayer("Слишком длинное имя", 100));
+            OffHeapPlayer player = store.addPlayer("Perrin", 200);
+
+            assertThrows(IllegalStateException.class, () -> store.addPlayer("Jenny", 100));
+            assertThrows(IllegalStateException.class, () -> player.recordAll(new byte[] {1, 2, 3}, 0, 3));
+            assertThrows(IllegalArgumentException.class, () -> player.recordAll(new byte[] {7}, 0, 1));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.get(1));
+        }
+
+    }
+
+    private static void fill(OffHeapRollStore store, List<Player> players) {
+        for (Player player : players) {
+            byte[] faces = player.getRolls().toArray();
+            store.addPlayer(player.getName(), player.getChips()).recordAll(faces, 0, faces.length);
+        }
+    }
+
+}
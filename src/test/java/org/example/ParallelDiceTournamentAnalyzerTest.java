@@ -0,0 +1,69 @@
+package org.example;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class ParallelDiceTournamentAnalyzerTest {
+
+    @org.junit.jupiter.api.Test
+    void allReports_whenManyPlayersExist_thenMatchSequentialAnalyzer() {
+
+        List<Player> players = makePlayers(5000, 10, 42);                                  // Given
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        DiceTournamentAnalyzer sequential = new DiceTournamentAnalyzer(players);
+        DiceTournamentAnalyzer parallel = new ParallelDiceTournamentAnalyzer(players, pool);
+
+        try {                                                                               // When, Then
+            assertEquals(sequential.getMapOfAverageScores(), parallel.getMapOfAverageScores());
+            assertEquals(sequential.getTopThreeAveragePlayers(), parallel.getTopThreeAveragePlayers());
+            assertEquals(sequential.getTheLosers(), parallel.getTheLosers());
+            assertEquals(sequential.getTheLucky(), parallel.getTheLucky());
+            assertEquals(sequential.getPlayersGroupedByChips(), parallel.getPlayersGroupedByChips());
+            assertEquals(sequential.getStablePlayerList(), parallel.getStablePlayerList());
+            assertEquals(sequential.getRiskyPlayerList(), parallel.getRiskyPlayerList());
+            assertEquals(sequential.getBalancedDicePlayerList(), parallel.getBalancedDicePlayerList());
+            assertEquals(sequential.getLuckIndex(), parallel.getLuckIndex());
+            assertSame(sequential.getMaxMathVariancePlayer(), parallel.getMaxMathVariancePlayer());
+        } finally {
+            pool.shutdown();
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void getTopThreeAveragePlayers_whenAveragesAreEqual_thenEarlierPlayersWin() {
+
+        List<Player> players = makePlayers(1000, 0, 0);                                     // Given
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            List<Player> top = new ParallelDiceTournamentAnalyzer(players, pool)
+                    .getTopThreeAveragePlayers();                                            // When
+
+            assertEquals(players.subList(0, 3), top);                                       // Then
+        } finally {
+            pool.shutdown();
+        }
+
+    }
+
+    private List<Player> makePlayers(int count, int rolls, long seed) {
+
+        Random random = new Random(seed);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Player p = new Player("Player" + i, new Dice(), random.nextInt(1500));
+            for (int r = 0; r < rolls; r++) {
+                p.getRollsHistory().add(random.nextInt(1, 7));
+            }
+            players.add(p);
+        }
+        return players;
+
+    }
+
+}
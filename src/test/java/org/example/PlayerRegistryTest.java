@@ -0,0 +1,142 @@
+package org.example;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class PlayerRegistryTest {
+
+    @org.junit.jupiter.api.Test
+    void idOf_whenManyPlayersAreRegistered_thenEveryNameResolvesToItsDenseId() {
+
+        List<Player> players = new ArrayList<>();                                           // Given
+        for (int i = 0; i < 10_000; i++) {
+            players.add(new Player("Player" + i, new Dice(), i));
+        }
+
+        PlayerRegistry registry = PlayerRegistry.of(players);                               // When
+
+        assertEquals(10_000, registry.size());                                              // Then
+        for (int id = 0; id < players.size(); id++) {
+            assertEquals(id, registry.idOf("Player" + id));
+            assertEquals(id, registry.idOf(players.get(id)));
+            assertSame(players.get(id), registry.get(id));
+        }
+        assertEquals(-1, registry.idOf("Nobody"));
+        assertEquals(-1, registry.idOf(new Player("Player7", new Dice(), 0)));
+        assertEquals(players, registry.asList());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void chips_whenPlayerChipsChange_thenIdIndexedArrayIsUpdated() {
+
+        Player alice = new Player("Alice", new Dice(), 1000);                                // Given
+        Player bob = new Player("Bob", new Dice(), 750);
+        PlayerRegistry registry = PlayerRegistry.of(List.of(alice, bob));
+
+        bob.setChips(1200);                                                                 // When
+
+        assertEquals(1000, registry.chips(0));                                              // Then
+        assertEquals(1200, registry.chips(1));
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void close_whenRegistryIsClosed_thenChipChangesAreNoLongerTracked() {
+
+        Player alice = new Player("Alice", new Dice(), 1000);                                // Given
+        PlayerRegistry registry = PlayerRegistry.of(List.of(alice));
+        StreamingTournamentAnalyzer streaming = new StreamingTournamentAnalyzer(List.of(alice));
+
+        registry.close();                                                                   // When
+        streaming.close();
+        alice.setChips(1500);
+
+        assertEquals(1000, registry.chips(0));                                              // Then
+        assertEquals(1000, streaming.getRoster().chips(0));
+        assertThrows(IllegalStateException.class, () -> registry.register(new Player("Bob", new Dice(), 1)));
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void chips_whenChangedFromOtherThreadsWhileClosing_thenLastValuesAreVisible() throws Exception {
+
+        List<Player> players = new ArrayList<>();                                           // Given
+        for (int i = 0; i < 8; i++) {
+            players.add(new Player("Player" + i, new Dice(), 0));
+        }
+        PlayerRegistry registry = PlayerRegistry.of(players);
+        PlayerRegistry closing = PlayerRegistry.of(players);
+
+        List<Thread> threads = new ArrayList<>();                                           // When
+        for (Player player : players) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int chips = 1; chips <= 10_000; chips++) {
+                    player.setChips(chips);
+                }
+            }));
+        }
+        closing.close();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int id = 0; id < players.size(); id++) {                                       // Then
+            assertEquals(10_000, registry.chips(id));
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void analyzer_whenRunOverRegistry_thenDenseResultsAreIndexedById() {
+
+        List<Player> players = new ArrayList<>();                                           // Given
+        for (int i = 0; i < 200; i++) {
+            players.add(new Player("Player" + i, new Dice(), 7 * i));
+        }
+        new TournamentSimulator(players, 10, 3).run();
+        PlayerRegistry registry = PlayerRegistry.of(players);
+        DiceTournamentAnalyzer analyzer = new DiceTournamentAnalyzer(registry);
+
+        double[] luckIndex = analyzer.getLuckIndex(new double[registry.size()]);           // When
+
+        Map<Player, Double> expected = new DiceTournamentAnalyzer(players).getLuckIndex();  // Then
+        for (Player player : players) {
+            assertEquals(luckIndex[registry.idOf(player.getName())], expected.get(player));
+        }
+        assertEquals(new DiceTournamentAnalyzer(players).getTheLosers(), analyzer.getTheLosers());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void register_whenNameIsTaken_thenThrow() {
+
+        PlayerRegistry registry = PlayerRegistry.of(List.of(new Player("Alice", new Dice(), 1000)));
+
+        assertThrows(IllegalArgumentException.class, () -> registry.register(new Player("Alice", new Dice(), 1)));
+        assertThrows(IndexOutOfBoundsException.class, () -> registry.get(1));
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void streamingAccept_whenPlayerIdIsKnown_thenRollIsCountedWithoutNameLookup() {
+
+        List<Player> players = List.of(new Player("Alice", new Dice(), 1000), new Player("Bob", new Dice(), 750));
+        StreamingTournamentAnalyzer streaming = new StreamingTournamentAnalyzer(players);
+        int bob = streaming.getRoster().idOf("Bob");
+
+        streaming.accept(bob, 6);
+        streaming.accept(new RollEvent("Bob", 6));
+
+        assertEquals(2, streaming.snapshot().getMapOfAverageScores().size());
+        assertEquals(6.0, streaming.snapshot().getMapOfAverageScores().get(players.get(1)));
+        assertThrows(IllegalArgumentException.class, () -> streaming.accept(bob, 7));
+        assertThrows(IllegalArgumentException.class, () -> streaming.accept(2, 6));
+        assertThrows(IllegalArgumentException.class, () -> streaming.accept(-1, 6));
+        assertFalse(streaming.getRoster() instanceof PlayerRegistry);
+
+    }
+
+}
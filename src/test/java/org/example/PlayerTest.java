@@ -0,0 +1,116 @@
+package org.example;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class PlayerTest {
+
+    @org.junit.jupiter.api.Test
+    void getStats_whenNoRollsExist_thenReturnZeroAggregates() {
+
+        Player player = new Player("Jenny", new Dice(), 2000);                              // Given
+
+        RollStats stats = player.getStats();                                                // When
+
+        assertEquals(0, stats.getCount());                                                  // Then
+        assertEquals(0.0, stats.getAverage());
+        assertEquals(0.0, stats.getVariance());
+        assertEquals(0.0, stats.getLuckIndex(player.getChips()));
+        assertFalse(stats.hasConsecutiveOnes());
+        assertFalse(stats.hasAllFaces());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void getStats_whenDiceIsThrown_thenAggregatesAreUpdatedOnEveryThrow() {
+
+        Player player = new Player("Jenny", new Dice(), 2000);                              // Given
+
+        for (int i = 1; i <= 25; i++) {                                                     // When
+            player.throwDice();
+
+            assertEquals(i, player.getStats().getCount());                                  // Then
+            assertEquals(player.getRolls().stream().sum(), player.getStats().getSum());
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void getStats_whenRandomHistoriesExist_thenAggregatesMatchStreamResults() {
+
+        Random random = new Random(7);
+
+        for (int n = 0; n < 200; n++) {
+
+            Player player = new Player("Player" + n, new Dice(), random.nextInt(1500));     // Given
+            int rolls = random.nextInt(40);
+            for (int r = 0; r < rolls; r++) {
+                player.getRollsHistory().add(random.nextInt(1, 7));
+            }
+            List<Integer> history = player.getRollsHistory();
+
+            RollStats stats = player.getStats();                                            // When
+
+            double average = history.stream().mapToInt(Integer::intValue).average().orElse(0.0);
+            double variance = history.stream()                                              // Then
+                    .mapToDouble(e -> Math.pow(e - average, 2))
+                    .average()
+                    .orElse(0.0);
+
+            assertEquals(history.size(), stats.getCount());
+            assertEquals(history.stream().mapToInt(Integer::intValue).sum(), stats.getSum());
+            assertEquals(average, stats.getAverage());
+            assertEquals(variance, stats.getVariance(), 1e-9);
+            for (int face = 1; face <= 6; face++) {
+                int value = face;
+                assertEquals(history.stream().filter(e -> e == value).count(), stats.getFaceCount(face));
+            }
+            assertEquals(history.stream().filter(e -> e >= 4).count(), stats.getHighCount());
+            assertEquals(IntStream.range(0, history.size() - 1)
+                            .anyMatch(i -> history.get(i) == 1 && history.get(i + 1) == 1),
+                    stats.hasConsecutiveOnes());
+            assertEquals(history.stream().distinct().count() == 6, stats.hasAllFaces());
+            assertEquals(longestRunOfOnes(history), stats.getLongestOneRun());
+            assertEquals(currentRunOfOnes(history), stats.getCurrentOneRun());
+
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void getRollsHistory_whenFaceIsOutOfRange_thenThrowAndKeepStatsUnchanged() {
+
+        Player player = new Player("Jenny", new Dice(), 2000);                              // Given
+        List<Integer> history = player.getRollsHistory();
+
+        assertThrows(IllegalArgumentException.class, () -> history.add(7));                 // When, Then
+        assertEquals(0, player.getStats().getCount());
+
+    }
+
+    private int longestRunOfOnes(List<Integer> history) {
+
+        int longest = 0;
+        int current = 0;
+        for (int face : history) {
+            current = face == 1 ? current + 1 : 0;
+            longest = Math.max(longest, current);
+        }
+        return longest;
+
+    }
+
+    private int currentRunOfOnes(List<Integer> history) {
+
+        int current = 0;
+        for (int i = history.size() - 1; i >= 0 && history.get(i) == 1; i--) {
+            current++;
+        }
+        return current;
+
+    }
+
+}
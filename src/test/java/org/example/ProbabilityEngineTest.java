@@ -0,0 +1,110 @@
+package org.example;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class ProbabilityEngineTest {
+
+    private final ProbabilityEngine engine = new ProbabilityEngine();
+
+    @org.junit.jupiter.api.Test
+    void exact_whenLosersRuleOverTenRolls_thenMatchesBinomialFormula() {
+
+        double expected = 1.0;                                                              // Given
+        for (int k = 0; k < 3; k++) {
+            expected -= binomial(10, k) * Math.pow(1.0 / 6, k) * Math.pow(5.0 / 6, 10 - k);
+        }
+
+        Probability probability = engine.exact(PlayerRule.LOSERS, 10);                      // When
+
+        assertTrue(probability.isExact());                                                  // Then
+        assertEquals(expected, probability.value(), 1e-12);
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void exact_whenRulesAreEvaluatedOnAllShortHistories_thenMatchesEnumeration() {
+
+        List<PlayerRule> rules = List.of(                                                   // Given
+                PlayerRule.RISKY,
+                PlayerRule.BALANCED,
+                PlayerRule.distinctFaces("distinct", 4),
+                PlayerRule.run("sixes", 6, 3),
+                PlayerRule.countBetween("high", 4, 6, 4).inLast(5),
+                PlayerRule.anyOf("either", PlayerRule.LOSERS, PlayerRule.run("twos", 2, 2).inLast(3)),
+                PlayerRule.allOf("both", PlayerRule.faceCount("ones", 1, 1),
+                        PlayerRule.not("noSix", PlayerRule.faceCount("six", 6, 1).inLast(2))));
+
+        for (PlayerRule rule : rules) {
+            List<Player> histories = allHistories(6);                                       // When
+            double enumerated = (double) RuleSet.of(rule).classify(histories).get(rule.getName()).size()
+                    / histories.size();
+
+            assertEquals(enumerated, engine.exact(rule, 6).value(), 1e-12, rule.getName()); // Then
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void monteCarlo_whenManyTrials_thenIntervalContainsExactProbability() {
+
+        Probability exact = engine.exact(PlayerRule.RISKY, 10);                             // Given
+
+        Probability estimate = engine.monteCarlo(PlayerRule.RISKY, 10, 2_000_000, 42);      // When
+
+        assertEquals(2_000_000, estimate.trials());                                         // Then
+        assertTrue(estimate.contains(exact.value()), estimate + " vs " + exact);
+        assertTrue(estimate.upper() - estimate.lower() < 0.002);
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void monteCarlo_whenSeedIsFixed_thenResultDoesNotDependOnPool() {
+
+        PlayerRule rule = PlayerRule.allOf("hot", PlayerRule.LUCKY, PlayerRule.run("sixes", 6, 2));
+
+        Probability common = engine.monteCarlo(rule, 20, 300_000, 7);
+        Probability single = new ProbabilityEngine(new java.util.concurrent.ForkJoinPool(1))
+                .monteCarlo(rule, 20, 300_000, 7);
+
+        assertEquals(common, single);
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void wilson_whenNoSuccesses_thenIntervalStaysWithinUnitRange() {
+
+        Probability probability = Probability.wilson(0, 100, Probability.Z_95);
+
+        assertEquals(0.0, probability.value());
+        assertEquals(0.0, probability.lower());
+        assertTrue(probability.upper() > 0.0 && probability.upper() < 0.05);
+
+    }
+
+    private List<Player> allHistories(int rolls) {
+        List<Player> histories = new ArrayList<>();
+        int total = (int) Math.pow(6, rolls);
+        for (int code = 0; code < total; code++) {
+            Player player = new Player("H" + code, new Dice(), 0);
+            int rest = code;
+            for (int r = 0; r < rolls; r++) {
+                player.getRollsHistory().add(rest % 6 + 1);
+                rest /= 6;
+            }
+            histories.add(player);
+        }
+        return histories;
+    }
+
+    private double binomial(int n, int k) {
+        double result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,86 @@
+package org.example;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class RollKernelsTest {
+
+    private final RollKernels scalar = new ScalarRollKernels();
+    private final RollKernels vector = new VectorRollKernels();
+
+    @org.junit.jupiter.api.Test
+    void vectorKernels_whenRangesHaveAnyLengthAndOffset_thenMatchScalarKernels() {
+
+        Random random = new Random(11);
+
+        for (int length = 0; length < 300; length++) {
+
+            byte[] rolls = new byte[length + 7];                                            // Given
+            for (int i = 0; i < rolls.length; i++) {
+                rolls[i] = (byte) random.nextInt(1, 7);
+            }
+            int from = random.nextInt(8);
+            int to = Math.min(rolls.length, from + length);
+
+            assertEquals(scalar.sum(rolls, from, to), vector.sum(rolls, from, to));         // When, Then
+            assertEquals(scalar.countAtLeast(rolls, from, to, 4), vector.countAtLeast(rolls, from, to, 4));
+            assertEquals(scalar.hasAdjacentOnes(rolls, from, to), vector.hasAdjacentOnes(rolls, from, to));
+            int[] scalarCounts = new int[6];
+            int[] vectorCounts = new int[6];
+            scalar.countFaces(rolls, from, to, scalarCounts);
+            vector.countFaces(rolls, from, to, vectorCounts);
+            for (int face = 1; face <= 6; face++) {
+                assertEquals(scalar.countFace(rolls, from, to, face), vector.countFace(rolls, from, to, face));
+                assertEquals(scalar.countFace(rolls, from, to, face), scalarCounts[face - 1]);
+                assertEquals(scalarCounts[face - 1], vectorCounts[face - 1]);
+            }
+
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void hasAdjacentOnes_whenPairCrossesVectorBoundary_thenReturnTrue() {
+
+        for (int position = 0; position < 127; position++) {
+
+            byte[] rolls = new byte[128];                                                   // Given
+            java.util.Arrays.fill(rolls, (byte) 6);
+            rolls[position] = 1;
+            rolls[position + 1] = 1;
+
+            assertTrue(vector.hasAdjacentOnes(rolls, 0, rolls.length));                     // When, Then
+            assertFalse(vector.hasAdjacentOnes(rolls, 0, position + 1));
+
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void rollStatsOf_whenBuiltByKernels_thenMatchIncrementalStats() {
+
+        Random random = new Random(3);
+        Player player = new Player("Jenny", new Dice(), 2000);                              // Given
+        for (int i = 0; i < 1000; i++) {
+            player.getRollsHistory().add(random.nextInt(10) < 3 ? 1 : random.nextInt(1, 7));
+        }
+
+        RollStats bulk = RollStats.of(player.getRolls());                                   // When
+        RollStats incremental = player.getStats();
+
+        assertEquals(incremental.getCount(), bulk.getCount());                              // Then
+        assertEquals(incremental.getSum(), bulk.getSum());
+        assertEquals(incremental.getVariance(), bulk.getVariance());
+        assertEquals(incremental.getHighCount(), bulk.getHighCount());
+        assertEquals(incremental.getLongestOneRun(), bulk.getLongestOneRun());
+        assertEquals(incremental.getCurrentOneRun(), bulk.getCurrentOneRun());
+        assertEquals(incremental.hasAllFaces(), bulk.hasAllFaces());
+        for (int face = 1; face <= 6; face++) {
+            assertEquals(incremental.getFaceCount(face), bulk.getFaceCount(face));
+        }
+
+    }
+
+}
@@ -0,0 +1,117 @@
+package org.example;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class RuleSetTest {
+
+    @org.junit.jupiter.api.Test
+    void classify_whenStandardRulesAreUsed_thenResultsMatchBuiltInCriteria() {
+
+        List<Player> players = players(500, 12);                                            // Given
+        DiceTournamentAnalyzer dta = new DiceTournamentAnalyzer(players);
+
+        Map<String, List<Player>> classes = dta.classify(RuleSet.STANDARD);                 // When
+
+        assertEquals(dta.getTheLosers(), classes.get("losers"));                            // Then
+        assertEquals(dta.getTheLucky(), classes.get("lucky"));
+        assertEquals(dta.getStablePlayerList(), classes.get("stable"));
+        assertEquals(dta.getRiskyPlayerList(), classes.get("risky"));
+        assertEquals(dta.getBalancedDicePlayerList(), classes.get("balanced"));
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void classify_whenRulesUseRunsWindowsAndCombinations_thenResultsMatchDirectChecks() {
+
+        List<Player> players = players(400, 40);                                            // Given
+        PlayerRule hotStreak = PlayerRule.run("hotStreak", 6, 3);
+        PlayerRule recentLoser = PlayerRule.faceCount("recentLoser", 1, 3).inLast(10);
+        PlayerRule recentVariety = PlayerRule.distinctFaces("recentVariety", 5).inLast(7);
+        PlayerRule coldThenHot = PlayerRule.allOf("coldThenHot",
+                PlayerRule.faceCount("ones", 1, 8),
+                PlayerRule.run("sixes", 6, 2).inLast(5));
+        PlayerRule notLowRoller = PlayerRule.not("notLowRoller", PlayerRule.countBetween("low", 1, 3, 20));
+        RuleSet rules = RuleSet.of(hotStreak, recentLoser, recentVariety, coldThenHot, notLowRoller);
+
+        Map<String, List<Player>> classes = rules.classify(players);                        // When
+
+        assertEquals(filter(players, rolls -> longestRun(rolls, 6) >= 3), classes.get("hotStreak"));  // Then
+        assertEquals(filter(players, rolls -> count(last(rolls, 10), 1, 1) >= 3), classes.get("recentLoser"));
+        assertEquals(filter(players, rolls -> last(rolls, 7).stream().distinct().count() >= 5),
+                classes.get("recentVariety"));
+        assertEquals(filter(players, rolls -> count(rolls, 1, 1) >= 8 && longestRun(last(rolls, 5), 6) >= 2),
+                classes.get("coldThenHot"));
+        assertEquals(filter(players, rolls -> count(rolls, 1, 3) < 20), classes.get("notLowRoller"));
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void classify_whenFiftyRulesAreFused_thenEachRuleMatchesItsOwnEvaluation() {
+
+        List<Player> players = players(200, 30);                                            // Given
+        List<PlayerRule> rules = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int face = i % 6 + 1;
+            PlayerRule rule = switch (i % 3) {
+                case 0 -> PlayerRule.faceCount("count" + i, face, i % 7);
+                case 1 -> PlayerRule.run("run" + i, face, 1 + i % 3);
+                default -> PlayerRule.distinctFaces("distinct" + i, 1 + i % 6);
+            };
+            rules.add(i % 4 == 0 ? rule.inLast(5 + i % 11) : rule);
+        }
+
+        Map<String, List<Player>> fused = RuleSet.of(rules).classify(players);              // When
+
+        for (PlayerRule rule : rules) {                                                     // Then
+            assertEquals(RuleSet.of(rule).classify(players).get(rule.getName()), fused.get(rule.getName()));
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void of_whenRuleNamesRepeat_thenThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RuleSet.of(PlayerRule.faceCount("same", 1, 1), PlayerRule.faceCount("same", 2, 1)));
+    }
+
+    private List<Player> players(int count, int maxRolls) {
+        Random random = new Random(count * 31L + maxRolls);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Player player = new Player("Player" + i, new Dice(), random.nextInt(1500));
+            int rolls = random.nextInt(maxRolls + 1);
+            for (int r = 0; r < rolls; r++) {
+                player.getRollsHistory().add(random.nextInt(1, 7));
+            }
+            players.add(player);
+        }
+        return players;
+    }
+
+    private List<Player> filter(List<Player> players, Predicate<List<Integer>> predicate) {
+        return players.stream().filter(player -> predicate.test(player.getRollsHistory())).toList();
+    }
+
+    private List<Integer> last(List<Integer> rolls, int n) {
+        return rolls.subList(Math.max(0, rolls.size() - n), rolls.size());
+    }
+
+    private long count(List<Integer> rolls, int from, int to) {
+        return rolls.stream().filter(face -> face >= from && face <= to).count();
+    }
+
+    private int longestRun(List<Integer> rolls, int face) {
+        int longest = 0;
+        int current = 0;
+        for (int roll : rolls) {
+            current = roll == face ? current + 1 : 0;
+            longest = Math.max(longest, current);
+        }
+        return longest;
+    }
+
+}
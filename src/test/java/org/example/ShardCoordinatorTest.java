@@ -0,0 +1,108 @@
+package org.example;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import org.example.DiceTournamentAnalyzer.ChipCategory;
+
+import static org.example.TestTournaments.names;
+import static org.example.TestTournaments.simulate;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class ShardCoordinatorTest {
+
+    @org.junit.jupiter.api.Test
+    void analyze_whenShardsRunInWorkerProcesses_thenMergedReportEqualsSingleNodeRun() throws Exception {
+
+        List<Player> players = simulate(2000, 23);                                         // Given
+        Path dir = Files.createTempDirectory("shards");
+
+        try {
+            List<Path> shards = ShardCoordinator.partition(RollTable.of(players), 4, dir);
+
+            PartialReport merged = new ShardCoordinator(2).analyze(shards);                // When
+
+            PartialReport single = PartialReport.of(RollTable.of(players));                // Then
+            assertEquals(single, merged);
+            assertEquals(2000, merged.getPlayers());
+            assertEquals(20000, merged.getRolls());
+
+            DiceTournamentAnalyzer analyzer = new DiceTournamentAnalyzer(players);
+            assertEquals(names(analyzer.getTopThreeAveragePlayers()), refNames(merged.getTopThreeAveragePlayers()));
+            assertEquals(analyzer.getMaxMathVariancePlayer().getName(), merged.getMaxMathVariancePlayer().name());
+            assertEquals(names(analyzer.getTheLosers()), refNames(merged.getTheLosers()));
+            assertEquals(names(analyzer.getTheLucky()), refNames(merged.getTheLucky()));
+            assertEquals(names(analyzer.getStablePlayerList()), refNames(merged.getStablePlayerList()));
+            assertEquals(names(analyzer.getRiskyPlayerList()), refNames(merged.getRiskyPlayerList()));
+            assertEquals(names(analyzer.getBalancedDicePlayerList()), refNames(merged.getBalancedDicePlayerList()));
+            Map<ChipCategory, List<Player>> groups = analyzer.getPlayersGroupedByChips();
+            for (ChipCategory category : ChipCategory.values()) {
+                assertEquals(names(groups.get(category)), refNames(merged.getPlayersGroupedByChips().get(category)));
+            }
+        } finally {
+            try (var files = Files.list(dir)) {
+                for (Path file : files.toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(dir);
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void merge_whenShardsAreMergedInAnyOrder_thenResultIsTheSame() {
+
+        List<Player> players = simulate(300, 23);                                          // Given
+        RollTable table = RollTable.of(players);
+        PartialReport first = PartialReport.of(RollTable.of(players.subList(0, 100)), 0);
+        PartialReport second = PartialReport.of(RollTable.of(players.subList(100, 250)), 100);
+        PartialReport third = PartialReport.of(RollTable.of(players.subList(250, 300)), 250);
+
+        PartialReport forward = first.merge(second).merge(third);                          // When
+        PartialReport backward = third.merge(second.merge(first));
+
+        assertEquals(PartialReport.of(table), forward);                                    // Then
+        assertEquals(forward, backward);
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void readFrom_whenReportWasWritten_thenItIsReadBackUnchanged() throws IOException {
+
+        List<Player> players = simulate(100, 23);                                          // Given
+        players.add(new Player("Ёжик", new Dice(), 100));
+        PartialReport report = PartialReport.of(RollTable.of(players), 42);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        report.writeTo(new DataOutputStream(bytes));                                       // When
+        PartialReport read = PartialReport.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(report, read);                                                        // Then
+        assertTrue(read.getTopThreeAveragePlayers().stream().allMatch(p -> p.row() >= 42));
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void analyze_whenShardIsNotATournamentLog_thenThrow() throws IOException {
+
+        Path file = Files.createTempFile("shard", ".dice");
+
+        try {
+            Files.write(file, new byte[64]);
+
+            assertThrows(IOException.class, () -> new ShardCoordinator(1).analyze(List.of(file)));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+    }
+
+    private static List<String> refNames(List<PartialReport.PlayerRef> players) {
+        return players.stream().map(PartialReport.PlayerRef::name).toList();
+    }
+
+}
@@ -0,0 +1,177 @@
+package org.example;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class StreamingTournamentAnalyzerTest {
+
+    @org.junit.jupiter.api.Test
+    void snapshot_whenEventsAreConsumed_thenMatchesBatchAnalysis() {
+
+        List<Player> players = new ArrayList<>();                                           // Given
+        for (int i = 0; i < 300; i++) {
+            players.add(new Player("Player" + i, new Dice(), 5 * i));
+        }
+        new TournamentSimulator(players, 12, 8).run();
+
+        StreamingTournamentAnalyzer streaming = new StreamingTournamentAnalyzer(players);
+
+        streaming.consume(interleavedEvents(players).iterator());                           // When
+        TournamentReport snapshot = streaming.snapshot();
+        TournamentReport batch = new DiceTournamentAnalyzer(players).getReport();
+
+        assertEquals(batch.getMapOfAverageScores(), snapshot.getMapOfAverageScores());      // Then
+        assertEquals(batch.getTopThreeAveragePlayers(), snapshot.getTopThreeAveragePlayers());
+        assertEquals(batch.getTheLosers(), snapshot.getTheLosers());
+        assertEquals(batch.getTheLucky(), snapshot.getTheLucky());
+        assertEquals(batch.getPlayersGroupedByChips(), snapshot.getPlayersGroupedByChips());
+        assertEquals(batch.getStablePlayerList(), snapshot.getStablePlayerList());
+        assertEquals(batch.getRiskyPlayerList(), snapshot.getRiskyPlayerList());
+        assertEquals(batch.getBalancedDicePlayerList(), snapshot.getBalancedDicePlayerList());
+        assertEquals(batch.getLuckIndex(), snapshot.getLuckIndex());
+        assertSame(batch.getMaxMathVariancePlayer(), snapshot.getMaxMathVariancePlayer());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void snapshot_whenLeaderFallsBehind_thenTopThreeAndMaxVarianceFollowLatestRolls() {
+
+        Player alice = new Player("Alice", new Dice(), 100);                                // Given
+        Player bob = new Player("Bob", new Dice(), 100);
+        Player carol = new Player("Carol", new Dice(), 100);
+        Player dave = new Player("Dave", new Dice(), 100);
+        StreamingTournamentAnalyzer streaming = new StreamingTournamentAnalyzer(List.of(alice, bob, carol, dave));
+        streaming.accept(new RollEvent("Alice", 6));
+        streaming.accept(new RollEvent("Bob", 5));
+        streaming.accept(new RollEvent("Carol", 4));
+        streaming.accept(new RollEvent("Dave", 4));
+        TournamentReport before = streaming.snapshot();
+
+        streaming.accept(new RollEvent("Alice", 1));                                        // When
+        streaming.accept(new RollEvent("Alice", 1));
+        TournamentReport after = streaming.snapshot();
+
+        assertEquals(List.of(alice, bob, carol), before.getTopThreeAveragePlayers());       // Then
+        assertSame(alice, before.getMaxMathVariancePlayer());
+        assertEquals(List.of(bob, carol, dave), after.getTopThreeAveragePlayers());
+        assertSame(alice, after.getMaxMathVariancePlayer());
+        assertEquals(List.of(alice), after.getRiskyPlayerList());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void onNext_whenEventsArePublished_thenSnapshotReflectsThem() throws Exception {
+
+        Player mcFly = new Player("McFly", new Dice(), 400);                                // Given
+        StreamingTournamentAnalyzer streaming = new StreamingTournamentAnalyzer(List.of(mcFly));
+
+        try (SubmissionPublisher<RollEvent> publisher = new SubmissionPublisher<>()) {      // When
+            publisher.subscribe(streaming);
+            for (int face : new int[] {1, 1, 2, 1}) {
+                publisher.submit(new RollEvent("McFly", face));
+            }
+        }
+        streaming.completion().get(5, TimeUnit.SECONDS);
+
+        TournamentReport snapshot = streaming.snapshot();                                   // Then
+        assertEquals(List.of(mcFly), snapshot.getTheLosers());
+        assertEquals(List.of(mcFly), snapshot.getRiskyPlayerList());
+        assertEquals(1.25, snapshot.getMapOfAverageScores().get(mcFly));
+        assertTrue(mcFly.getRollsHistory().isEmpty());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void onNext_whenPlayerIsUnknown_thenCancelSubscriptionAndCompleteExceptionally() throws Exception {
+
+        StreamingTournamentAnalyzer streaming = new StreamingTournamentAnalyzer(            // Given
+                List.of(new Player("McFly", new Dice(), 400)));
+        boolean[] cancelled = new boolean[1];
+        streaming.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+                cancelled[0] = true;
+            }
+        });
+
+        streaming.onNext(new RollEvent("Nobody", 3));                                      // When
+
+        assertTrue(cancelled[0]);                                                           // Then
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> streaming.completion().get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void close_whenSubscribed_thenCancelSubscription() {
+
+        StreamingTournamentAnalyzer streaming = new StreamingTournamentAnalyzer(            // Given
+                List.of(new Player("McFly", new Dice(), 400)));
+        boolean[] cancelled = new boolean[1];
+        streaming.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+                cancelled[0] = true;
+            }
+        });
+
+        streaming.close();                                                                  // When
+
+        assertTrue(cancelled[0]);                                                           // Then
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void publishEvery_whenPeriodElapses_thenListenerReceivesSnapshots() throws InterruptedException {
+
+        StreamingTournamentAnalyzer streaming = new StreamingTournamentAnalyzer(            // Given
+                List.of(new Player("Jenny", new Dice(), 2000)));
+        CountDownLatch published = new CountDownLatch(2);
+
+        try (streaming) {
+            streaming.publishEvery(Duration.ofMillis(10), report -> published.countDown()); // When
+
+            assertTrue(published.await(5, TimeUnit.SECONDS));                               // Then
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void accept_whenPlayerIsUnknown_thenThrow() {
+
+        StreamingTournamentAnalyzer streaming = new StreamingTournamentAnalyzer(List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> streaming.accept(new RollEvent("Nobody", 3)));
+
+    }
+
+    private List<RollEvent> interleavedEvents(List<Player> players) {
+
+        List<RollEvent> events = new ArrayList<>();
+        for (int round = 0; round < 12; round++) {
+            for (Player player : players) {
+                events.add(new RollEvent(player.getName(), player.getRolls().get(round)));
+            }
+        }
+        return events;
+
+    }
+
+}
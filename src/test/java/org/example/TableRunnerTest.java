@@ -0,0 +1,107 @@
+package org.example;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.random.RandomGenerator;
+
+import static org.example.TestTournaments.names;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class TableRunnerTest {
+
+    @org.junit.jupiter.api.Test
+    void run_whenHundredThousandTablesWaitBetweenRounds_thenAllTablesFinish() throws Exception {
+
+        List<List<Player>> tables = new ArrayList<>();                                      // Given
+        for (int i = 0; i < 100_000; i++) {
+            tables.add(List.of(new Player("Player" + i, new Dice(i), 1000)));
+        }
+        TableRunner runner = new TableRunner(3, Duration.ofMillis(20));
+
+        List<TournamentReport> reports = runner.run(tables);                                // When
+
+        assertEquals(tables.size(), reports.size());                                        // Then
+        for (int i = 0; i < tables.size(); i++) {
+            Player player = tables.get(i).get(0);
+            assertEquals(3, player.getRolls().size());
+            assertEquals(player.getStats().getAverage(), reports.get(i).getMapOfAverageScores().get(player));
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void run_whenPlatformThreadPoolIsUsed_thenReportsMatchVirtualThreads() throws Exception {
+
+        List<List<Player>> virtualTables = tables(200, 17);                                 // Given
+        List<List<Player>> platformTables = tables(200, 17);
+
+        List<TournamentReport> virtual = new TableRunner(10).run(virtualTables);            // When
+        List<TournamentReport> platform = new TableRunner(10, Duration.ZERO,
+                () -> Executors.newFixedThreadPool(4)).run(platformTables);
+
+        for (int i = 0; i < virtual.size(); i++) {                                          // Then
+            assertEquals(names(platform.get(i).getTopThreeAveragePlayers()),
+                    names(virtual.get(i).getTopThreeAveragePlayers()));
+            assertEquals(names(platform.get(i).getRiskyPlayerList()),
+                    names(virtual.get(i).getRiskyPlayerList()));
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void run_whenOneTableFails_thenRunFailsAndOtherTablesAreInterrupted() {
+
+        List<List<Player>> tables = tables(50, 3);                                          // Given
+        RandomGenerator broken = () -> {
+            throw new IllegalStateException("Кость сломана");
+        };
+        tables.set(25, List.of(new Player("Broken", new Dice(broken), 100)));
+        TableRunner runner = new TableRunner(1_000_000, Duration.ofMillis(1));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,                 // When
+                () -> runner.run(tables));
+
+        assertEquals("Кость сломана", e.getCause().getMessage());                           // Then
+        assertTrue(tables.get(0).get(0).getRolls().size() < 1_000_000);
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void cancel_whenTablesAreRunning_thenRunIsCancelled() throws Exception {
+
+        TableRunner runner = new TableRunner(1_000_000, Duration.ofMillis(1));              // Given
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread caller = Thread.ofVirtual().start(() -> {
+            try {
+                runner.run(tables(100, 5));
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+
+        Thread.sleep(100);                                                                  // When
+        runner.cancel();
+        caller.join(10_000);
+
+        assertFalse(caller.isAlive());                                                      // Then
+        assertInstanceOf(CancellationException.class, failure.get());
+
+    }
+
+    private List<List<Player>> tables(int count, int players) {
+        List<List<Player>> tables = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<Player> table = new ArrayList<>();
+            for (int p = 0; p < players; p++) {
+                table.add(new Player("Player" + i + "-" + p, new Dice(i * 31L + p), 100 * p));
+            }
+            tables.add(table);
+        }
+        return tables;
+    }
+
+}
@@ -0,0 +1,32 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Общие заготовки турниров для тестов, сравнивающих разные представления одного турнира.
+ */
+final class TestTournaments {
+
+    private TestTournaments() {
+    }
+
+    /**
+     * @param size количество игроков.
+     * @param seed зерно {@link TournamentSimulator}.
+     * @return возвращает игроков "Player0", "Player1", ... с фишками i % 1500, сыгравших 10 раундов.
+     */
+    static List<Player> simulate(int size, long seed) {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            players.add(new Player("Player" + i, new Dice(), i % 1500));
+        }
+        new TournamentSimulator(players, 10, seed).run();
+        return players;
+    }
+
+    static List<String> names(List<Player> players) {
+        return players.stream().map(Player::getName).toList();
+    }
+
+}
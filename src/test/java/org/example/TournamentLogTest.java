@@ -0,0 +1,129 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.example.TestTournaments.names;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class TournamentLogTest {
+
+    @org.junit.jupiter.api.Test
+    void open_whenTournamentWasWritten_thenRowsAreReadBackUnchanged() throws IOException {
+
+        List<Player> players = new ArrayList<>();                                           // Given
+        players.add(makePlayer("Perrin", 200, 1,2,6,1,1,3,6,3,1,6));
+        players.add(makePlayer("Ёжик", 100));
+        players.add(makePlayer("Jenny", 2000, 6,6,6,6,6,6,6,6,6,6));
+        Path file = Files.createTempFile("tournament", ".dice");
+
+        try {
+            TournamentLogWriter.write(file, RollTable.of(players));                          // When
+
+            try (TournamentLog log = TournamentLog.open(file)) {
+                assertEquals(3, log.size());                                                // Then
+                for (int row = 0; row < players.size(); row++) {
+                    Player player = players.get(row);
+                    assertEquals(player.getName(), log.name(row));
+                    assertEquals(player.getChips(), log.chips(row));
+                    assertEquals(player.getRollsHistory(), log.player(row).getRollsHistory());
+                    assertEquals(player.getStats().getVariance(), log.stats(row).getVariance());
+                    byte[] rolls = new byte[log.rollCount(row) + 1];
+                    log.rolls(row, rolls, 1);
+                    assertArrayEquals(player.getRolls().toArray(), Arrays.copyOfRange(rolls, 1, rolls.length));
+                }
+                assertEquals(0, log.rollCount(1));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void analyzer_whenRunOverMappedLog_thenResultsMatchPlayerList() throws IOException {
+
+        List<Player> players = new ArrayList<>();                                           // Given
+        for (int i = 0; i < 500; i++) {
+            players.add(new Player("Player" + i, new Dice(), 3 * i));
+        }
+        new TournamentSimulator(players, 10, 17).run();
+        Path file = Files.createTempFile("tournament", ".dice");
+
+        try {
+            TournamentLogWriter.write(file, RollTable.of(players));
+
+            try (TournamentLog log = TournamentLog.open(file)) {
+                DiceTournamentAnalyzer byList = new DiceTournamentAnalyzer(players);        // When
+                DiceTournamentAnalyzer byLog = new DiceTournamentAnalyzer(log);
+
+                assertEquals(names(byList.getTheLosers()), names(byLog.getTheLosers()));    // Then
+                assertEquals(names(byList.getRiskyPlayerList()), names(byLog.getRiskyPlayerList()));
+                assertEquals(names(byList.getBalancedDicePlayerList()), names(byLog.getBalancedDicePlayerList()));
+                assertEquals(names(byList.getTopThreeAveragePlayers()), names(byLog.getTopThreeAveragePlayers()));
+                assertEquals(byList.getMaxMathVariancePlayer().getName(), byLog.getMaxMathVariancePlayer().getName());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void open_whenFileIsNotATournamentLog_thenThrow() throws IOException {
+
+        Path file = Files.createTempFile("tournament", ".dice");
+
+        try {
+            Files.write(file, new byte[64]);
+
+            assertThrows(IOException.class, () -> TournamentLog.open(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void stats_whenLogIsCorrupted_thenThrowIllegalState() throws IOException {
+
+        Path badFace = Files.createTempFile("tournament", ".dice");                        // Given
+        Path badOffset = Files.createTempFile("tournament", ".dice");
+
+        try {
+            List<Player> players = List.of(makePlayer("Perrin", 200, 1, 2, 6));
+            TournamentLogWriter.write(badFace, RollTable.of(players));
+            TournamentLogWriter.write(badOffset, RollTable.of(players));
+            byte[] bytes = Files.readAllBytes(badFace);
+            bytes[bytes.length - 1] = 9;                                                    // последний бросок
+            Files.write(badFace, bytes);
+            bytes = Files.readAllBytes(badOffset);
+            bytes[TournamentLogWriter.HEADER_SIZE] = 100;                                   // смещение бросков строки 0
+            Files.write(badOffset, bytes);
+
+            try (TournamentLog faceLog = TournamentLog.open(badFace);                       // When
+                 TournamentLog offsetLog = TournamentLog.open(badOffset)) {
+
+                assertThrows(IllegalStateException.class, () -> faceLog.stats(0));         // Then
+                assertThrows(IllegalStateException.class, () -> offsetLog.stats(0));
+                assertThrows(IllegalStateException.class, () -> offsetLog.roll(0, 0));
+            }
+        } finally {
+            Files.deleteIfExists(badFace);
+            Files.deleteIfExists(badOffset);
+        }
+
+    }
+
+    private Player makePlayer(String name, int chips, int... rolls) {
+
+        Player p = new Player(name, new Dice(), chips);
+        Arrays.stream(rolls).forEach(r -> p.getRollsHistory().add(r));
+        return p;
+
+    }
+
+}
@@ -0,0 +1,170 @@
+package org.example;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class TournamentMetricsTest {
+
+    private final TournamentMetrics metrics = TournamentMetrics.global();
+
+    @org.junit.jupiter.api.Test
+    void getValueAtPercentile_whenValuesAreRecorded_thenResultIsWithinBucketPrecision() {
+
+        LatencyHistogram histogram = new LatencyHistogram();                                // Given
+
+        for (long value = 1; value <= 100_000; value++) {                                   // When
+            histogram.record(value * 1000);
+        }
+
+        assertEquals(100_000, histogram.getCount());                                        // Then
+        assertEquals(100_000_000, histogram.getMax());
+        assertEquals(50_000_500.0, histogram.getMean(), 1e-6);
+        for (double percentile : new double[] {1, 50, 90, 99, 99.9}) {
+            double expected = percentile * 1000 * 1000;
+            assertEquals(expected, histogram.getValueAtPercentile(percentile), expected / 32);
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void bucketOf_whenValueIsLargestOfItsBucket_thenNextValueStartsNextBucket() {
+
+        for (int bucket = 0; bucket < 1800; bucket++) {
+            long highest = LatencyHistogram.highestValueOf(bucket);
+            assertEquals(bucket, LatencyHistogram.bucketOf(highest));
+            assertEquals(bucket + 1, LatencyHistogram.bucketOf(highest + 1));
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void throwDice_whenPlayersThrow_thenThrowsAreCounted() {
+
+        Player player = new Player("Jenny", new Dice(), 2000);                              // Given
+        ConcurrentPlayer concurrent = new ConcurrentPlayer("Perrin", 200);
+        long diceThrows = metrics.getDiceThrows();
+        long playerThrows = metrics.getPlayerThrows();
+
+        for (int i = 0; i < 100; i++) {                                                     // When
+            player.throwDice();
+            concurrent.throwDice();
+            concurrent.throwDice(new Dice());
+        }
+        new Dice().throwMe(50, new byte[50]);
+
+        assertTrue(metrics.getDiceThrows() - diceThrows >= 350);                            // Then
+        assertTrue(metrics.getPlayerThrows() - playerThrows >= 300);
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void analyzerQueries_whenCalled_thenLatencyAndCacheMetricsAreRecorded() {
+
+        List<Player> players = players(100);                                                // Given
+        long losersCalls = metrics.getLatency(AnalyzerOperation.LOSERS).getCount();
+        long reportCalls = metrics.getLatency(AnalyzerOperation.REPORT).getCount();
+        long hits = metrics.getCacheHits();
+        long misses = metrics.getCacheMisses();
+
+        new DiceTournamentAnalyzer(players).getTheLosers();                                 // When
+        CachingDiceTournamentAnalyzer cached = new CachingDiceTournamentAnalyzer(players);
+        cached.getReport();
+        cached.getReport();
+
+        assertTrue(metrics.getLatency(AnalyzerOperation.LOSERS).getCount() - losersCalls >= 1);  // Then
+        assertTrue(metrics.getLatency(AnalyzerOperation.REPORT).getCount() - reportCalls >= 2);
+        assertTrue(metrics.getCacheHits() - hits >= 1);
+        assertTrue(metrics.getCacheMisses() - misses >= 1);
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void registerMBean_whenRegistered_thenMetricsAreReadableOverJmx() throws Exception {
+
+        metrics.registerMBean();                                                            // Given
+        metrics.registerMBean();
+        new DiceTournamentAnalyzer(players(10)).getTheLucky();
+
+        var server = ManagementFactory.getPlatformMBeanServer();                            // When
+        ObjectName name = new ObjectName(TournamentMetrics.OBJECT_NAME);
+        Object diceThrows = server.getAttribute(name, "DiceThrows");
+        TabularData calls = (TabularData) server.getAttribute(name, "AnalyzerCalls");
+
+        assertTrue((Long) diceThrows >= 0);                                                 // Then
+        assertEquals(AnalyzerOperation.values().length, calls.size());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void analyzerQueries_whenFlightRecordingIsOn_thenQueryEventsAreCommitted() throws Exception {
+
+        List<Player> players = players(20);                                                 // Given
+        Path file = Files.createTempFile("analyzer", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.example.AnalyzerQuery");
+            recording.start();
+
+            new DiceTournamentAnalyzer(players).getStablePlayerList();                      // When
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()         // Then
+                    .filter(event -> event.getEventType().getName().equals("org.example.AnalyzerQuery"))
+                    .filter(event -> event.getString("operation").equals("STABLE"))
+                    .toList();
+            assertFalse(events.isEmpty());
+            assertEquals(20, events.get(0).getInt("players"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void registerMBean_whenFlightRecordingIsOn_thenThroughputEventsAreEmitted() throws Exception {
+
+        metrics.registerMBean();                                                            // Given
+        Path file = Files.createTempFile("throughput", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.example.DiceThroughput").withPeriod(java.time.Duration.ofMillis(20));
+            recording.start();
+
+            new Dice().throwMe(100, new byte[100]);                                         // When
+            Thread.sleep(200);
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()         // Then
+                    .filter(event -> event.getEventType().getName().equals("org.example.DiceThroughput"))
+                    .toList();
+            assertFalse(events.isEmpty());
+            assertTrue(events.get(events.size() - 1).getLong("diceThrows") >= 100);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+    }
+
+    private List<Player> players(int count) {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Player player = new Player("Player" + i, new Dice(i), 100 * i);
+            for (int r = 0; r < 10; r++) {
+                player.throwDice();
+            }
+            players.add(player);
+        }
+        return players;
+    }
+
+}
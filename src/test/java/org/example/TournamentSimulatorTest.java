@@ -0,0 +1,59 @@
+package org.example;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class TournamentSimulatorTest {
+
+    @org.junit.jupiter.api.Test
+    void run_whenThreadCountDiffers_thenHistoriesAreIdentical() {
+
+        List<Player> singleThreaded = makePlayers(3000);                                    // Given
+        List<Player> multiThreaded = makePlayers(3000);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool multi = new ForkJoinPool(4);
+
+        try {
+            new TournamentSimulator(singleThreaded, 50, 2024, single).run();                // When
+            new TournamentSimulator(multiThreaded, 50, 2024, multi).run();
+        } finally {
+            single.shutdown();
+            multi.shutdown();
+        }
+
+        for (int i = 0; i < singleThreaded.size(); i++) {                                   // Then
+            assertArrayEquals(singleThreaded.get(i).getRolls().toArray(), multiThreaded.get(i).getRolls().toArray());
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void run_whenRoundsAreSimulated_thenHistoryAndStatsAreFilled() {
+
+        List<Player> players = makePlayers(10);                                             // Given
+
+        new TournamentSimulator(players, 100, 1).run();                                     // When
+
+        for (Player player : players) {                                                     // Then
+            assertEquals(100, player.getRolls().size());
+            assertEquals(100, player.getStats().getCount());
+            assertEquals(player.getRolls().stream().sum(), player.getStats().getSum());
+        }
+        assertFalse(Arrays.equals(players.get(0).getRolls().toArray(), players.get(1).getRolls().toArray()));
+
+    }
+
+    private List<Player> makePlayers(int count) {
+
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            players.add(new Player("Player" + i, new Dice(), 100 * i));
+        }
+        return players;
+
+    }
+
+}
@@ -0,0 +1,96 @@
+package org.example;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.example.TestTournaments.names;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class WindowedTournamentAnalyzerTest {
+
+    @org.junit.jupiter.api.Test
+    void windowOfTenRolls_whenHistoryIsLonger_thenMatchesAnalyzerOverLastTenRolls() {
+
+        Random random = new Random(21);
+        List<Player> windowed = new ArrayList<>();                                          // Given
+        List<Player> lastTen = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            Player player = new Player("Player" + i, new Dice(), 4 * i);
+            Player reference = new Player("Player" + i, new Dice(), 4 * i);
+            player.trackWindow(new RollWindow(10));
+            int rolls = 10 + random.nextInt(30);
+            for (int r = 0; r < rolls; r++) {
+                int face = random.nextInt(1, 7);
+                player.getRollsHistory().add(face);
+                if (r >= rolls - 10) {
+                    reference.getRollsHistory().add(face);
+                }
+            }
+            windowed.add(player);
+            lastTen.add(reference);
+        }
+
+        WindowedTournamentAnalyzer byWindow = new WindowedTournamentAnalyzer(windowed);     // When
+        DiceTournamentAnalyzer byLastTen = new DiceTournamentAnalyzer(lastTen);
+
+        assertEquals(names(byLastTen.getTheLosers()), names(byWindow.getTheLosers()));      // Then
+        assertEquals(names(byLastTen.getTheLucky()), names(byWindow.getTheLucky()));
+        assertEquals(names(byLastTen.getStablePlayerList()), names(byWindow.getStablePlayerList()));
+        assertEquals(names(byLastTen.getRiskyPlayerList()), names(byWindow.getRiskyPlayerList()));
+        assertEquals(names(byLastTen.getBalancedDicePlayerList()), names(byWindow.getBalancedDicePlayerList()));
+        Map<Player, Double> luckIndex = byWindow.getLuckIndex();
+        Map<Player, Double> referenceLuckIndex = byLastTen.getLuckIndex();
+        for (int i = 0; i < windowed.size(); i++) {
+            assertEquals(referenceLuckIndex.get(lastTen.get(i)), luckIndex.get(windowed.get(i)));
+        }
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void add_whenPairOfOnesLeavesWindow_thenPlayerIsNoLongerRisky() {
+
+        RollWindow window = new RollWindow(3);                                              // Given
+
+        window.add(1);                                                                      // When
+        window.add(1);
+        assertTrue(window.hasConsecutiveOnes());
+        window.add(5);
+        window.add(6);
+
+        assertFalse(window.hasConsecutiveOnes());                                           // Then
+        assertEquals(3, window.getCount());
+        assertEquals(12, window.getSum());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void evictExpired_whenRollsAreOlderThanMaxAge_thenTheyLeaveWindow() {
+
+        AtomicLong now = new AtomicLong();                                                  // Given
+        RollWindow window = new RollWindow(100, Duration.ofSeconds(10), now::get);
+        window.add(6);
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        window.add(2);
+
+        now.addAndGet(Duration.ofSeconds(5).toNanos());                                     // When
+        window.evictExpired();
+
+        assertEquals(1, window.getCount());                                                 // Then
+        assertEquals(0, window.getFaceCount(6));
+        assertEquals(2.0, window.getAverage());
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void getTheLosers_whenPlayerHasNoWindow_thenThrow() {
+
+        WindowedTournamentAnalyzer analyzer = new WindowedTournamentAnalyzer(
+                List.of(new Player("Jenny", new Dice(), 2000)));
+
+        assertThrows(IllegalStateException.class, analyzer::getTheLosers);
+
+    }
+
+}